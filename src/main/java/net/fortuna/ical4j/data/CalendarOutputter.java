@@ -32,6 +32,7 @@
 package net.fortuna.ical4j.data;
 
 import net.fortuna.ical4j.model.Calendar;
+import net.fortuna.ical4j.model.TimeZoneTruncator;
 import net.fortuna.ical4j.validate.ValidationException;
 
 import java.io.IOException;
@@ -49,6 +50,8 @@ import java.io.Writer;
  */
 public class CalendarOutputter extends AbstractOutputter {
 
+    private boolean truncatingTimeZones;
+
     /**
      * Default constructor.
      */
@@ -96,8 +99,25 @@ public class CalendarOutputter extends AbstractOutputter {
             calendar.validate();
         }
 
+        final Calendar output = truncatingTimeZones ? TimeZoneTruncator.truncate(calendar) : calendar;
         try (FoldingWriter writer = new FoldingWriter(out, foldLength)) {
-            writer.write(calendar.toString());
+            writer.write(output.toString());
         }
     }
+
+    /**
+     * @return true if VTIMEZONE components are truncated to the range of time referenced by the calendar
+     */
+    public final boolean isTruncatingTimeZones() {
+        return truncatingTimeZones;
+    }
+
+    /**
+     * @param truncatingTimeZones indicates whether to truncate VTIMEZONE components to the range of time referenced
+     *                            by the calendar when outputting (the calendar itself is not modified)
+     * @see TimeZoneTruncator#truncate(Calendar)
+     */
+    public final void setTruncatingTimeZones(final boolean truncatingTimeZones) {
+        this.truncatingTimeZones = truncatingTimeZones;
+    }
 }
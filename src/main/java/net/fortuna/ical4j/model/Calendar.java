@@ -47,6 +47,11 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.net.URISyntaxException;
 import java.text.ParseException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * $Id$ [Apr 5, 2004]
@@ -262,6 +267,59 @@ public class Calendar implements Serializable, PropertyContainer, ComponentConta
         }
     }
 
+    /**
+     * Calculates the instances of all calendar components for the specified period, expanding components in
+     * parallel via the common fork-join pool.
+     *
+     * @param period a range to calculate instances for
+     * @return a list of instances ordered by start time
+     * @see #expand(Period, Executor)
+     */
+    public List<Period> expand(final Period period) {
+        return expand(period, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calculates the instances of all calendar components with a start date for the specified period. The
+     * instances of each recurring series are calculated as a separate task of the specified executor, and the
+     * results merged into a single list ordered by start time.
+     *
+     * @param period a range to calculate instances for
+     * @param executor the executor used to expand components
+     * @return a list of instances ordered by start time, for which {@link Period#getComponent()} identifies the
+     * component of each instance
+     * @see RecurringSeries#calculateRecurrenceSet(Period)
+     */
+    public List<Period> expand(final Period period, final Executor executor) {
+        final List<CalendarComponent> expandable = new ArrayList<>();
+        for (final CalendarComponent component : getComponents()) {
+            if (component.getProperty(Property.DTSTART) != null) {
+                expandable.add(component);
+            }
+        }
+
+        final List<CompletableFuture<List<Period>>> expansions = new ArrayList<>();
+        for (final RecurringSeries<CalendarComponent> series : RecurringSeries.of(expandable)) {
+            expansions.add(CompletableFuture.supplyAsync(() -> series.calculateRecurrenceSet(period), executor));
+        }
+
+        final List<Period> instances = new ArrayList<>();
+        for (final CompletableFuture<List<Period>> expansion : expansions) {
+            try {
+                instances.addAll(expansion.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+        }
+        // each recurrence set is already ordered, such that sorting merges the ordered runs..
+        instances.sort(Comparator.comparingLong((Period p) -> p.getStart().getTime())
+                .thenComparingLong(p -> p.getEnd().getTime()));
+        return instances;
+    }
+
     /**
      * Returns the mandatory prodid property.
      * @return the PRODID property, or null if property doesn't exist
@@ -39,7 +39,6 @@ import java.text.NumberFormat;
 import java.text.ParsePosition;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.GregorianCalendar;
 import java.util.TimeZone;
 
 /**
@@ -59,6 +58,8 @@ public final class CalendarDateFormatFactory {
     private static final String TIME_PATTERN = "HHmmss";
     private static final String TIME_UTC_PATTERN = "HHmmss'Z'";
 
+    private static final long DAYS_PER_CYCLE = 146097;
+
     /**
      * Constructor made private to enforce static nature.
      */
@@ -66,8 +67,9 @@ public final class CalendarDateFormatFactory {
     }
 
     /**
-     * Returns DateFormat objects optimized for common iCalendar date patterns. The DateFormats are *not* thread safe.
-     * Attempts to get or set the Calendar or NumberFormat of an optimized DateFormat will result in an
+     * Returns DateFormat objects optimized for common iCalendar date patterns. The optimized DateFormats don't modify
+     * any state when formatting or parsing, and so may be used concurrently provided the timezone and leniency of an
+     * instance are not changed. Attempts to get or set the Calendar or NumberFormat of an optimized DateFormat will result in an
      * UnsupportedOperation exception being thrown.
      *
      * @param pattern a SimpleDateFormat-compatible pattern
@@ -96,7 +98,7 @@ public final class CalendarDateFormatFactory {
         return instance;
     }
 
-    private abstract static class CalendarDateFormat extends java.text.DateFormat {
+    abstract static class CalendarDateFormat extends java.text.DateFormat {
         /**
          *
          */
@@ -114,6 +116,21 @@ public final class CalendarDateFormatFactory {
             this.pattern = pattern;
         }
 
+        @Override
+        public final StringBuffer format(Date date, StringBuffer toAppendTo, FieldPosition fieldPosition) {
+            return format(date.getTime(), getTimeZone(), toAppendTo);
+        }
+
+        /**
+         * Formats the specified time in the specified timezone, irrespective of the timezone of this instance.
+         *
+         * @param time a time value in milliseconds
+         * @param timeZone the timezone in which to format the time
+         * @param toAppendTo the buffer to append the formatted time to
+         * @return the specified buffer
+         */
+        abstract StringBuffer format(long time, java.util.TimeZone timeZone, StringBuffer toAppendTo);
+
         @Override
         public java.util.TimeZone getTimeZone() {
             return this.timeZone;
@@ -214,21 +231,14 @@ public final class CalendarDateFormatFactory {
         }
 
         @Override
-        public StringBuffer format(Date date, StringBuffer toAppendTo, FieldPosition fieldPosition) {
-            final java.util.Calendar cal = new GregorianCalendar(getTimeZone());
-            cal.setTimeInMillis(date.getTime());
-
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.YEAR), 4);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.MONTH) + 1, 2);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.DAY_OF_MONTH), 2);
-            toAppendTo.append("T");
-
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.HOUR_OF_DAY), 2);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.MINUTE), 2);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.SECOND), 2);
+        StringBuffer format(long time, java.util.TimeZone timeZone, StringBuffer toAppendTo) {
+            final long local = time + timeZone.getOffset(time);
+            appendDate(toAppendTo, local);
+            toAppendTo.append('T');
+            appendTime(toAppendTo, local);
 
             if (patternEndsWithZ) {
-                toAppendTo.append("Z");
+                toAppendTo.append('Z');
             }
 
             return toAppendTo;
@@ -237,40 +247,8 @@ public final class CalendarDateFormatFactory {
         @Override
         public Date parse(String source, ParsePosition pos) {
             // if lenient ignore superfluous input..
-            if (patternEndsWithZ) {
-                if (source.length() > DATETIME_UTC_PATTERN.length() && !isLenient()) {
-                    pos.setErrorIndex(DATETIME_UTC_PATTERN.length());
-                    return null;
-                }
-            } else if (source.length() > DATETIME_PATTERN.length() && !isLenient()) {
-                pos.setErrorIndex(DATETIME_PATTERN.length());
-                return null;
-            }
-
-            try {
-                if (source.charAt(8) != 'T') {
-                    pos.setErrorIndex(8);
-                    return null;
-                }
-                if (patternEndsWithZ && source.charAt(15) != 'Z') {
-                    pos.setErrorIndex(15);
-                    return null;
-                }
-
-                final int year = Integer.parseInt(source.substring(0, 4));
-                final int month = Integer.parseInt(source.substring(4, 6)) - 1;
-                final int day = Integer.parseInt(source.substring(6, 8));
-                final int hour = Integer.parseInt(source.substring(9, 11));
-                final int minute = Integer.parseInt(source.substring(11, 13));
-                final int second = Integer.parseInt(source.substring(13, 15));
-
-                final Date d = makeCalendar(isLenient(), getTimeZone(),
-                        year, month, day, hour, minute, second).getTime();
-                pos.setIndex(15);
-                return d;
-            } catch (RuntimeException e) {
-                return null;
-            }
+            return CalendarDateFormatFactory.parse(patternEndsWithZ ? DateTimeParser.Form.UTC_DATE_TIME
+                    : DateTimeParser.Form.DATE_TIME, source, pos, getTimeZone(), isLenient());
         }
     }
 
@@ -294,36 +272,16 @@ public final class CalendarDateFormatFactory {
         }
 
         @Override
-        public StringBuffer format(Date date, StringBuffer toAppendTo, FieldPosition fieldPosition) {
-            final java.util.Calendar cal = java.util.Calendar.getInstance(getTimeZone());
-            cal.setTimeInMillis(date.getTime());
-
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.YEAR), 4);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.MONTH) + 1, 2);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.DAY_OF_MONTH), 2);
-
+        StringBuffer format(long time, java.util.TimeZone timeZone, StringBuffer toAppendTo) {
+            appendDate(toAppendTo, time + timeZone.getOffset(time));
             return toAppendTo;
         }
 
         @Override
         public Date parse(String source, ParsePosition pos) {
             // if lenient ignore superfluous input..
-            if (source.length() > DATE_PATTERN.length() && !isLenient()) {
-                pos.setErrorIndex(DATE_PATTERN.length());
-                return null;
-            }
-
-            try {
-                final int year = Integer.parseInt(source.substring(0, 4));
-                final int month = Integer.parseInt(source.substring(4, 6)) - 1;
-                final int day = Integer.parseInt(source.substring(6, 8));
-
-                final Date d = makeCalendar(isLenient(), getTimeZone(), year, month, day).getTime();
-                pos.setIndex(8);
-                return d;
-            } catch (RuntimeException e) {
-                return null;
-            }
+            return CalendarDateFormatFactory.parse(DateTimeParser.Form.DATE, source, pos, getTimeZone(),
+                    isLenient());
         }
     }
 
@@ -351,16 +309,11 @@ public final class CalendarDateFormatFactory {
         }
 
         @Override
-        public StringBuffer format(Date date, StringBuffer toAppendTo, FieldPosition fieldPosition) {
-            final java.util.Calendar cal = new GregorianCalendar(getTimeZone());
-            cal.setTimeInMillis(date.getTime());
-
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.HOUR_OF_DAY), 2);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.MINUTE), 2);
-            appendPadded(toAppendTo, cal.get(GregorianCalendar.SECOND), 2);
+        StringBuffer format(long time, java.util.TimeZone timeZone, StringBuffer toAppendTo) {
+            appendTime(toAppendTo, time + timeZone.getOffset(time));
 
             if (patternEndsWithZ) {
-                toAppendTo.append("Z");
+                toAppendTo.append('Z');
             }
 
             return toAppendTo;
@@ -369,55 +322,76 @@ public final class CalendarDateFormatFactory {
         @Override
         public Date parse(String source, ParsePosition pos) {
             // if lenient ignore superfluous input..
-            if (patternEndsWithZ) {
-                if (source.length() > TIME_UTC_PATTERN.length() && !isLenient()) {
-                    pos.setErrorIndex(TIME_UTC_PATTERN.length());
-                    return null;
-                }
-            } else if (source.length() > TIME_PATTERN.length() && !isLenient()) {
-                pos.setErrorIndex(TIME_PATTERN.length());
-                return null;
-            }
+            return CalendarDateFormatFactory.parse(patternEndsWithZ ? DateTimeParser.Form.UTC_TIME
+                    : DateTimeParser.Form.TIME, source, pos, getTimeZone(), isLenient());
+        }
+    }
 
-            try {
-                if (patternEndsWithZ && source.charAt(6) != 'Z') {
-                    pos.setErrorIndex(6);
-                    return null;
-                }
-
-                final int hour = Integer.parseInt(source.substring(0, 2));
-                final int minute = Integer.parseInt(source.substring(2, 4));
-                final int second = Integer.parseInt(source.substring(4, 6));
-
-                final Date d = makeCalendar(isLenient(), getTimeZone(), 1970, 0, 1, hour, minute, second).getTime();
-                pos.setIndex(6);
-                return d;
-            } catch (RuntimeException e) {
-                return null;
-            }
+    private static Date parse(DateTimeParser.Form form, String source, ParsePosition pos, TimeZone timeZone,
+                              boolean lenient) {
+        final String value = pos.getIndex() > 0 ? source.substring(pos.getIndex()) : source;
+        final long time = form.matches(value, lenient)
+                ? DateTimeParser.tryParse(form, value, timeZone, lenient) : DateTimeParser.INVALID;
+        if (time == DateTimeParser.INVALID) {
+            pos.setErrorIndex(pos.getIndex());
+            return null;
         }
+        pos.setIndex(pos.getIndex() + form.length(value));
+        return new Date(time);
     }
 
-    private static java.util.Calendar makeCalendar(boolean lenient, java.util.TimeZone timeZone, int year,
-                                                   int zeroBasedMonth, int day, int hour, int minutes, int seconds) {
-        final java.util.Calendar cal = new GregorianCalendar(timeZone);
-        cal.setLenient(lenient);
-        cal.set(year, zeroBasedMonth, day, hour, minutes, seconds);
-        cal.set(java.util.Calendar.MILLISECOND, 0);
-        return cal;
+    /**
+     * Appends the date of the specified local time, where dates prior to the Gregorian cutover are in the Julian
+     * calendar (consistent with {@link java.util.GregorianCalendar}).
+     */
+    private static void appendDate(StringBuffer toAppendTo, long local) {
+        final long epochDay = Math.floorDiv(local, DateTimeParser.MILLIS_PER_DAY);
+        long year;
+        int month;
+        int day;
+        if (epochDay >= DateTimeParser.GREGORIAN_CUTOVER_DAY) {
+            // see java.time.LocalDate.ofEpochDay()..
+            long zeroDay = epochDay + DateTimeParser.DAYS_0000_TO_1970 - 60;
+            year = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+            long dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+            if (dayOfYear < 0) {
+                year--;
+                dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+            }
+            final int marchMonth = (int) (dayOfYear * 5 + 2) / 153;
+            month = (marchMonth + 2) % 12 + 1;
+            day = (int) dayOfYear - (marchMonth * 306 + 5) / 10 + 1;
+            year += marchMonth / 10;
+        } else {
+            final long c = epochDay + DateTimeParser.JULIAN_DAY_1970 + 32082;
+            final long d = Math.floorDiv(4 * c + 3, 1461);
+            final long e = c - Math.floorDiv(1461 * d, 4);
+            final int m = (int) (5 * e + 2) / 153;
+            day = (int) e - (153 * m + 2) / 5 + 1;
+            month = m + 3 - 12 * (m / 10);
+            year = d - 4800 + m / 10;
+        }
+        // years prior to the common era are numbered from 1..
+        appendPadded(toAppendTo, (int) (year > 0 ? year : 1 - year), 4);
+        appendPadded(toAppendTo, month, 2);
+        appendPadded(toAppendTo, day, 2);
     }
 
-    private static java.util.Calendar makeCalendar(boolean lenient, TimeZone timeZone, int year, int month, int day) {
-        return makeCalendar(lenient, timeZone, year, month, day, 0, 0, 0);
+    private static void appendTime(StringBuffer toAppendTo, long local) {
+        final int secondOfDay = (int) (Math.floorMod(local, DateTimeParser.MILLIS_PER_DAY) / 1000);
+        appendPadded(toAppendTo, secondOfDay / 3600, 2);
+        appendPadded(toAppendTo, secondOfDay / 60 % 60, 2);
+        appendPadded(toAppendTo, secondOfDay % 60, 2);
     }
 
     private static void appendPadded(StringBuffer toAppendTo, int value, int fieldWidth) {
-        final String s = Integer.toString(value);
-        final int max = fieldWidth - s.length();
-        for (int i = 0; i < max; i++) {
-            toAppendTo.append("0");
+        int divisor = 1;
+        for (int i = 1; i < fieldWidth || divisor * 10L <= value; i++) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            toAppendTo.append((char) ('0' + value / divisor % 10));
         }
-        toAppendTo.append(s);
     }
 
 }
@@ -0,0 +1,328 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.model.component.CalendarComponent;
+import net.fortuna.ical4j.model.property.Uid;
+
+import java.util.*;
+
+/**
+ * An index of the instances of the components of a calendar, supporting efficient queries for the instances
+ * occurring within a window of time, at a point in time, or overlapping another instance.
+ *
+ * Instances of all components with a start date are expanded up to an initial horizon when the index is created.
+ * Where a query extends beyond the range already expanded, the expanded range is extended to include the query
+ * period. Instances are held in a start-ordered array, augmented with the maximum end time of each implicit
+ * subtree, such that queries complete in O(log n + k) time for k matching instances.
+ *
+ * Components are indexed as recurring series, such that RECURRENCE-ID overrides are applied to the instances of
+ * the master component with the same UID. Components added to or removed from the index are also added to or
+ * removed from the calendar.
+ *
+ * Queries return periods for which {@link Period#getComponent()} identifies the component of each instance.
+ */
+public class CalendarIndex {
+
+    private static final Period[] EMPTY = new Period[0];
+
+    private final Calendar calendar;
+
+    private final Map<String, IndexedSeries> seriesByUid = new HashMap<>();
+
+    private final Map<Component, IndexedSeries> seriesWithoutUid = new IdentityHashMap<>();
+
+    private long rangeStart;
+
+    private long rangeEnd;
+
+    private Period[] periods = EMPTY;
+
+    private long[] starts = new long[0];
+
+    private long[] ends = new long[0];
+
+    private long[] maxEnds = new long[0];
+
+    private boolean modified;
+
+    /**
+     * @param calendar the calendar to index
+     * @param horizon the initial range of instances to expand
+     */
+    public CalendarIndex(final Calendar calendar, final Period horizon) {
+        this.calendar = calendar;
+        this.rangeStart = horizon.getStart().getTime();
+        this.rangeEnd = horizon.getEnd().getTime();
+
+        final Map<String, List<CalendarComponent>> grouped = new HashMap<>();
+        for (final CalendarComponent component : calendar.getComponents()) {
+            if (component.getProperty(Property.DTSTART) != null) {
+                final Uid uid = component.getProperty(Property.UID);
+                if (uid != null) {
+                    grouped.computeIfAbsent(uid.getValue(), k -> new ArrayList<>()).add(component);
+                } else {
+                    seriesWithoutUid.put(component, index(Collections.singletonList(component)));
+                }
+            }
+        }
+        grouped.forEach((uid, components) -> seriesByUid.put(uid, index(components)));
+    }
+
+    /**
+     * @return the calendar indexed
+     */
+    public final Calendar getCalendar() {
+        return calendar;
+    }
+
+    /**
+     * Returns the instances occurring within the specified period. An instance occurs within the period where it
+     * starts before the end of the period, and either ends after the start of the period or starts at the start
+     * of the period.
+     *
+     * @param period a window of time
+     * @return a list of instances ordered by start time
+     */
+    public synchronized List<Period> getInstances(final Period period) {
+        final long start = period.getStart().getTime();
+        final long end = period.getEnd().getTime();
+        expand(start, end);
+        final List<Period> result = new ArrayList<>();
+        collect(0, periods.length - 1, start, end, false, result);
+        return result;
+    }
+
+    /**
+     * Returns the instances occurring at the specified point in time. Instances are considered to occur from their
+     * start time (inclusive) until their end time (exclusive), or at their start time where they have no duration.
+     *
+     * @param date a point in time
+     * @return a list of instances ordered by start time
+     */
+    public synchronized List<Period> getInstances(final java.util.Date date) {
+        final long time = date.getTime();
+        expand(time, time + 1);
+        final List<Period> result = new ArrayList<>();
+        collect(0, periods.length - 1, time, time + 1, false, result);
+        return result;
+    }
+
+    /**
+     * Returns the instances that overlap the specified period. Unlike {@link #getInstances(Period)}, instances that
+     * only touch the start or end of the period are not included, and an instance of the specified component with
+     * the same start time is omitted, such that the instances conflicting with another instance may be identified.
+     *
+     * @param instance an instance period
+     * @return a list of overlapping instances ordered by start time
+     */
+    public synchronized List<Period> getOverlapping(final Period instance) {
+        final long start = instance.getStart().getTime();
+        final long end = instance.getEnd().getTime();
+        expand(start, end);
+        final List<Period> result = new ArrayList<>();
+        collect(0, periods.length - 1, start, end, true, result);
+        if (instance.getComponent() != null) {
+            result.removeIf(p -> p.getComponent() == instance.getComponent() && p.getStart().getTime() == start);
+        }
+        return result;
+    }
+
+    /**
+     * Adds a component to the calendar and the index.
+     *
+     * @param component a calendar component
+     */
+    public synchronized void add(final CalendarComponent component) {
+        calendar.getComponents().add(component);
+        reindex(component);
+    }
+
+    /**
+     * Removes a component from the calendar and the index.
+     *
+     * @param component a calendar component
+     * @return true if the component was removed from the calendar
+     */
+    public synchronized boolean remove(final CalendarComponent component) {
+        final boolean removed = calendar.getComponents().removeIf(c -> c == component);
+        reindex(component);
+        return removed;
+    }
+
+    /**
+     * @return the number of instances currently expanded in the index
+     */
+    public synchronized int size() {
+        rebuild();
+        return periods.length;
+    }
+
+    /**
+     * Replaces the indexed series of the specified component with the series currently in the calendar.
+     */
+    private void reindex(final CalendarComponent component) {
+        final Uid uid = component.getProperty(Property.UID);
+        if (uid != null) {
+            final List<CalendarComponent> components = new ArrayList<>();
+            for (final CalendarComponent c : calendar.getComponents()) {
+                if (c.getProperty(Property.DTSTART) != null && uid.equals(c.getProperty(Property.UID))) {
+                    components.add(c);
+                }
+            }
+            if (components.isEmpty()) {
+                seriesByUid.remove(uid.getValue());
+            } else {
+                seriesByUid.put(uid.getValue(), index(components));
+            }
+        } else if (calendar.getComponents().stream().anyMatch(c -> c == component)
+                && component.getProperty(Property.DTSTART) != null) {
+            seriesWithoutUid.put(component, index(Collections.singletonList(component)));
+        } else {
+            seriesWithoutUid.remove(component);
+        }
+        modified = true;
+    }
+
+    private IndexedSeries index(final List<CalendarComponent> components) {
+        final IndexedSeries series = new IndexedSeries(new RecurringSeries<>(components));
+        series.expand(rangeStart, rangeEnd);
+        modified = true;
+        return series;
+    }
+
+    /**
+     * Extends the expanded range of all series to include the specified range.
+     */
+    private void expand(final long start, final long end) {
+        if (start < rangeStart) {
+            seriesByUid.values().forEach(series -> series.expand(start, rangeStart));
+            seriesWithoutUid.values().forEach(series -> series.expand(start, rangeStart));
+            rangeStart = start;
+            modified = true;
+        }
+        if (end > rangeEnd) {
+            seriesByUid.values().forEach(series -> series.expand(rangeEnd, end));
+            seriesWithoutUid.values().forEach(series -> series.expand(rangeEnd, end));
+            rangeEnd = end;
+            modified = true;
+        }
+        rebuild();
+    }
+
+    /**
+     * Rebuilds the ordered instance array following modification.
+     */
+    private void rebuild() {
+        if (!modified) {
+            return;
+        }
+        final List<Period> indexed = new ArrayList<>();
+        seriesByUid.values().forEach(series -> series.collect(indexed));
+        seriesWithoutUid.values().forEach(series -> series.collect(indexed));
+        indexed.sort(Comparator.comparingLong((Period p) -> p.getStart().getTime())
+                .thenComparingLong(p -> p.getEnd().getTime()));
+
+        periods = indexed.toArray(EMPTY);
+        starts = new long[periods.length];
+        ends = new long[periods.length];
+        maxEnds = new long[periods.length];
+        for (int i = 0; i < periods.length; i++) {
+            starts[i] = periods[i].getStart().getTime();
+            ends[i] = periods[i].getEnd().getTime();
+        }
+        augment(0, periods.length - 1);
+        modified = false;
+    }
+
+    /**
+     * Calculates the maximum end time of the implicit subtree rooted at the midpoint of the specified range.
+     */
+    private long augment(final int low, final int high) {
+        if (low > high) {
+            return Long.MIN_VALUE;
+        }
+        final int mid = (low + high) >>> 1;
+        maxEnds[mid] = Math.max(ends[mid], Math.max(augment(low, mid - 1), augment(mid + 1, high)));
+        return maxEnds[mid];
+    }
+
+    /**
+     * Collects instances of the implicit subtree rooted at the midpoint of the specified range that intersect
+     * the specified range, in start order.
+     */
+    private void collect(final int low, final int high, final long start, final long end, final boolean strict,
+                         final List<Period> result) {
+
+        if (low > high) {
+            return;
+        }
+        final int mid = (low + high) >>> 1;
+        if (maxEnds[mid] < start) {
+            return;
+        }
+        collect(low, mid - 1, start, end, strict, result);
+        if (starts[mid] >= end) {
+            return;
+        }
+        if (ends[mid] > start || (!strict && starts[mid] == start)) {
+            result.add(periods[mid]);
+        }
+        collect(mid + 1, high, start, end, strict, result);
+    }
+
+    /**
+     * The instances of a recurring series expanded so far, distinct by component and start time.
+     */
+    private static final class IndexedSeries {
+
+        private final RecurringSeries<CalendarComponent> series;
+
+        private final Map<Component, NavigableMap<Long, Period>> instances = new IdentityHashMap<>();
+
+        IndexedSeries(final RecurringSeries<CalendarComponent> series) {
+            this.series = series;
+        }
+
+        void expand(final long start, final long end) {
+            final Period range = new Period(new DateTime(start), new DateTime(end));
+            for (final Period instance : series.calculateRecurrenceSet(range)) {
+                instances.computeIfAbsent(instance.getComponent(), k -> new TreeMap<>())
+                        .putIfAbsent(instance.getStart().getTime(), instance);
+            }
+        }
+
+        void collect(final List<Period> result) {
+            instances.values().forEach(componentInstances -> result.addAll(componentInstances.values()));
+        }
+    }
+}
@@ -0,0 +1,221 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.model.component.Observance;
+import net.fortuna.ical4j.model.component.VTimeZone;
+import net.fortuna.ical4j.util.Configurator;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * A timezone registry that shares a single timezone instance between all equivalent VTIMEZONE definitions
+ * registered with any instance of this registry. Definitions are equivalent where they share the same TZID and
+ * observances, irrespective of the ordering of observances and their properties, and of any other VTIMEZONE
+ * properties (e.g. TZURL, LAST-MODIFIED).
+ *
+ * As the offset transitions and observance onsets of a timezone are cached per instance, sharing instances avoids
+ * both retaining and calculating these repeatedly where many calendars include copies of the same definitions.
+ * Shared instances are compiled for the current time when first registered.
+ *
+ * Sharing may be enabled for all calendar builders via configuration:
+ *
+ * <pre>
+ *     net.fortuna.ical4j.timezone.registry=net.fortuna.ical4j.model.CanonicalTimeZoneRegistryFactory
+ * </pre>
+ *
+ * Non-registered timezones are resolved via a delegate registry.
+ */
+public class CanonicalTimeZoneRegistry implements TimeZoneRegistry {
+
+    /**
+     * The configuration property used to specify the maximum number of shared timezone instances.
+     *
+     * <p>The default value is 1000. Once the limit is reached, the least recently used shared instances are
+     * evicted.</p>
+     */
+    public static final String KEY_MAX_SIZE = "net.fortuna.ical4j.timezone.canonical.maxsize";
+
+    private static final int maxSize;
+
+    private static final Map<String, TimeZone> CANONICAL_TIMEZONES;
+
+    static {
+        maxSize = Configurator.getIntProperty(KEY_MAX_SIZE).orElse(1000);
+        // least recently used instances are evicted..
+        CANONICAL_TIMEZONES = new LinkedHashMap<String, TimeZone>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, TimeZone> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    private final TimeZoneRegistry delegate;
+
+    // shared instances created by this registry, released when cleared..
+    private final Map<String, TimeZone> contributed = new ConcurrentHashMap<>();
+
+    /**
+     * @param delegate the registry used to store registered timezones and resolve non-registered timezones
+     */
+    public CanonicalTimeZoneRegistry(TimeZoneRegistry delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void register(final TimeZone timezone) {
+        delegate.register(getCanonicalTimeZone(timezone, contributed));
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void register(final TimeZone timezone, boolean update) {
+        // updates replace the specified timezone with a loaded definition, so there is nothing to share..
+        delegate.register(update ? timezone : getCanonicalTimeZone(timezone, contributed), update);
+    }
+
+    /**
+     * Clears the delegate registry and releases any shared instances created by this registry. Shared instances
+     * created by other registries are retained.
+     */
+    @Override
+    public void clear() {
+        synchronized (CANONICAL_TIMEZONES) {
+            contributed.forEach(CANONICAL_TIMEZONES::remove);
+        }
+        contributed.clear();
+        delegate.clear();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public TimeZone getTimeZone(final String id) {
+        return delegate.getTimeZone(id);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Map<String, Duration>> preloadAll(final Executor executor) {
+        return delegate.preloadAll(executor);
+    }
+
+    /**
+     * Returns the shared instance of a timezone equivalent to the specified timezone. Shared instances are created
+     * from a copy of the definition, such that subsequent changes to the specified timezone are not shared.
+     *
+     * @param timezone a timezone
+     * @return a shared equivalent timezone, or the specified timezone if its definition cannot be copied
+     */
+    public static TimeZone getCanonicalTimeZone(final TimeZone timezone) {
+        return getCanonicalTimeZone(timezone, null);
+    }
+
+    private static TimeZone getCanonicalTimeZone(final TimeZone timezone, final Map<String, TimeZone> contributed) {
+        final String fingerprint = getFingerprint(timezone.getVTimeZone());
+        TimeZone canonical;
+        synchronized (CANONICAL_TIMEZONES) {
+            canonical = CANONICAL_TIMEZONES.get(fingerprint);
+        }
+        if (canonical == null) {
+            final TimeZone copy;
+            try {
+                copy = new TimeZone(timezone.getVTimeZone().copy());
+            } catch (ParseException | IOException | URISyntaxException e) {
+                LoggerFactory.getLogger(CanonicalTimeZoneRegistry.class).warn("Error copying VTimeZone", e);
+                return timezone;
+            }
+            // initialise cached offsets prior to sharing..
+            final DateTime now = new DateTime();
+            copy.getOffset(now.getTime());
+            copy.getVTimeZone().getApplicableObservance(now);
+            synchronized (CANONICAL_TIMEZONES) {
+                canonical = CANONICAL_TIMEZONES.putIfAbsent(fingerprint, copy);
+            }
+            if (canonical == null) {
+                if (contributed != null) {
+                    contributed.put(fingerprint, copy);
+                }
+                canonical = copy;
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * Returns a digest of the normalised content of a VTIMEZONE definition, comprising the TZID and the properties
+     * of each observance.
+     *
+     * @param vTimeZone a VTIMEZONE definition
+     * @return a hex-encoded digest that is equal for all equivalent definitions
+     */
+    public static String getFingerprint(final VTimeZone vTimeZone) {
+        final List<String> observances = new ArrayList<>();
+        for (final Observance observance : vTimeZone.getObservances()) {
+            final List<String> properties = new ArrayList<>();
+            for (final Property property : observance.getProperties()) {
+                properties.add(property.toString());
+            }
+            Collections.sort(properties);
+            observances.add(observance.getName() + ':' + String.join("", properties));
+        }
+        Collections.sort(observances);
+
+        final StringBuilder content = new StringBuilder();
+        final Property tzId = vTimeZone.getProperty(Property.TZID);
+        content.append(tzId != null ? tzId.getValue() : "").append('\n');
+        observances.forEach(content::append);
+        return DigestUtils.sha256Hex(content.toString());
+    }
+}
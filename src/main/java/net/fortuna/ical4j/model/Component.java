@@ -33,6 +33,8 @@ package net.fortuna.ical4j.model;
 
 import net.fortuna.ical4j.model.parameter.Value;
 import net.fortuna.ical4j.model.property.*;
+import net.fortuna.ical4j.util.Configurator;
+import net.fortuna.ical4j.util.RecurrenceCache;
 import net.fortuna.ical4j.util.Strings;
 import net.fortuna.ical4j.validate.ValidationException;
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -43,8 +45,9 @@ import java.io.Serializable;
 import java.net.URISyntaxException;
 import java.text.ParseException;
 import java.time.temporal.TemporalAmount;
-import java.util.List;
+import java.util.*;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * $Id$ [Apr 5, 2004]
@@ -133,6 +136,18 @@ public abstract class Component implements Serializable, PropertyContainer {
      */
     public static final String EXPERIMENTAL_PREFIX = "X-";
 
+    /**
+     * The configuration property used to specify a {@link RecurrenceCache} implementation. Recurrence
+     * sets are not cached unless an implementation is specified.
+     */
+    public static final String KEY_RECURRENCE_CACHE_IMPL = "net.fortuna.ical4j.recurrence.cache.impl";
+
+    private static volatile RecurrenceCache recurrenceCache;
+    static {
+        Optional<RecurrenceCache> property = Configurator.getObjectProperty(KEY_RECURRENCE_CACHE_IMPL);
+        recurrenceCache = property.orElse(null);
+    }
+
     private final String name;
 
     private final PropertyList<Property> properties;
@@ -277,6 +292,22 @@ public abstract class Component implements Serializable, PropertyContainer {
         return new ComponentFactoryImpl().createComponent(getName(), newprops, newc);
     }
 
+    /**
+     * @return the shared cache of recurrence sets, or null if recurrence sets are not cached
+     */
+    public static RecurrenceCache getRecurrenceCache() {
+        return recurrenceCache;
+    }
+
+    /**
+     * Specifies a cache of recurrence sets shared by all components.
+     *
+     * @param cache a recurrence cache, or null to disable caching of recurrence sets
+     */
+    public static void setRecurrenceCache(final RecurrenceCache cache) {
+        recurrenceCache = cache;
+    }
+
     /**
      * Calculates the recurrence set for this component using the specified period.
      * The recurrence set is derived from a combination of the component start date,
@@ -287,11 +318,27 @@ public abstract class Component implements Serializable, PropertyContainer {
      * returned period is derived from the DTSTART and DTEND or DUE properties.
      * If the component has no DURATION, DTEND or DUE, the effective duration is set
      * to PT0S</p>
+     * <p>Where a {@link RecurrenceCache} is configured, expanded recurrences are cached
+     * until the recurrence properties of this component are modified.</p>
      *
      * @param period a range to calculate recurrences for
      * @return a list of periods
+     * @see RecurrenceExpander#expandAll(Collection, Period)
      */
     public final PeriodList calculateRecurrenceSet(final Period period) {
+        return calculateRecurrenceSet(period, null);
+    }
+
+    /**
+     * Calculates the recurrence set for the specified period, using the specified dates in place of the expansion of
+     * the recurrence rule of this component where provided.
+     *
+     * @param period a range to calculate recurrences for
+     * @param ruleInstants the sorted instants of the recurrence rule from the start of the period less the duration
+     *                     of the component until the end of the period, or null to expand the recurrence rule
+     * @return a list of periods
+     */
+    final PeriodList calculateRecurrenceSet(final Period period, final long[] ruleInstants) {
 
 //        validate();
 
@@ -319,44 +366,74 @@ public abstract class Component implements Serializable, PropertyContainer {
             recurrenceSet.setTimeZone(((DateTime) start.getDate()).getTimeZone());
         }
 
-        // if an explicit event duration is not specified, derive a value for recurring
-        // periods from the end date..
-        TemporalAmount rDuration;
-        // if no end or duration specified, end date equals start date..
-        if (end == null && duration == null) {
-            rDuration = java.time.Duration.ZERO;
-        } else if (duration == null) {
-            rDuration = TemporalAmountAdapter.fromDateRange(start.getDate(), end.getDate()).getDuration();
+        final TemporalAmount rDuration = getRecurrenceDuration();
+        final DateTime startMinusDuration = getRecurrenceStart(period, rDuration);
+
+        // recurrence instants are expanded once per version of the component content where
+        // a recurrence cache is configured..
+        final RecurrenceSet instants;
+        final RecurrenceCache cache = recurrenceCache;
+        if (cache != null && ruleInstants == null) {
+            RecurrenceSet cached = cache.getRecurrenceSet(this, period);
+            if (cached == null) {
+                cached = expandRecurrenceSet(start.getDate(), period, startMinusDuration, startValue,
+                        new RecurrenceVersion(this), null);
+                cache.putRecurrenceSet(this, cached);
+            }
+            instants = cached;
         } else {
-            rDuration = duration.getDuration();
+            instants = expandRecurrenceSet(start.getDate(), period, startMinusDuration, startValue, null,
+                    ruleInstants);
         }
 
         // add recurrence dates..
         List<RDate> rDates = getProperties(Property.RDATE);
-        recurrenceSet.addAll(rDates.stream().filter(p -> p.getParameter(Parameter.VALUE) == Value.PERIOD)
+        final List<Period> rDatePeriods = rDates.stream().filter(p -> p.getParameter(Parameter.VALUE) == Value.PERIOD)
                 .map(RDate::getPeriods).flatMap(PeriodList::stream).filter(period::intersects)
-                .collect(Collectors.toList()));
-
-        recurrenceSet.addAll(rDates.stream().filter(p -> p.getParameter(Parameter.VALUE) == Value.DATE_TIME)
-                .map(DateListProperty::getDates).flatMap(DateList::stream).filter(period::includes)
-                .map(rdateTime -> new Period((DateTime) rdateTime, rDuration)).collect(Collectors.toList()));
-
-        recurrenceSet.addAll(rDates.stream().filter(p -> p.getParameter(Parameter.VALUE) == Value.DATE)
-                .map(DateListProperty::getDates).flatMap(DateList::stream).filter(period::includes)
-                .map(rdateDate -> new Period(new DateTime(rdateDate), rDuration)).collect(Collectors.toList()));
+                .sorted(Comparator.comparingLong(p -> p.getStart().getTime())).collect(Collectors.toList());
+
+        final long periodStart = period.getStart().getTime();
+        final long periodEnd = period.getEnd().getTime();
+        final long rRuleStart = startMinusDuration.getTime();
+
+        // merge explicit periods and recurrence instants in start order. Explicit periods take
+        // precedence over derived instances with the same start, consistent with the order they
+        // are added to the recurrence set..
+        final Iterator<Period> explicitPeriods = rDatePeriods.iterator();
+        Period nextExplicit = explicitPeriods.hasNext() ? explicitPeriods.next() : null;
+        for (int i = instants.indexOf(Math.min(periodStart, rRuleStart)); i < instants.size(); i++) {
+            final long instant = instants.getInstant(i);
+            if (instant > periodEnd) {
+                break;
+            }
+            while (nextExplicit != null && nextExplicit.getStart().getTime() <= instant) {
+                addInstance(recurrenceSet, nextExplicit, instants, periodStart, periodEnd);
+                nextExplicit = explicitPeriods.hasNext() ? explicitPeriods.next() : null;
+            }
+            // recurrence dates must be included in the period, whereas recurrence rules
+            // also apply to instances that start prior to it..
+            final byte sources = instants.getSources(i);
+            final boolean included = ((sources & RecurrenceSet.SOURCE_RDATE) > 0 && instant >= periodStart)
+                    || ((sources & RecurrenceSet.SOURCE_RRULE) > 0 && instant >= rRuleStart);
+            if (included && !instants.isExcluded(instant, periodStart, periodEnd)) {
+                final DateTime instanceStart = new DateTime(instant);
+                if (recurrenceSet.isUtc()) {
+                    instanceStart.setUtc(true);
+                } else {
+                    instanceStart.setTimeZone(recurrenceSet.getTimeZone());
+                }
+                final Period instance = new Period(instanceStart, rDuration);
+                instance.setComponent(this);
+                // start and end already reflect the timezone of the recurrence set..
+                recurrenceSet.addNormalised(instance);
+            }
+        }
+        while (nextExplicit != null) {
+            addInstance(recurrenceSet, nextExplicit, instants, periodStart, periodEnd);
+            nextExplicit = explicitPeriods.hasNext() ? explicitPeriods.next() : null;
+        }
 
-        // allow for recurrence rules that start prior to the specified period
-        // but still intersect with it..
-        final DateTime startMinusDuration = new DateTime(period.getStart());
-        startMinusDuration.setTime(Date.from(period.getStart().toInstant().minus(rDuration)).getTime());
-
-        // add recurrence rules..
-        List<RRule> rRules = getProperties(Property.RRULE);
-        if (!rRules.isEmpty()) {
-            recurrenceSet.addAll(rRules.stream().map(r -> r.getRecur().getDates(start.getDate(),
-                    new Period(startMinusDuration, period.getEnd()), startValue)).flatMap(DateList::stream)
-                    .map(rruleDate -> new Period(new DateTime(rruleDate), rDuration)).collect(Collectors.toList()));
-        } else {
+        if (getProperties(Property.RRULE).isEmpty()) {
             // add initial instance if intersection with the specified period..
             Period startPeriod;
             if (end != null) {
@@ -375,34 +452,93 @@ public abstract class Component implements Serializable, PropertyContainer {
                         duration.getDuration());
             }
             if (period.intersects(startPeriod)) {
-                recurrenceSet.add(startPeriod);
+                addInstance(recurrenceSet, startPeriod, instants, periodStart, periodEnd);
             }
         }
 
-        // subtract exception dates..
-        List<ExDate> exDateProps = getProperties(Property.EXDATE);
-        List<Date> exDates = exDateProps.stream().map(DateListProperty::getDates).flatMap(DateList::stream)
-                .collect(Collectors.toList());
+        return recurrenceSet;
+    }
 
-        recurrenceSet.removeIf(recurrence -> {
-            // for DATE-TIME instances check for DATE-based exclusions also..
-            return exDates.contains(recurrence.getStart()) || exDates.contains(new Date(recurrence.getStart()));
-        });
+    /**
+     * Returns the duration of recurrence instances of this component. If an explicit duration is not specified, a
+     * value is derived from the end date.
+     */
+    final TemporalAmount getRecurrenceDuration() {
+        final DtStart start = getProperty(Property.DTSTART);
+        DateProperty end = getProperty(Property.DTEND);
+        if (end == null) {
+            end = getProperty(Property.DUE);
+        }
+        final Duration duration = getProperty(Property.DURATION);
+        // if no end or duration specified, end date equals start date..
+        if (end == null && duration == null) {
+            return java.time.Duration.ZERO;
+        } else if (duration == null) {
+            return TemporalAmountAdapter.fromDateRange(start.getDate(), end.getDate()).getDuration();
+        } else {
+            return duration.getDuration();
+        }
+    }
 
-        // subtract exception rules..
+    /**
+     * Returns the earliest start of a recurrence instance that may intersect with the specified period. This allows
+     * for recurrence rules that start prior to the period but still intersect with it.
+     */
+    static DateTime getRecurrenceStart(final Period period, final TemporalAmount duration) {
+        final DateTime startMinusDuration = new DateTime(period.getStart());
+        startMinusDuration.setTime(Date.from(period.getStart().toInstant().minus(duration)).getTime());
+        return startMinusDuration;
+    }
+
+    private void addInstance(final PeriodList recurrenceSet, final Period instance, final RecurrenceSet instants,
+                             final long periodStart, final long periodEnd) {
+        if (!instants.isExcluded(instance.getStart().getTime(), periodStart, periodEnd)) {
+            // set a link to the origin
+            instance.setComponent(this);
+            recurrenceSet.add(instance);
+        }
+    }
+
+    /**
+     * Expands the recurrence dates, recurrence rules and exceptions of this component over the specified period.
+     */
+    private RecurrenceSet expandRecurrenceSet(final Date seed, final Period period, final DateTime startMinusDuration,
+                                              final Value value, final RecurrenceVersion version,
+                                              final long[] ruleInstants) {
+
+        final RecurrenceSet.Builder builder = new RecurrenceSet.Builder();
+
+        List<RDate> rDates = getProperties(Property.RDATE);
+        builder.add(toSortedInstants(rDates.stream().filter(p -> p.getParameter(Parameter.VALUE) == Value.DATE_TIME)
+                .map(DateListProperty::getDates).flatMap(DateList::stream).filter(period::includes)),
+                RecurrenceSet.SOURCE_RDATE);
+        builder.add(toSortedInstants(rDates.stream().filter(p -> p.getParameter(Parameter.VALUE) == Value.DATE)
+                .map(DateListProperty::getDates).flatMap(DateList::stream).filter(period::includes)),
+                RecurrenceSet.SOURCE_RDATE);
+
+        if (ruleInstants != null) {
+            builder.add(ruleInstants, RecurrenceSet.SOURCE_RRULE);
+        } else {
+            List<RRule> rRules = getProperties(Property.RRULE);
+            for (RRule rRule : rRules) {
+                builder.add(toSortedInstants(rRule.getRecur().getDates(seed,
+                        new Period(startMinusDuration, period.getEnd()), value).stream()), RecurrenceSet.SOURCE_RRULE);
+            }
+        }
+
+        List<ExDate> exDates = getProperties(Property.EXDATE);
         List<ExRule> exRules = getProperties(Property.EXRULE);
-        List<Date> exRuleDates = exRules.stream().map(e -> e.getRecur().getDates(start.getDate(),
-                period, startValue)).flatMap(DateList::stream).collect(Collectors.toList());
-
-        recurrenceSet.removeIf(recurrence -> {
-            // for DATE-TIME instances check for DATE-based exclusions also..
-            return exRuleDates.contains(recurrence.getStart())
-                    || exRuleDates.contains(new Date(recurrence.getStart()));
-        });
-
-        // set a link to the origin
-        recurrenceSet.forEach( p -> p.setComponent(this));
-        
-        return recurrenceSet;
+
+        return new RecurrenceSet(version, period.getStart().getTime(), period.getEnd().getTime(),
+                builder.instants(), builder.sources(),
+                toSortedInstants(exDates.stream().map(DateListProperty::getDates).flatMap(DateList::stream)),
+                toSortedInstants(exRules.stream().map(e -> e.getRecur().getDates(seed, period, value))
+                        .flatMap(DateList::stream)));
+    }
+
+    private static long[] toSortedInstants(final Stream<? extends java.util.Date> dates) {
+        final long[] instants = dates.mapToLong(java.util.Date::getTime).toArray();
+        Arrays.sort(instants);
+        return instants;
     }
 }
@@ -4,9 +4,8 @@ import net.fortuna.ical4j.filter.predicate.PropertyEqualToRule;
 import net.fortuna.ical4j.model.property.RecurrenceId;
 import net.fortuna.ical4j.model.property.Uid;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -66,10 +65,19 @@ public class ComponentGroup<T extends Component> {
      * @return
      */
     public T getLatestRevision() {
-        ComponentList<T> revisions = getRevisions();
-        revisions.sort(new ComponentSequenceComparator());
-        Collections.reverse(revisions);
-        return revisions.iterator().next();
+        final ComponentSequenceComparator comparator = new ComponentSequenceComparator();
+        // where revisions are equal the last is considered latest..
+        return getRevisions().stream().reduce((latest, revision) ->
+                comparator.compare(revision, latest) >= 0 ? revision : latest).get();
+    }
+
+    /**
+     * Returns the revisions of this group as a recurring series, indexed by RECURRENCE-ID.
+     *
+     * @return a recurring series
+     */
+    public RecurringSeries<T> getSeries() {
+        return new RecurringSeries<>(getRevisions());
     }
 
     /**
@@ -80,28 +88,32 @@ public class ComponentGroup<T extends Component> {
      * @return
      *
      * @see Component#calculateRecurrenceSet(Period)
+     * @see RecurringSeries#calculateRecurrenceSet(Period)
      */
     public PeriodList calculateRecurrenceSet(final Period period) {
         PeriodList periods = new PeriodList();
-        List<Component> replacements = new ArrayList<>();
+        // the last replacement for each recurrence instance is applied..
+        final Map<Long, Component> replacements = new LinkedHashMap<>();
 
         for (Component component : getRevisions()) {
-            if (!component.getProperties(Property.RECURRENCE_ID).isEmpty()) {
-                replacements.add(component);
+            final RecurrenceId recurrenceId = component.getProperty(Property.RECURRENCE_ID);
+            if (recurrenceId != null) {
+                replacements.put(recurrenceId.getDate().getTime(), component);
             } else {
                 periods = periods.add(component.calculateRecurrenceSet(period));
             }
         }
 
-        PeriodList finalPeriods = periods;
-        replacements.forEach(component -> {
-            RecurrenceId recurrenceId = component.getProperty(Property.RECURRENCE_ID);
-            finalPeriods.removeIf(p -> p.getStart().equals(recurrenceId.getDate()));
-            component.calculateRecurrenceSet(period).stream()
-                    .filter(p -> p.getStart().equals(recurrenceId.getDate()))
-                    .forEach(finalPeriods::add);
-        });
-
+        if (!replacements.isEmpty()) {
+            periods.removeIf(p -> replacements.containsKey(p.getStart().getTime()));
+            for (Map.Entry<Long, Component> replacement : replacements.entrySet()) {
+                for (Period p : replacement.getValue().calculateRecurrenceSet(period)) {
+                    if (p.getStart().getTime() == replacement.getKey()) {
+                        periods.add(p);
+                    }
+                }
+            }
+        }
         return periods;
     }
 }
@@ -109,7 +109,6 @@ public class Date extends Iso8601 {
 
     private static final String DEFAULT_PATTERN = "yyyyMMdd";
     
-    private static final String VCARD_PATTERN = "yyyy'-'MM'-'dd";
 
     /**
      * Default constructor.
@@ -172,18 +171,19 @@ public class Date extends Iso8601 {
      */
     public Date(final String value) throws ParseException {
         this();
-        try {
-        	setTime(getFormat().parse(value).getTime());
-        } catch (ParseException pe) {
-        	if (CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_VCARD_COMPATIBILITY)) {
-                final DateFormat parseFormat = new SimpleDateFormat(VCARD_PATTERN);
-                parseFormat.setTimeZone(TimeZones.getDateTimeZone());
-                setTime(parseFormat.parse(value).getTime());
-        	}
-        	else {
-        		throw pe;
-        	}
+        long time = DateTimeParser.INVALID;
+        if (DateTimeParser.Form.DATE.matches(value, getFormat().isLenient())) {
+            time = DateTimeParser.tryParse(DateTimeParser.Form.DATE, value, getFormat().getTimeZone(),
+                    getFormat().isLenient());
         }
+        if (time == DateTimeParser.INVALID
+                && CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_VCARD_COMPATIBILITY)) {
+            time = DateTimeParser.tryParse(DateTimeParser.Form.VCARD_DATE, value, TimeZones.getDateTimeZone(), true);
+        }
+        if (time == DateTimeParser.INVALID) {
+            throw new ParseException("Unparseable date: \"" + value + "\"", 0);
+        }
+        setTime(time);
     }
     
     /**
@@ -38,10 +38,6 @@ import org.apache.commons.lang3.builder.EqualsBuilder;
 
 import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
-import java.util.Collections;
-import java.util.Map;
-import java.util.WeakHashMap;
 
 /**
  * A representation of the DATE-TIME object defined in RFC5445.
@@ -175,55 +171,6 @@ public class DateTime extends Date {
 
 	private static final long serialVersionUID = -6407231357919440387L;
 
-	private static final String DEFAULT_PATTERN = "yyyyMMdd'T'HHmmss";
-
-	private static final String UTC_PATTERN = "yyyyMMdd'T'HHmmss'Z'";
-	
-	private static final String VCARD_PATTERN = "yyyy'-'MM'-'dd'T'HH':'mm':'ss'Z'";
-
-	private static final String RELAXED_PATTERN = "yyyyMMdd";
-
-	/**
-	 * Used for parsing times in a UTC date-time representation.
-	 */
-	private static final DateFormatCache UTC_FORMAT;
-	static {
-		final DateFormat format = new SimpleDateFormat(UTC_PATTERN);
-		format.setTimeZone(TimeZones.getUtcTimeZone());
-		format.setLenient(false);
-
-		UTC_FORMAT = new DateFormatCache(format);
-	}
-
-	/**
-	 * Used for parsing times in a local date-time representation.
-	 */
-	private static final DateFormatCache DEFAULT_FORMAT;
-	static {
-		final DateFormat format = new SimpleDateFormat(DEFAULT_PATTERN);
-		format.setLenient(false);
-		DEFAULT_FORMAT = new DateFormatCache(format);
-	}
-
-	private static final DateFormatCache LENIENT_DEFAULT_FORMAT;
-	static {
-		final DateFormat format = new SimpleDateFormat(DEFAULT_PATTERN);
-		LENIENT_DEFAULT_FORMAT = new DateFormatCache(format);
-	}
-
-	private static final DateFormatCache RELAXED_FORMAT;
-	static {
-		final DateFormat format = new SimpleDateFormat(RELAXED_PATTERN);
-        format.setLenient(true);
-		RELAXED_FORMAT = new DateFormatCache(format);
-	}
-
-	private static final DateFormatCache VCARD_FORMAT;
-	static {
-		final DateFormat format = new SimpleDateFormat(VCARD_PATTERN);
-        VCARD_FORMAT = new DateFormatCache(format);
-	}
-
 	private Time time;
 
 	private TimeZone timezone;
@@ -316,42 +263,36 @@ public class DateTime extends Date {
 		super(0, Dates.PRECISION_SECOND, timezone != null ? timezone : TimeZones.getDefault());
 		this.time = new Time(getTime(), getFormat().getTimeZone());
 
-        try {
-            if (value.endsWith("Z")) {
-                setTime(value, UTC_FORMAT.get(), null);
+        long time;
+        if (value.endsWith("Z")) {
+            time = DateTimeParser.tryParse(DateTimeParser.Form.UTC_DATE_TIME, value, TimeZones.getUtcTimeZone(),
+                    false);
+            if (time != DateTimeParser.INVALID) {
+                setTime(time);
                 setUtc(true);
-            } else {
-                if (timezone != null) {
-                    setTime(value, DEFAULT_FORMAT.get(), timezone);
-                } else {
-                    // Use lenient parsing for floating times. This is to
-                    // overcome
-                    // the problem of parsing VTimeZone dates that specify dates
-                    // that the strict parser does not accept.
-                    setTime(value, LENIENT_DEFAULT_FORMAT.get(),
-                            getFormat().getTimeZone());
-                }
-                setTimeZone(timezone);
-            }
-        } catch (ParseException pe) {
-            if (CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_VCARD_COMPATIBILITY)) {
-
-            	try {
-	                setTime(value, VCARD_FORMAT.get(), timezone);
-	                setTimeZone(timezone);
-            	} catch (ParseException pe2) {
-                    if (CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_PARSING)) {
-    	                setTime(value, RELAXED_FORMAT.get(), timezone);
-    	                setTimeZone(timezone);
-                    }            		
-            	}
-            } else if (CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_PARSING)) {
-                setTime(value, RELAXED_FORMAT.get(), timezone);
-                setTimeZone(timezone);
-            } else {
-                throw pe;
+                return;
             }
+        } else {
+            // Use lenient parsing for floating times. This is to overcome
+            // the problem of parsing VTimeZone dates that specify dates
+            // that the strict parser does not accept.
+            time = DateTimeParser.tryParse(DateTimeParser.Form.DATE_TIME, value, getFormat().getTimeZone(),
+                    timezone == null);
+        }
+        if (time == DateTimeParser.INVALID
+                && CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_VCARD_COMPATIBILITY)) {
+            time = DateTimeParser.tryParse(DateTimeParser.Form.VCARD_DATE_TIME, value, getFormat().getTimeZone(),
+                    true);
+        }
+        if (time == DateTimeParser.INVALID
+                && CompatibilityHints.isHintEnabled(CompatibilityHints.KEY_RELAXED_PARSING)) {
+            time = DateTimeParser.tryParse(DateTimeParser.Form.DATE, value, getFormat().getTimeZone(), true);
+        }
+        if (time == DateTimeParser.INVALID) {
+            throw new ParseException("Unparseable date: \"" + value + "\"", 0);
         }
+        setTime(time);
+        setTimeZone(timezone);
 	}
 
 	/**
@@ -392,8 +333,7 @@ public class DateTime extends Date {
 		final DateFormat format = CalendarDateFormatFactory
 				.getInstance(pattern);
 		if (utc) {
-			setTime(value, format,
-					UTC_FORMAT.get().getTimeZone());
+			setTime(value, format, TimeZones.getUtcTimeZone());
 		} else {
 			setTime(value, format, null);
 		}
@@ -405,7 +345,7 @@ public class DateTime extends Date {
 	 * 
 	 * @param value
 	 * @param format
-	 *            a {@code DateFormat}, protected by the use of a ThreadLocal.
+	 *            a {@code DateFormat} instance not shared between threads
 	 * @param tz
 	 * @throws ParseException
 	 */
@@ -525,35 +465,4 @@ public class DateTime extends Date {
 	public int hashCode() {
 		return super.hashCode();
 	}
-
-	/**
-	 * This cache class is a workaround for DateFormat not being threadsafe.
-	 * We maintain map from Thread to DateFormat instance so that the instances
-	 * are not shared between threads (effectively a ThreadLocal).
-	 * TODO: once the project targets Java 8+, the new date utilities are
-	 * thread-safe and we should remove this code.
-	 */
-	private static class DateFormatCache {
-
-		/**
-		 * This map needs to keep weak references (to avoid memory leaks - see r1.37)
-		 * and be thread-safe (since it may be concurrently modified in get() below).
-		 */
-		private final Map<Thread, DateFormat> threadMap = Collections.synchronizedMap(new WeakHashMap<Thread, DateFormat>());
-
-		private final DateFormat templateFormat;
-
-		private DateFormatCache(DateFormat dateFormat) {
-			this.templateFormat = dateFormat;
-		}
-
-		public DateFormat get() {
-			DateFormat dateFormat = threadMap.get(Thread.currentThread());
-			if (dateFormat == null) {
-				dateFormat = (DateFormat) templateFormat.clone();
-				threadMap.put(Thread.currentThread(), dateFormat);
-			}
-			return dateFormat;
-		}
-	}
 }
@@ -0,0 +1,290 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+/**
+ * Parses the fixed-width DATE and DATE-TIME representations defined in RFC5545 (and the extended forms used by
+ * vCard), computing the epoch directly from the date and time fields rather than via a {@link java.text.DateFormat}.
+ *
+ * Local times are converted to UTC using the offsets of the applicable timezone, consistent with
+ * {@link java.util.GregorianCalendar}: dates prior to the Gregorian cutover are interpreted in the Julian calendar,
+ * and local times that occur twice are interpreted using the later offset. Where parsing is not lenient, fields
+ * outside of their valid range and local times that do not occur (i.e. a daylight savings gap) are rejected.
+ * Otherwise fields overflow into the next larger field, and a local time that does not occur is interpreted using the
+ * offset prior to the gap.
+ */
+final class DateTimeParser {
+
+    /**
+     * The fixed-width forms of a date or date-time value, where '0' identifies a digit and all other characters are
+     * literal. Time values without a date are relative to the epoch date (1970-01-01).
+     */
+    enum Form {
+        DATE("00000000", 4, 6, -1, 0),
+        DATE_TIME("00000000T000000", 4, 6, 9, 2),
+        UTC_DATE_TIME("00000000T000000Z", 4, 6, 9, 2),
+        VCARD_DATE("0000-00-00", 5, 8, -1, 0),
+        VCARD_DATE_TIME("0000-00-00T00:00:00Z", 5, 8, 11, 3),
+        TIME("000000", -1, -1, 0, 2),
+        UTC_TIME("000000Z", -1, -1, 0, 2);
+
+        private final String template;
+
+        private final int monthIndex;
+
+        private final int dayIndex;
+
+        private final int hourIndex;
+
+        private final int timeFieldWidth;
+
+        Form(String template, int monthIndex, int dayIndex, int hourIndex, int timeFieldWidth) {
+            this.template = template;
+            this.monthIndex = monthIndex;
+            this.dayIndex = dayIndex;
+            this.hourIndex = hourIndex;
+            this.timeFieldWidth = timeFieldWidth;
+        }
+
+        /**
+         * @param value a string representation of a date or date-time in this form
+         * @return the number of characters of the specified value in this form
+         */
+        int length(final String value) {
+            return template.length() + extraSecondDigits(value);
+        }
+
+        /**
+         * @param value a string representation of a date or date-time
+         * @param lenient if true, any characters following the fixed-width form are ignored
+         * @return true if the specified value is in this form
+         */
+        boolean matches(final String value, final boolean lenient) {
+            return indexOfMismatch(value, lenient) < 0;
+        }
+
+        private int secondIndex() {
+            return hourIndex + timeFieldWidth * 2;
+        }
+
+        /**
+         * As with {@link java.text.SimpleDateFormat} the seconds field, being the last of the time fields, may
+         * include additional digits.
+         */
+        private int extraSecondDigits(final String value) {
+            if (hourIndex < 0) {
+                return 0;
+            }
+            int count = 0;
+            for (int i = secondIndex() + 2; i < value.length() && isDigit(value.charAt(i)); i++) {
+                count++;
+            }
+            return count;
+        }
+
+        private int indexOfMismatch(final String value, final boolean lenient) {
+            final int extra = extraSecondDigits(value);
+            if (extra > MAX_EXTRA_SECOND_DIGITS) {
+                return secondIndex();
+            }
+            final int secondEnd = hourIndex < 0 ? template.length() : secondIndex() + 2;
+            for (int i = 0; i < template.length(); i++) {
+                final int index = i < secondEnd ? i : i + extra;
+                if (index >= value.length()) {
+                    return index;
+                }
+                final char expected = template.charAt(i);
+                final char c = value.charAt(index);
+                if (expected == '0' ? !isDigit(c) : c != expected) {
+                    return index;
+                }
+            }
+            final int length = template.length() + extra;
+            return value.length() > length && !lenient ? length : -1;
+        }
+    }
+
+    /**
+     * Indicates a value that is not a valid representation of a date or date-time.
+     */
+    static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * The epoch day of the first day of the Gregorian calendar (1582-10-15).
+     */
+    static final long GREGORIAN_CUTOVER_DAY = -141427;
+
+    static final long DAYS_0000_TO_1970 = 719528;
+
+    static final long JULIAN_DAY_1970 = 2440588;
+
+    static final long MILLIS_PER_DAY = 86400000L;
+
+    private static final int MAX_EXTRA_SECOND_DIGITS = 7;
+
+    private DateTimeParser() {
+    }
+
+    /**
+     * Parses the specified value in the specified form. Any characters following the fixed-width form are ignored.
+     *
+     * @param form the form of the value
+     * @param value a string representation of a date or date-time
+     * @param timezone the timezone in which local date and time fields are interpreted
+     * @param lenient indicates whether fields outside of their valid range are accepted
+     * @return the epoch of the specified value in milliseconds, or {@link #INVALID} where the value is not a valid
+     * representation in the specified form
+     */
+    static long tryParse(final Form form, final String value, final java.util.TimeZone timezone,
+                         final boolean lenient) {
+
+        if (form.indexOfMismatch(value, true) >= 0) {
+            return INVALID;
+        }
+
+        int year = 1970;
+        int month = 1;
+        int day = 1;
+        if (form.monthIndex >= 0) {
+            year = digits(value, 0, 4);
+            month = digits(value, form.monthIndex, 2);
+            day = digits(value, form.dayIndex, 2);
+        }
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        if (form.hourIndex >= 0) {
+            hour = digits(value, form.hourIndex, 2);
+            minute = digits(value, form.hourIndex + form.timeFieldWidth, 2);
+            second = digits(value, form.secondIndex(), 2 + form.extraSecondDigits(value));
+        }
+
+        if (!lenient && (year < 1 || month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)
+                || hour > 23 || minute > 59 || second > 59)) {
+            return INVALID;
+        }
+
+        final long local = epochDay(year, month, day) * MILLIS_PER_DAY
+                + ((hour * 60L + minute) * 60 + second) * 1000;
+        return toUtc(local, timezone, lenient);
+    }
+
+    /**
+     * Returns the epoch of the specified local date and time fields, consistent with leniently parsing their string
+     * representation in the specified timezone.
+     *
+     * @return the epoch of the specified local date-time in milliseconds
+     */
+    static long toEpochMillis(final int year, final int month, final int day, final int hour, final int minute,
+                              final int second, final java.util.TimeZone timezone) {
+        final long local = epochDay(year, month, day) * MILLIS_PER_DAY
+                + ((hour * 60L + minute) * 60 + second) * 1000;
+        return toUtc(local, timezone, true);
+    }
+
+    /**
+     * Converts a local time to UTC, using the offset applicable at the local time less the raw offset of the
+     * timezone. Where this offset does not apply to the resulting UTC time, the offset applicable at that time is
+     * tried, and if neither offset applies the local time falls within a gap.
+     */
+    private static long toUtc(final long local, final java.util.TimeZone timezone, final boolean lenient) {
+        final int offset = timezone.getOffset(local - timezone.getRawOffset());
+        final long utc = local - offset;
+        final int actualOffset = timezone.getOffset(utc);
+        if (actualOffset == offset) {
+            return utc;
+        } else if (timezone.getOffset(local - actualOffset) == actualOffset) {
+            return local - actualOffset;
+        } else if (!lenient) {
+            return INVALID;
+        }
+        return local - Math.min(offset, actualOffset);
+    }
+
+    /**
+     * Returns the epoch day of the specified date, where months and days outside of their valid range overflow into
+     * the following year or month respectively.
+     */
+    private static long epochDay(final int year, final int month, final int day) {
+        final long y = year + Math.floorDiv(month - 1, 12);
+        final int m = Math.floorMod(month - 1, 12) + 1;
+
+        long total = 365 * y;
+        if (y >= 0) {
+            total += (y + 3) / 4 - (y + 99) / 100 + (y + 399) / 400;
+        } else {
+            total -= y / -4 - y / -100 + y / -400;
+        }
+        total += (367 * m - 362) / 12;
+        total += day - 1;
+        if (m > 2) {
+            total--;
+            if (!isGregorianLeapYear(y)) {
+                total--;
+            }
+        }
+        final long epochDay = total - DAYS_0000_TO_1970;
+        if (epochDay >= GREGORIAN_CUTOVER_DAY) {
+            return epochDay;
+        }
+
+        // prior to the cutover dates are in the julian calendar..
+        final long a = (14 - m) / 12;
+        final long jy = y + 4800 - a;
+        final long jm = m + 12 * a - 3;
+        return day + (153 * jm + 2) / 5 + 365 * jy + Math.floorDiv(jy, 4) - 32083 - JULIAN_DAY_1970;
+    }
+
+    private static int lengthOfMonth(final int year, final int month) {
+        if (month == 2) {
+            final boolean leap = year < 1583 ? year % 4 == 0 : isGregorianLeapYear(year);
+            return leap ? 29 : 28;
+        }
+        return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+    }
+
+    private static boolean isGregorianLeapYear(final long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static boolean isDigit(final char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static int digits(final String value, final int index, final int count) {
+        int result = 0;
+        for (int i = index; i < index + count; i++) {
+            result = result * 10 + (value.charAt(i) - '0');
+        }
+        return result;
+    }
+}
@@ -38,7 +38,6 @@ import java.io.IOException;
 import java.io.Serializable;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.StringTokenizer;
 
 /**
  * $Id$
@@ -89,6 +88,8 @@ public class Dur implements Comparable<Dur>, Serializable {
 
     private static final int DAYS_PER_YEAR = 365;
 
+    private static final String DESIGNATORS = "+-PWDTHMS";
+
     private boolean negative;
 
     private int weeks;
@@ -113,42 +114,59 @@ public class Dur implements Comparable<Dur>, Serializable {
         minutes = 0;
         seconds = 0;
 
-        String token = null;
-        String prevToken;
-
-        final StringTokenizer t = new StringTokenizer(value, "+-PWDTHMS", true);
-        while (t.hasMoreTokens()) {
-            prevToken = token;
-            token = t.nextToken();
+        // the start of the value preceding each designator, or -1 where preceded by another designator..
+        int valueStart = -1;
+        for (int i = 0; i < value.length(); i++) {
+            final char c = value.charAt(i);
+            if (DESIGNATORS.indexOf(c) < 0) {
+                if (valueStart < 0) {
+                    valueStart = i;
+                }
+                continue;
+            }
 
-            if ("+".equals(token)) {
+            if (c == '+') {
                 negative = false;
             }
-            else if ("-".equals(token)) {
+            else if (c == '-') {
                 negative = true;
             }
-            // does nothing..
-//            else if ("P".equals(token)) {
-//            }
-            else if ("W".equals(token)) {
-                weeks = Integer.parseInt(prevToken);
+            else if (c == 'W') {
+                weeks = parseInt(value, valueStart, i);
+            }
+            else if (c == 'D') {
+                days = parseInt(value, valueStart, i);
             }
-            else if ("D".equals(token)) {
-                days = Integer.parseInt(prevToken);
+            else if (c == 'H') {
+                hours = parseInt(value, valueStart, i);
             }
-            // does nothing..
-//            else if ("T".equals(token)) {
-//            }
-            else if ("H".equals(token)) {
-                hours = Integer.parseInt(prevToken);
+            else if (c == 'M') {
+                minutes = parseInt(value, valueStart, i);
             }
-            else if ("M".equals(token)) {
-                minutes = Integer.parseInt(prevToken);
+            else if (c == 'S') {
+                seconds = parseInt(value, valueStart, i);
             }
-            else if ("S".equals(token)) {
-                seconds = Integer.parseInt(prevToken);
+            valueStart = -1;
+        }
+    }
+
+    /**
+     * Parses the unsigned decimal value between the specified indices, consistent with
+     * {@link Integer#parseInt(String)}.
+     */
+    private static int parseInt(final String value, final int start, final int end) {
+        if (start < 0) {
+            throw new NumberFormatException("Missing value preceding designator: " + value.charAt(end));
+        }
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            final char c = value.charAt(i);
+            if (c < '0' || c > '9' || result > (Integer.MAX_VALUE - (c - '0')) / 10) {
+                throw new NumberFormatException("For input string: \"" + value.substring(start, end) + "\"");
             }
+            result = result * 10 + (c - '0');
         }
+        return result;
     }
 
     /**
@@ -0,0 +1,363 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * An immutable set of intervals of time, held as a sorted array of start and end times in milliseconds. Intervals
+ * are half-open (i.e. they include their start but not their end time), and are normalised such that no interval is
+ * empty, and no two intervals overlap or are adjacent.
+ *
+ * Union, intersection and subtraction of interval sets complete in linear time, without the allocation of
+ * intermediate periods or dates.
+ *
+ * @see PeriodList#getIntervalSet()
+ */
+public final class IntervalSet implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * An interval set containing no intervals.
+     */
+    public static final IntervalSet EMPTY = new IntervalSet(new long[0]);
+
+    private final long[] boundaries;
+
+    private IntervalSet(final long[] boundaries) {
+        this.boundaries = boundaries;
+    }
+
+    /**
+     * @param start the start of an interval
+     * @param end the end of an interval
+     * @return an interval set containing the specified interval, or an empty set where the interval is empty
+     */
+    public static IntervalSet of(final long start, final long end) {
+        return start < end ? new IntervalSet(new long[] {start, end}) : EMPTY;
+    }
+
+    /**
+     * @param periods a collection of periods in any order
+     * @return an interval set containing the time of all specified periods
+     */
+    public static IntervalSet of(final Collection<? extends Period> periods) {
+        final Builder builder = new Builder();
+        for (final Period period : periods) {
+            builder.add(period);
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return the number of intervals in the set
+     */
+    public int size() {
+        return boundaries.length / 2;
+    }
+
+    /**
+     * @return true if the set contains no intervals
+     */
+    public boolean isEmpty() {
+        return boundaries.length == 0;
+    }
+
+    /**
+     * @param index the index of an interval
+     * @return the start of the interval at the specified index
+     */
+    public long getStart(final int index) {
+        return boundaries[index * 2];
+    }
+
+    /**
+     * @param index the index of an interval
+     * @return the end of the interval at the specified index
+     */
+    public long getEnd(final int index) {
+        return boundaries[index * 2 + 1];
+    }
+
+    /**
+     * @param start the start of an interval
+     * @param end the end of an interval
+     * @return true if a single interval of this set includes the entire specified interval
+     */
+    public boolean contains(final long start, final long end) {
+        final int index = indexOf(start);
+        return index >= 0 && getEnd(index) >= end;
+    }
+
+    /**
+     * @param start the start of an interval
+     * @param end the end of an interval
+     * @return true if any interval of this set overlaps the specified interval
+     */
+    public boolean intersects(final long start, final long end) {
+        final int index = indexOf(start);
+        if (index >= 0 && getEnd(index) > start) {
+            return true;
+        }
+        return index + 1 < size() && getStart(index + 1) < end;
+    }
+
+    /**
+     * Returns the index of the last interval starting at or before the specified time.
+     */
+    private int indexOf(final long time) {
+        int low = 0;
+        int high = size() - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (getStart(mid) <= time) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return high;
+    }
+
+    /**
+     * @param other another interval set
+     * @return an interval set containing the time of both sets
+     */
+    public IntervalSet union(final IntervalSet other) {
+        if (other.isEmpty()) {
+            return this;
+        } else if (isEmpty()) {
+            return other;
+        }
+        final Appender result = new Appender(boundaries.length + other.boundaries.length);
+        int i = 0;
+        int j = 0;
+        while (i < boundaries.length || j < other.boundaries.length) {
+            if (j >= other.boundaries.length
+                    || i < boundaries.length && boundaries[i] <= other.boundaries[j]) {
+                result.union(boundaries[i], boundaries[i + 1]);
+                i += 2;
+            } else {
+                result.union(other.boundaries[j], other.boundaries[j + 1]);
+                j += 2;
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * @param other another interval set
+     * @return an interval set containing the time common to both sets
+     */
+    public IntervalSet intersect(final IntervalSet other) {
+        final Appender result = new Appender(boundaries.length + other.boundaries.length);
+        int i = 0;
+        int j = 0;
+        while (i < boundaries.length && j < other.boundaries.length) {
+            result.union(Math.max(boundaries[i], other.boundaries[j]),
+                    Math.min(boundaries[i + 1], other.boundaries[j + 1]));
+            if (boundaries[i + 1] < other.boundaries[j + 1]) {
+                i += 2;
+            } else {
+                j += 2;
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * @param other another interval set
+     * @return an interval set containing the time of this set not included in the specified set
+     */
+    public IntervalSet subtract(final IntervalSet other) {
+        if (isEmpty() || other.isEmpty()) {
+            return this;
+        }
+        final Appender result = new Appender(boundaries.length + other.boundaries.length);
+        int j = 0;
+        for (int i = 0; i < boundaries.length; i += 2) {
+            long start = boundaries[i];
+            while (j < other.boundaries.length && other.boundaries[j + 1] <= start) {
+                j += 2;
+            }
+            for (int k = j; k < other.boundaries.length && other.boundaries[k] < boundaries[i + 1]; k += 2) {
+                result.union(start, other.boundaries[k]);
+                start = Math.max(start, other.boundaries[k + 1]);
+            }
+            result.union(start, boundaries[i + 1]);
+        }
+        return result.build();
+    }
+
+    /**
+     * @return alternating start and end times of the intervals of this set
+     */
+    public long[] toArray() {
+        return boundaries.clone();
+    }
+
+    /**
+     * @return a list of UTC periods representing the intervals of this set
+     */
+    public PeriodList toPeriodList() {
+        final PeriodList periods = new PeriodList(true);
+        for (int i = 0; i < boundaries.length; i += 2) {
+            periods.add(new Period(new DateTime(boundaries[i]), new DateTime(boundaries[i + 1])));
+        }
+        return periods;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        return this == o || o instanceof IntervalSet && Arrays.equals(boundaries, ((IntervalSet) o).boundaries);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(boundaries);
+    }
+
+    @Override
+    public String toString() {
+        return toPeriodList().toString();
+    }
+
+    /**
+     * Appends intervals in order of start time, combining overlapping and adjacent intervals and omitting empty
+     * intervals.
+     */
+    private static final class Appender {
+
+        private long[] boundaries;
+
+        private int size;
+
+        Appender(final int capacity) {
+            boundaries = new long[Math.max(2, capacity)];
+        }
+
+        void union(final long start, final long end) {
+            if (start >= end) {
+                return;
+            }
+            if (size > 0 && boundaries[size - 1] >= start) {
+                boundaries[size - 1] = Math.max(boundaries[size - 1], end);
+                return;
+            }
+            if (size == boundaries.length) {
+                boundaries = Arrays.copyOf(boundaries, size * 2);
+            }
+            boundaries[size++] = start;
+            boundaries[size++] = end;
+        }
+
+        IntervalSet build() {
+            return size > 0 ? new IntervalSet(size < boundaries.length ? Arrays.copyOf(boundaries, size)
+                    : boundaries) : EMPTY;
+        }
+    }
+
+    /**
+     * Collects intervals in any order, normalising them via a sweep of the separately sorted start and end times.
+     */
+    public static final class Builder {
+
+        private long[] starts = new long[16];
+
+        private long[] ends = new long[16];
+
+        private int size;
+
+        /**
+         * @param start the start of an interval
+         * @param end the end of an interval, where empty intervals are ignored
+         * @return this builder
+         */
+        public Builder add(final long start, final long end) {
+            if (start < end) {
+                if (size == starts.length) {
+                    starts = Arrays.copyOf(starts, size * 2);
+                    ends = Arrays.copyOf(ends, size * 2);
+                }
+                starts[size] = start;
+                ends[size++] = end;
+            }
+            return this;
+        }
+
+        /**
+         * @param period a period
+         * @return this builder
+         */
+        public Builder add(final Period period) {
+            return add(period.getStart().getTime(), period.getEnd().getTime());
+        }
+
+        /**
+         * @return an interval set containing the time of all intervals added
+         */
+        public IntervalSet build() {
+            if (size == 0) {
+                return EMPTY;
+            }
+            final long[] sortedStarts = Arrays.copyOf(starts, size);
+            final long[] sortedEnds = Arrays.copyOf(ends, size);
+            Arrays.sort(sortedStarts);
+            Arrays.sort(sortedEnds);
+
+            // an interval starts where no other interval is active, and ends where no interval remains active,
+            // such that starts are processed before coincident ends to combine adjacent intervals..
+            final Appender result = new Appender(size * 2);
+            int depth = 0;
+            long start = 0;
+            int j = 0;
+            for (int i = 0; i < size;) {
+                if (sortedStarts[i] <= sortedEnds[j]) {
+                    if (depth++ == 0) {
+                        start = sortedStarts[i];
+                    }
+                    i++;
+                } else {
+                    if (--depth == 0) {
+                        result.union(start, sortedEnds[j]);
+                    }
+                    j++;
+                }
+            }
+            result.union(start, sortedEnds[size - 1]);
+            return result.build();
+        }
+    }
+}
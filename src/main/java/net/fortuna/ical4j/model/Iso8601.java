@@ -59,8 +59,6 @@ public abstract class Iso8601 extends Date {
 
     private DateFormat format;
     
-    private DateFormat gmtFormat;
-    
     private int precision;
 
     /**
@@ -116,22 +114,28 @@ public abstract class Iso8601 extends Date {
         // string representation of date..
         final java.util.TimeZone timeZone = format.getTimeZone();
         if (!(timeZone instanceof TimeZone)) {
-            if (gmtFormat == null) {
-                gmtFormat = (DateFormat) format.clone();
-                gmtFormat.setTimeZone(GMT);
-            }
             if (timeZone.inDaylightTime(this)
                     && timeZone.inDaylightTime(new Date(getTime() - 1))) {
 
-                return gmtFormat.format(new Date(getTime()
-                        + timeZone.getRawOffset()
-                        + timeZone.getDSTSavings()));
-//                return format.format(new Date(getTime() - format.getTimeZone().getDSTSavings()));
+                return format(getTime() + timeZone.getRawOffset() + timeZone.getDSTSavings(), GMT);
             }
-//            return gmtFormat.format(new Date(getTime() + format.getTimeZone().getOffset(getTime())));
-            return gmtFormat.format(new Date(getTime() + timeZone.getRawOffset()));
+            return format(getTime() + timeZone.getRawOffset(), GMT);
+        }
+        return format(getTime(), timeZone);
+    }
+
+    /**
+     * Formats the specified time without modifying the state of the format, such that instances may be formatted
+     * concurrently.
+     */
+    private String format(final long time, final java.util.TimeZone timeZone) {
+        if (format instanceof CalendarDateFormatFactory.CalendarDateFormat) {
+            return ((CalendarDateFormatFactory.CalendarDateFormat) format).format(time, timeZone,
+                    new StringBuffer()).toString();
         }
-        return format.format(this);
+        final DateFormat instanceFormat = (DateFormat) format.clone();
+        instanceFormat.setTimeZone(timeZone);
+        return instanceFormat.format(new Date(time));
     }
 
     /**
@@ -2,16 +2,17 @@ package net.fortuna.ical4j.model;
 
 import java.time.temporal.ChronoField;
 import java.time.temporal.ValueRange;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Collection;
-import java.util.Optional;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 public class MonthList extends ArrayList<Month> {
 
     private final ValueRange valueRange;
 
+    private transient boolean unmodifiable;
+
     public MonthList() {
         this(ChronoField.MONTH_OF_YEAR.range());
     }
@@ -20,6 +21,15 @@ public class MonthList extends ArrayList<Month> {
         this.valueRange = range;
     }
 
+    /**
+     * Creates a modifiable copy of the specified list, subject to the same restrictions.
+     * @param list a list to copy
+     */
+    MonthList(final MonthList list) {
+        super(list);
+        this.valueRange = list.valueRange;
+    }
+
     public MonthList(String aString) {
         this(aString, ChronoField.MONTH_OF_YEAR.range());
     }
@@ -31,6 +41,7 @@ public class MonthList extends ArrayList<Month> {
 
     @Override
     public final boolean add(final Month month) {
+        checkModifiable();
         if (!valueRange.isValidValue(month.getMonthOfYear())) {
             throw new IllegalArgumentException(
                     "Value not in range [" + valueRange + "]: " + month);
@@ -40,6 +51,7 @@ public class MonthList extends ArrayList<Month> {
 
     @Override
     public boolean addAll(Collection<? extends Month> c) {
+        checkModifiable();
         Optional<? extends Month> invalidMonth = c.stream().filter(m -> !valueRange.isValidValue(m.getMonthOfYear()))
                 .findFirst();
         if (invalidMonth.isPresent()) {
@@ -53,4 +65,102 @@ public class MonthList extends ArrayList<Month> {
     public final String toString() {
         return stream().map(Object::toString).collect(Collectors.joining(","));
     }
+
+    @Override
+    public void add(final int index, final Month element) {
+        checkModifiable();
+        super.add(index, element);
+    }
+
+    @Override
+    public boolean addAll(final int index, final Collection<? extends Month> c) {
+        checkModifiable();
+        return super.addAll(index, c);
+    }
+
+    @Override
+    public Month set(final int index, final Month element) {
+        checkModifiable();
+        return super.set(index, element);
+    }
+
+    @Override
+    public Month remove(final int index) {
+        checkModifiable();
+        return super.remove(index);
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        checkModifiable();
+        return super.remove(o);
+    }
+
+    @Override
+    public boolean removeAll(final Collection<?> c) {
+        checkModifiable();
+        return super.removeAll(c);
+    }
+
+    @Override
+    public boolean retainAll(final Collection<?> c) {
+        checkModifiable();
+        return super.retainAll(c);
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<? super Month> filter) {
+        checkModifiable();
+        return super.removeIf(filter);
+    }
+
+    @Override
+    public void replaceAll(final UnaryOperator<Month> operator) {
+        checkModifiable();
+        super.replaceAll(operator);
+    }
+
+    @Override
+    public void sort(final Comparator<? super Month> c) {
+        checkModifiable();
+        super.sort(c);
+    }
+
+    @Override
+    public void clear() {
+        checkModifiable();
+        super.clear();
+    }
+
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        checkModifiable();
+        super.removeRange(fromIndex, toIndex);
+    }
+
+    @Override
+    public List<Month> subList(final int fromIndex, final int toIndex) {
+        final List<Month> subList = super.subList(fromIndex, toIndex);
+        return unmodifiable ? Collections.unmodifiableList(subList) : subList;
+    }
+
+    /**
+     * @return true if this list may not be modified
+     */
+    public final boolean isUnmodifiable() {
+        return unmodifiable;
+    }
+
+    /**
+     * Prevents any further modification of this list.
+     */
+    void setUnmodifiable() {
+        unmodifiable = true;
+    }
+
+    private void checkModifiable() {
+        if (unmodifiable) {
+            throw new UnsupportedOperationException("List is unmodifiable");
+        }
+    }
 }
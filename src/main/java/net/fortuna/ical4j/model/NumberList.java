@@ -36,6 +36,8 @@ import net.fortuna.ical4j.util.Numbers;
 import java.io.Serializable;
 import java.time.temporal.ValueRange;
 import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 /**
@@ -52,6 +54,8 @@ public class NumberList extends ArrayList<Integer> implements Serializable {
     private final ValueRange valueRange;
 
     private final boolean allowsNegativeValues;
+
+    private transient boolean unmodifiable;
     
     /**
      * Default constructor.
@@ -70,6 +74,16 @@ public class NumberList extends ArrayList<Integer> implements Serializable {
         this.allowsNegativeValues = allowsNegativeValues;
     }
 
+    /**
+     * Creates a modifiable copy of the specified list, subject to the same restrictions.
+     * @param list a list to copy
+     */
+    NumberList(final NumberList list) {
+        super(list);
+        this.valueRange = list.valueRange;
+        this.allowsNegativeValues = list.allowsNegativeValues;
+    }
+
     /**
      * Constructor with limits.
      * @param minValue the minimum allowable value
@@ -126,6 +140,7 @@ public class NumberList extends ArrayList<Integer> implements Serializable {
      */
     @Override
     public final boolean add(final Integer aNumber) {
+        checkModifiable();
         int abs = aNumber;
         if ((abs >> 31 | -abs >>> 31) < 0) {
             if (!allowsNegativeValues) {
@@ -141,6 +156,7 @@ public class NumberList extends ArrayList<Integer> implements Serializable {
 
     @Override
     public boolean addAll(Collection<? extends Integer> c) {
+        checkModifiable();
         Optional<? extends Integer> negativeValue = c.stream().filter(v -> (v >> 31 | -v >>> 31) < 0)
                 .findFirst();
         if (!allowsNegativeValues && negativeValue.isPresent()) {
@@ -163,4 +179,102 @@ public class NumberList extends ArrayList<Integer> implements Serializable {
     public final String toString() {
         return stream().map(Object::toString).collect(Collectors.joining(","));
     }
+
+    @Override
+    public void add(final int index, final Integer element) {
+        checkModifiable();
+        super.add(index, element);
+    }
+
+    @Override
+    public boolean addAll(final int index, final Collection<? extends Integer> c) {
+        checkModifiable();
+        return super.addAll(index, c);
+    }
+
+    @Override
+    public Integer set(final int index, final Integer element) {
+        checkModifiable();
+        return super.set(index, element);
+    }
+
+    @Override
+    public Integer remove(final int index) {
+        checkModifiable();
+        return super.remove(index);
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        checkModifiable();
+        return super.remove(o);
+    }
+
+    @Override
+    public boolean removeAll(final Collection<?> c) {
+        checkModifiable();
+        return super.removeAll(c);
+    }
+
+    @Override
+    public boolean retainAll(final Collection<?> c) {
+        checkModifiable();
+        return super.retainAll(c);
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<? super Integer> filter) {
+        checkModifiable();
+        return super.removeIf(filter);
+    }
+
+    @Override
+    public void replaceAll(final UnaryOperator<Integer> operator) {
+        checkModifiable();
+        super.replaceAll(operator);
+    }
+
+    @Override
+    public void sort(final Comparator<? super Integer> c) {
+        checkModifiable();
+        super.sort(c);
+    }
+
+    @Override
+    public void clear() {
+        checkModifiable();
+        super.clear();
+    }
+
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        checkModifiable();
+        super.removeRange(fromIndex, toIndex);
+    }
+
+    @Override
+    public List<Integer> subList(final int fromIndex, final int toIndex) {
+        final List<Integer> subList = super.subList(fromIndex, toIndex);
+        return unmodifiable ? Collections.unmodifiableList(subList) : subList;
+    }
+
+    /**
+     * @return true if this list may not be modified
+     */
+    public final boolean isUnmodifiable() {
+        return unmodifiable;
+    }
+
+    /**
+     * Prevents any further modification of this list.
+     */
+    void setUnmodifiable() {
+        unmodifiable = true;
+    }
+
+    private void checkModifiable() {
+        if (unmodifiable) {
+            throw new UnsupportedOperationException("List is unmodifiable");
+        }
+    }
 }
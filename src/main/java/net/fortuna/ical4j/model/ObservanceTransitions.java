@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.model.component.Observance;
+import net.fortuna.ical4j.model.component.VTimeZone;
+import net.fortuna.ical4j.model.property.TzOffsetTo;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable table of the applicable observance and offset from each transition instant of a VTIMEZONE, compiled
+ * up to a limit.
+ *
+ * @see TimeZone
+ */
+final class ObservanceTransitions {
+
+    final long limit;
+
+    final long[] instants;
+
+    final int[] offsets;
+
+    final Observance[] observances;
+
+    private ObservanceTransitions(long limit, long[] instants, int[] offsets, Observance[] observances) {
+        this.limit = limit;
+        this.instants = instants;
+        this.offsets = offsets;
+        this.observances = observances;
+    }
+
+    /**
+     * Compiles the onsets of all observances into a transition table. Where observances share an onset the first
+     * observance takes precedence, consistent with {@link VTimeZone#getApplicableObservance(java.util.Date)}.
+     *
+     * @param vTimeZone a timezone definition
+     * @param limit the latest instant the table must cover
+     * @return a table covering all instants up to the specified limit, or indefinitely where no observance
+     * recurs by rule. The first entry applies to all instants prior to the first onset.
+     */
+    static ObservanceTransitions compile(final VTimeZone vTimeZone, final long limit) {
+        final List<Observance> observances = vTimeZone.getObservances();
+        final List<long[]> onsets = new ArrayList<>();
+        boolean recurring = false;
+        for (int i = 0; i < observances.size(); i++) {
+            final Observance observance = observances.get(i);
+            // onsets beyond the limit are retained, as the table isn't recompiled where no observance recurs..
+            for (long onset : observance.getOnsets(new DateTime(limit))) {
+                onsets.add(new long[] {onset, i});
+            }
+            recurring |= !observance.getProperties(Property.RRULE).isEmpty();
+        }
+        // order by onset, with the first of any coincident observances last such that it prevails..
+        onsets.sort((a, b) -> a[0] != b[0] ? Long.compare(a[0], b[0]) : Long.compare(b[1], a[1]));
+
+        // instants prior to all onsets fall back to the last observance..
+        final Observance initial = observances.isEmpty() ? null : observances.get(observances.size() - 1);
+        final long[] instants = new long[onsets.size() + 1];
+        final int[] offsets = new int[instants.length];
+        final Observance[] applicable = new Observance[instants.length];
+        instants[0] = Long.MIN_VALUE;
+        offsets[0] = getOffsetTo(initial);
+        applicable[0] = initial;
+        int size = 1;
+        for (final long[] onset : onsets) {
+            final Observance observance = observances.get((int) onset[1]);
+            if (instants[size - 1] == onset[0]) {
+                size--;
+            } else if (applicable[size - 1] == observance) {
+                continue;
+            }
+            instants[size] = onset[0];
+            offsets[size] = getOffsetTo(observance);
+            applicable[size++] = observance;
+        }
+        return new ObservanceTransitions(recurring ? limit : Long.MAX_VALUE, Arrays.copyOf(instants, size),
+                Arrays.copyOf(offsets, size), Arrays.copyOf(applicable, size));
+    }
+
+    private static int getOffsetTo(final Observance observance) {
+        if (observance != null) {
+            final TzOffsetTo offset = observance.getProperty(Property.TZOFFSETTO);
+            return (int) (offset.getOffset().getTotalSeconds() * 1000L);
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the index of the latest transition not after the specified instant.
+     */
+    int indexOf(final long date) {
+        final int index = Arrays.binarySearch(instants, date);
+        return index >= 0 ? index : -(index + 1) - 1;
+    }
+}
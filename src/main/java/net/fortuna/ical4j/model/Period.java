@@ -65,14 +65,10 @@ public class Period extends DateRange implements Comparable<Period> {
      *             where the specified string is not a valid representation
      */
     public Period(final String aValue) throws ParseException {
-        super(parseStartDate(aValue), parseEndDate(aValue, true));
+        super(parseStartDate(aValue), parseEndDate(aValue));
 
         // period may end in either a date-time or a duration..
-        try {
-            parseEndDate(aValue, false);
-        }
-        catch (ParseException pe) {
-            // duration = DurationFormat.getInstance().parse(aValue);
+        if (isDuration(aValue)) {
             duration = parseDuration(aValue);
         }
         normalise();
@@ -122,21 +118,25 @@ public class Period extends DateRange implements Comparable<Period> {
         return new DateTime(value.substring(0, value.indexOf('/')));
     }
     
-    private static DateTime parseEndDate(String value, boolean resolve) throws ParseException {
-        DateTime end;
-        try {
-            end = new DateTime(value.substring(value.indexOf('/') + 1));
+    private static DateTime parseEndDate(String value) throws ParseException {
+        if (isDuration(value)) {
+            final TemporalAmount duration = parseDuration(value).getDuration();
+            return new DateTime(Date.from(parseStartDate(value).toInstant().plus(duration)));
         }
-        catch (ParseException e) {
-            if (resolve) {
-                final TemporalAmount duration = parseDuration(value).getDuration();
-                end = new DateTime(Date.from(parseStartDate(value).toInstant().plus(duration)));
-            }
-            else {
-                throw e;
-            }
+        return new DateTime(value.substring(value.indexOf('/') + 1));
+    }
+
+    /**
+     * Indicates whether the specified period ends in a duration (i.e. a value beginning with a sign or the
+     * duration designator) rather than a date-time.
+     */
+    private static boolean isDuration(String value) {
+        final int index = value.indexOf('/') + 1;
+        if (index >= value.length()) {
+            return false;
         }
-        return end;
+        final char c = value.charAt(index);
+        return c == 'P' || c == '+' || c == '-';
     }
     
     private static TemporalAmountAdapter parseDuration(String value) {
@@ -132,6 +132,17 @@ public class PeriodList implements Set<Period>, Serializable {
         return periods.add(period);
     }
 
+    /**
+     * Add a period to the list without applying the timezone of this list. The start and end
+     * of the specified period must already reflect the timezone (or UTC status) of this list.
+     *
+     * @param period the period to add
+     * @return true if the list did not already contain the specified period
+     */
+    final boolean addNormalised(final Period period) {
+        return periods.add(period);
+    }
+
     /**
      * Remove a period from the list.
      * 
@@ -228,7 +239,9 @@ public class PeriodList implements Set<Period>, Serializable {
     /**
      * Subtracts the intersection of this list with the specified list of
      * periods from this list and returns the results as a new period list. If
-     * no intersection is identified this list is returned.
+     * no periods are specified this list is returned. Where neither list
+     * contains empty periods, the normalised intervals of the subtractions
+     * are subtracted in a single ordered pass over the periods of this list.
      * 
      * @param subtractions
      *            a list of periods to subtract from this list
@@ -238,7 +251,42 @@ public class PeriodList implements Set<Period>, Serializable {
         if (subtractions == null || subtractions.isEmpty()) {
             return this;
         }
-        
+        // empty periods intersect and divide other periods, so are subtracted individually..
+        if (containsEmptyPeriod() || subtractions.containsEmptyPeriod()) {
+            return subtractEach(subtractions);
+        }
+
+        final IntervalSet intervals = subtractions.getIntervalSet();
+        final PeriodList result = new PeriodList();
+        int index = 0;
+        for (final Period period : this) {
+            final long start = period.getStart().getTime();
+            final long end = period.getEnd().getTime();
+            // periods are ordered by start time, so intervals ending before this period precede all subsequent..
+            while (index < intervals.size() && intervals.getEnd(index) <= start) {
+                index++;
+            }
+            if (index == intervals.size() || intervals.getStart(index) >= end) {
+                result.add(period);
+                continue;
+            }
+            DateTime remainderStart = period.getStart();
+            for (int i = index; i < intervals.size() && intervals.getStart(i) < end; i++) {
+                if (intervals.getStart(i) > remainderStart.getTime()) {
+                    result.add(new Period(remainderStart, new DateTime(intervals.getStart(i))));
+                }
+                if (intervals.getEnd(i) > remainderStart.getTime()) {
+                    remainderStart = new DateTime(intervals.getEnd(i));
+                }
+            }
+            if (remainderStart.getTime() < end) {
+                result.add(new Period(remainderStart, period.getEnd()));
+            }
+        }
+        return result;
+    }
+
+    private PeriodList subtractEach(final PeriodList subtractions) {
         PeriodList result = this;
         PeriodList tmpResult = new PeriodList();
 
@@ -253,6 +301,30 @@ public class PeriodList implements Set<Period>, Serializable {
         return result;
     }
 
+    private boolean containsEmptyPeriod() {
+        for (final Period period : this) {
+            if (period.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the time covered by the periods of this list as an interval set, which supports efficient union,
+     * intersection and subtraction with the time of other lists. The interval set reflects the periods of this list
+     * at the time of invocation.
+     *
+     * @return an interval set containing the time of all periods of this list
+     */
+    public final IntervalSet getIntervalSet() {
+        final IntervalSet.Builder builder = new IntervalSet.Builder();
+        for (final Period period : this) {
+            builder.add(period);
+        }
+        return builder.build();
+    }
+
     /**
      * Indicates whether this list is in local or UTC format.
      * @return Returns true if in UTC format, otherwise false.
@@ -40,18 +40,22 @@ import net.fortuna.ical4j.util.Dates;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.io.Serializable;
 import java.text.ParseException;
 import java.time.chrono.Chronology;
 import java.time.temporal.ChronoField;
 import java.util.Calendar;
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 /**
  * $Id$ [18-Apr-2004]
  * <p/>
  * Defines a recurrence.
+ * <p/>
+ * Recurrences obtained via {@link #parse(String)}, including those of parsed RRULE and EXRULE properties, may be
+ * shared and so cannot be modified, nor can their rule part lists. Use {@link Builder} to create new or modified
+ * recurrences.
  *
  * @author Ben Fortuna
  * @version 2.0
@@ -181,13 +185,36 @@ public class Recur implements Serializable {
      */
     public static final String KEY_MAX_INCREMENT_COUNT = "net.fortuna.ical4j.recur.maxincrementcount";
 
+    /**
+     * The maximum number of distinct recurrence strings for which parsed instances are shared via
+     * {@link #parse(String)}. The least recently used strings are evicted beyond this limit.
+     *
+     * <p>The default value is 1000. A value of 0 disables sharing of parsed instances.</p>
+     */
+    public static final String KEY_PARSE_CACHE_MAX_SIZE = "net.fortuna.ical4j.recur.cache.maxsize";
+
     private static int maxIncrementCount;
 
+    private static final int parseCacheMaxSize;
+
+    private static final Map<String, Recur> PARSE_CACHE;
+
     static {
         maxIncrementCount = Configurator.getIntProperty(KEY_MAX_INCREMENT_COUNT).orElse(1000);
+        parseCacheMaxSize = Configurator.getIntProperty(KEY_PARSE_CACHE_MAX_SIZE).orElse(1000);
+        // least recently used values are evicted..
+        PARSE_CACHE = new LinkedHashMap<String, Recur>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Recur> eldest) {
+                return size() > parseCacheMaxSize;
+            }
+        };
     }
 
-    private transient Logger log = LoggerFactory.getLogger(Recur.class);
+    private static final Logger LOG = LoggerFactory.getLogger(Recur.class);
+
+    // shared instances may not be modified..
+    private transient boolean shared;
 
     private Frequency frequency;
 
@@ -319,6 +346,61 @@ public class Recur implements Serializable {
         initTransformers();
     }
 
+    /**
+     * Returns a recurrence for the specified string value. Parsed recurrences are cached, such that a shared
+     * instance is returned for all values with the same canonical form. Shared instances are immutable, and
+     * modified copies may be created via {@link Builder#Builder(Recur)}.
+     *
+     * @param aValue a string representation of a recurrence.
+     * @return a recurrence, which may be shared
+     * @throws ParseException thrown when the specified string contains an invalid representation of an UNTIL date value
+     * @throws IllegalArgumentException where the recurrence string contains an unrecognised token
+     */
+    public static Recur parse(final String aValue) throws ParseException {
+        if (parseCacheMaxSize <= 0) {
+            return new Recur(aValue);
+        }
+        Recur recur;
+        synchronized (PARSE_CACHE) {
+            recur = PARSE_CACHE.get(aValue);
+        }
+        if (recur == null) {
+            recur = new Recur(aValue);
+            // recurrences with experimental values depend on parsing hints, and so are not shared..
+            if (recur.experimentalValues.isEmpty()) {
+                recur.share();
+                final String canonicalValue = recur.toString();
+                synchronized (PARSE_CACHE) {
+                    final Recur canonical = PARSE_CACHE.get(canonicalValue);
+                    if (canonical != null) {
+                        recur = canonical;
+                    } else {
+                        PARSE_CACHE.put(canonicalValue, recur);
+                    }
+                    PARSE_CACHE.put(aValue, recur);
+                }
+            }
+        }
+        return recur;
+    }
+
+    /**
+     * Marks this recurrence as shared, such that neither it nor its rule part lists may be modified.
+     */
+    private void share() {
+        secondList.setUnmodifiable();
+        minuteList.setUnmodifiable();
+        hourList.setUnmodifiable();
+        dayList.setUnmodifiable();
+        monthDayList.setUnmodifiable();
+        yearDayList.setUnmodifiable();
+        weekNoList.setUnmodifiable();
+        monthList.setUnmodifiable();
+        setPosList.setUnmodifiable();
+        experimentalValues = Collections.unmodifiableMap(experimentalValues);
+        shared = true;
+    }
+
     private String nextToken(Iterator<String> tokens, String lastToken) {
         try {
             return tokens.next();
@@ -562,10 +644,19 @@ public class Recur implements Serializable {
     }
 
     /**
-     * @return Returns the until or null if there is none.
+     * @return Returns the until or null if there is none. Shared recurrences return a copy.
      */
     public final Date getUntil() {
-        return until;
+        return shared ? copyOf(until) : until;
+    }
+
+    private static Date copyOf(final Date date) {
+        if (date instanceof DateTime) {
+            return new DateTime(date);
+        } else if (date != null) {
+            return new Date(date);
+        }
+        return null;
     }
 
     /**
@@ -581,10 +672,7 @@ public class Recur implements Serializable {
      */
     @Deprecated
     public final void setWeekStartDay(final WeekDay.Day weekStartDay) {
-        this.weekStartDay = weekStartDay;
-        if (weekStartDay != null) {
-            calendarWeekStartDay = WeekDay.getCalendarDay(WeekDay.getWeekDay(weekStartDay));
-        }
+        apply(new Builder(this).weekStartDay(weekStartDay));
     }
 
     /**
@@ -928,12 +1016,59 @@ public class Recur implements Serializable {
         return null;
     }
 
+    /**
+     * Returns a cursor over the successive occurrences of this recurrence.
+     *
+     * @param seed the start date of this Recurrence's first instance
+     * @return a cursor positioned at the first occurrence
+     * @see #getNextDate(Date, Date)
+     */
+    public final RecurrenceCursor cursor(final Date seed) {
+        return new RecurrenceCursor(this, seed);
+    }
+
+    /**
+     * Indicates whether the dates of this recurrence on or after a seed date depend only on the time of day of the
+     * seed, such that a single expansion may be shared by seeds with the same time of day. This excludes rules with a
+     * COUNT or INTERVAL, rules that derive implicit rule parts from the seed date, and sub-daily frequencies.
+     *
+     * @return true if the dates of this recurrence are independent of the seed date
+     */
+    boolean isSeedIndependent() {
+        if (count != null || getInterval() > 1 || rscale != null) {
+            return false;
+        }
+        switch (frequency) {
+            case DAILY:
+                return true;
+            case WEEKLY:
+                return !dayList.isEmpty();
+            case MONTHLY:
+                return !dayList.isEmpty() || !monthDayList.isEmpty();
+            case YEARLY:
+                // days of the month are expanded within the month of the seed where no months are specified..
+                if (!monthDayList.isEmpty()) {
+                    return !monthList.isEmpty();
+                }
+                return !dayList.isEmpty() || !yearDayList.isEmpty();
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * @return the maximum number of increments without candidates before expansion is abandoned
+     */
+    static int getMaxIncrementCount() {
+        return maxIncrementCount;
+    }
+
     /**
      * Increments the specified calendar according to the frequency and interval specified in this recurrence rule.
      *
      * @param cal a java.util.Calendar to increment
      */
-    private void increment(final Calendar cal) {
+    void increment(final Calendar cal) {
         // initialise interval..
         final int calInterval = (getInterval() >= 1) ? getInterval() : 1;
         cal.add(calIncField, calInterval);
@@ -946,7 +1081,7 @@ public class Recur implements Serializable {
      * @param value the type of date list to return
      * @return a DateList
      */
-    private DateList getCandidates(final Calendar rootSeed, final Date date, final Value value) {
+    DateList getCandidates(final Calendar rootSeed, final Date date, final Value value) {
         DateList dates = new DateList(value);
         if (date instanceof DateTime) {
             if (((DateTime) date).isUtc()) {
@@ -959,32 +1094,32 @@ public class Recur implements Serializable {
         if (transformers.get(BYMONTH) != null) {
             dates = transformers.get(BYMONTH).transform(dates);
             // debugging..
-            if (log.isDebugEnabled()) {
-                log.debug("Dates after BYMONTH processing: " + dates);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Dates after BYMONTH processing: " + dates);
             }
         }
 
         if (transformers.get(BYWEEKNO) != null) {
             dates = transformers.get(BYWEEKNO).transform(dates);
             // debugging..
-            if (log.isDebugEnabled()) {
-                log.debug("Dates after BYWEEKNO processing: " + dates);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Dates after BYWEEKNO processing: " + dates);
             }
         }
 
         if (transformers.get(BYYEARDAY) != null) {
             dates = transformers.get(BYYEARDAY).transform(dates);
             // debugging..
-            if (log.isDebugEnabled()) {
-                log.debug("Dates after BYYEARDAY processing: " + dates);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Dates after BYYEARDAY processing: " + dates);
             }
         }
 
         if (transformers.get(BYMONTHDAY) != null) {
             dates = transformers.get(BYMONTHDAY).transform(dates);
             // debugging..
-            if (log.isDebugEnabled()) {
-                log.debug("Dates after BYMONTHDAY processing: " + dates);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Dates after BYMONTHDAY processing: " + dates);
             }
         } else if ((frequency == Frequency.MONTHLY && dayList.isEmpty()) ||
                 (frequency == Frequency.YEARLY && yearDayList.isEmpty() && weekNoList.isEmpty() && dayList.isEmpty())) {
@@ -998,8 +1133,8 @@ public class Recur implements Serializable {
         if (transformers.get(BYDAY) != null) {
             dates = transformers.get(BYDAY).transform(dates);
             // debugging..
-            if (log.isDebugEnabled()) {
-                log.debug("Dates after BYDAY processing: " + dates);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Dates after BYDAY processing: " + dates);
             }
         } else if (frequency == Frequency.WEEKLY || (frequency == Frequency.YEARLY && yearDayList.isEmpty()
                 && !weekNoList.isEmpty() && monthDayList.isEmpty())) {
@@ -1012,32 +1147,32 @@ public class Recur implements Serializable {
         if (transformers.get(BYHOUR) != null) {
             dates = transformers.get(BYHOUR).transform(dates);
             // debugging..
-            if (log.isDebugEnabled()) {
-                log.debug("Dates after BYHOUR processing: " + dates);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Dates after BYHOUR processing: " + dates);
             }
         }
 
         if (transformers.get(BYMINUTE) != null) {
             dates = transformers.get(BYMINUTE).transform(dates);
             // debugging..
-            if (log.isDebugEnabled()) {
-                log.debug("Dates after BYMINUTE processing: " + dates);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Dates after BYMINUTE processing: " + dates);
             }
         }
 
         if (transformers.get(BYSECOND) != null) {
             dates = transformers.get(BYSECOND).transform(dates);
             // debugging..
-            if (log.isDebugEnabled()) {
-                log.debug("Dates after BYSECOND processing: " + dates);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Dates after BYSECOND processing: " + dates);
             }
         }
 
         if (transformers.get(BYSETPOS) != null) {
             dates = transformers.get(BYSETPOS).transform(dates);
             // debugging..
-            if (log.isDebugEnabled()) {
-                log.debug("Dates after SETPOS processing: " + dates);
+            if (LOG.isDebugEnabled()) {
+                LOG.debug("Dates after SETPOS processing: " + dates);
             }
         }
         return dates;
@@ -1073,8 +1208,7 @@ public class Recur implements Serializable {
      */
     @Deprecated
     public final void setCount(final int count) {
-        this.count = count;
-        this.until = null;
+        apply(new Builder(this).count(count).until(null));
     }
 
     /**
@@ -1083,8 +1217,7 @@ public class Recur implements Serializable {
      */
     @Deprecated
     public final void setFrequency(final String frequency) {
-        this.frequency = Frequency.valueOf(frequency);
-        validateFrequency();
+        apply(new Builder(this).frequency(Frequency.valueOf(frequency)));
     }
 
     /**
@@ -1093,7 +1226,7 @@ public class Recur implements Serializable {
      */
     @Deprecated
     public final void setInterval(final int interval) {
-        this.interval = interval;
+        apply(new Builder(this).interval(interval));
     }
 
     /**
@@ -1102,8 +1235,77 @@ public class Recur implements Serializable {
      */
     @Deprecated
     public final void setUntil(final Date until) {
-        this.until = until;
-        this.count = -1;
+        apply(new Builder(this).until(until).count(null));
+    }
+
+    /**
+     * @return true if this recurrence is shared, and so cannot be modified
+     */
+    boolean isShared() {
+        return shared;
+    }
+
+    /**
+     * @return an unshared copy of this recurrence
+     */
+    Recur copy() {
+        final Recur copy = new Builder(this).build();
+        copy.experimentalValues.putAll(experimentalValues);
+        return copy;
+    }
+
+    /**
+     * Indicates whether the specified recurrence has the same rule parts as this recurrence. Unlike a comparison of
+     * string values this doesn't require either recurrence to be formatted.
+     *
+     * @param other a recurrence
+     * @return true if both recurrences have the same rule parts
+     */
+    boolean hasSameRuleParts(final Recur other) {
+        if (this == other) {
+            return true;
+        }
+        return frequency == other.frequency && skip == other.skip && rscale == other.rscale
+                && Objects.equals(count, other.count) && Objects.equals(interval, other.interval)
+                && weekStartDay == other.weekStartDay
+                && (until == null ? other.until == null : other.until != null
+                        && until.getClass() == other.until.getClass() && until.getTime() == other.until.getTime())
+                && secondList.equals(other.secondList) && minuteList.equals(other.minuteList)
+                && hourList.equals(other.hourList) && dayList.equals(other.dayList)
+                && monthDayList.equals(other.monthDayList) && yearDayList.equals(other.yearDayList)
+                && weekNoList.equals(other.weekNoList) && monthList.equals(other.monthList)
+                && setPosList.equals(other.setPosList) && experimentalValues.equals(other.experimentalValues);
+    }
+
+    /**
+     * Replaces the state of this recurrence with that of the recurrence built by the specified builder.
+     * @param builder a builder initialised from this recurrence
+     */
+    private void apply(final Builder builder) {
+        if (shared) {
+            throw new UnsupportedOperationException(
+                    "Shared recurrence instances are immutable. Use Recur.Builder to create a modified copy");
+        }
+        final Recur recur = builder.build();
+        frequency = recur.frequency;
+        skip = recur.skip;
+        until = recur.until;
+        rscale = recur.rscale;
+        count = recur.count;
+        interval = recur.interval;
+        secondList = recur.secondList;
+        minuteList = recur.minuteList;
+        hourList = recur.hourList;
+        dayList = recur.dayList;
+        monthDayList = recur.monthDayList;
+        yearDayList = recur.yearDayList;
+        weekNoList = recur.weekNoList;
+        monthList = recur.monthList;
+        setPosList = recur.setPosList;
+        transformers = recur.transformers;
+        weekStartDay = recur.weekStartDay;
+        calendarWeekStartDay = recur.calendarWeekStartDay;
+        calIncField = recur.calIncField;
     }
 
     /**
@@ -1113,7 +1315,7 @@ public class Recur implements Serializable {
      * @param lenient
      * @return
      */
-    private Calendar getCalendarInstance(final Date date, final boolean lenient) {
+    Calendar getCalendarInstance(final Date date, final boolean lenient) {
         Calendar cal = Dates.getCalendarInstance(date);
         // A week should have at least 4 days to be considered as such per RFC5545
         cal.setMinimalDaysInFirstWeek(4);
@@ -1124,16 +1326,6 @@ public class Recur implements Serializable {
         return cal;
     }
 
-    /**
-     * @param stream
-     * @throws IOException
-     * @throws ClassNotFoundException
-     */
-    private void readObject(final java.io.ObjectInputStream stream) throws IOException, ClassNotFoundException {
-        stream.defaultReadObject();
-        log = LoggerFactory.getLogger(Recur.class);
-    }
-
     /**
      * Support for building Recur instances.
      */
@@ -1171,6 +1363,37 @@ public class Recur implements Serializable {
 
         private WeekDay.Day weekStartDay;
 
+        public Builder() {
+        }
+
+        /**
+         * Creates a builder initialised with the rule parts of an existing recurrence.
+         * @param recur a recurrence to copy
+         */
+        public Builder(Recur recur) {
+            this.frequency = recur.frequency;
+            this.skip = recur.skip;
+            this.until = copyOf(recur.until);
+            this.rscale = recur.rscale;
+            this.count = recur.count;
+            this.interval = recur.interval;
+            // rule parts are copied, and unspecified rule parts are initialised as empty lists..
+            this.secondList = nonEmpty(recur.secondList, NumberList::new);
+            this.minuteList = nonEmpty(recur.minuteList, NumberList::new);
+            this.hourList = nonEmpty(recur.hourList, NumberList::new);
+            this.dayList = nonEmpty(recur.dayList, WeekDayList::new);
+            this.monthDayList = nonEmpty(recur.monthDayList, NumberList::new);
+            this.yearDayList = nonEmpty(recur.yearDayList, NumberList::new);
+            this.weekNoList = nonEmpty(recur.weekNoList, NumberList::new);
+            this.monthList = nonEmpty(recur.monthList, MonthList::new);
+            this.setPosList = nonEmpty(recur.setPosList, NumberList::new);
+            this.weekStartDay = recur.weekStartDay;
+        }
+
+        private static <L extends List<?>> L nonEmpty(L list, UnaryOperator<L> copy) {
+            return list != null && !list.isEmpty() ? copy.apply(list) : null;
+        }
+
         public Builder frequency(Frequency frequency) {
             this.frequency = frequency;
             return this;
@@ -1269,6 +1492,9 @@ public class Recur implements Serializable {
             recur.monthList = monthList;
             recur.setPosList = setPosList;
             recur.weekStartDay = weekStartDay;
+            if (weekStartDay != null) {
+                recur.calendarWeekStartDay = WeekDay.getCalendarDay(WeekDay.getWeekDay(weekStartDay));
+            }
             recur.validateFrequency();
             recur.initTransformers();
             return recur;
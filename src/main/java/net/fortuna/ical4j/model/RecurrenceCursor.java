@@ -0,0 +1,321 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.model.parameter.Value;
+import net.fortuna.ical4j.util.Dates;
+
+import java.io.ObjectStreamException;
+import java.io.Serializable;
+import java.text.ParseException;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A cursor over the successive occurrences of a recurrence rule from a seed date. Unlike
+ * {@link Recur#getNextDate(Date, Date)}, a cursor retains its expansion state between calls, such that successive
+ * occurrences are returned in amortised constant time.
+ *
+ * Cursors may be serialized in a compact form comprising the recurrence rule, the seed date and the position of the
+ * cursor, such that a cursor may be persisted and later resumed without expanding prior occurrences again. Note that
+ * a seed date in a non-UTC timezone is restored via the default timezone registry.
+ *
+ * Example - Schedule the next reminder:
+ *
+ * <pre>
+ *     RecurrenceCursor cursor = rrule.getRecur().cursor(dtStart.getDate());
+ *     Date next = cursor.nextAfter(now);
+ * </pre>
+ */
+public final class RecurrenceCursor implements Iterator<Date>, Serializable {
+
+    private static final long serialVersionUID = 6314982391523052735L;
+
+    private final Recur recur;
+
+    private final Date seed;
+
+    private final Value value;
+
+    private transient Calendar rootSeed;
+
+    /**
+     * The start of the next period from which candidates are generated.
+     */
+    private transient Calendar cal;
+
+    /**
+     * The start of the period from which the current candidates were generated.
+     */
+    private transient long candidatesPeriod;
+
+    private transient DateList candidates;
+
+    private transient int index;
+
+    /**
+     * The number of occurrences consumed, including those skipped.
+     */
+    private transient int occurrences;
+
+    private transient Date pending;
+
+    /**
+     * The time up to which occurrences have been returned or skipped.
+     */
+    private transient long position;
+
+    private transient boolean exhausted;
+
+    /**
+     * @param recur a recurrence rule
+     * @param seed the start date of the first instance of the recurrence
+     */
+    public RecurrenceCursor(final Recur recur, final Date seed) {
+        this.recur = recur;
+        this.seed = seed;
+        this.value = seed instanceof DateTime ? Value.DATE_TIME : Value.DATE;
+        reset();
+    }
+
+    /**
+     * Repositions the cursor at the first occurrence.
+     */
+    public void reset() {
+        cal = recur.getCalendarInstance(seed, true);
+        rootSeed = (Calendar) cal.clone();
+        candidates = null;
+        index = 0;
+        occurrences = 0;
+        pending = null;
+        position = Long.MIN_VALUE;
+        exhausted = false;
+    }
+
+    /**
+     * @return true if the recurrence has further occurrences
+     */
+    @Override
+    public boolean hasNext() {
+        if (pending == null && !exhausted) {
+            pending = advance();
+        }
+        return pending != null;
+    }
+
+    /**
+     * @return the next occurrence of the recurrence
+     * @throws NoSuchElementException where the recurrence has no further occurrences
+     */
+    @Override
+    public Date next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        final Date next = pending;
+        pending = null;
+        position = Math.max(position, next.getTime());
+        return next;
+    }
+
+    /**
+     * Positions the cursor such that the next occurrence returned is the first occurrence after the specified date.
+     * Where the date precedes the current position of the cursor, the cursor is first reset.
+     *
+     * @param date the date to seek
+     */
+    public void seek(final Date date) {
+        if (position > date.getTime()) {
+            reset();
+        }
+        if (recur.getCount() < 1) {
+            // where no occurrences need to be counted, skip candidates and periods preceding the date..
+            if (pending != null && !pending.after(date)) {
+                pending = null;
+            }
+            if (pending == null && candidates != null && index < candidates.size()
+                    && !candidates.get(candidates.size() - 1).after(date)) {
+                index = candidates.size();
+            }
+            if (pending == null && (candidates == null || index >= candidates.size())) {
+                final Calendar seededCal = (Calendar) cal.clone();
+                while (seededCal.getTime().before(date)) {
+                    cal.setTime(seededCal.getTime());
+                    recur.increment(seededCal);
+                }
+            }
+        }
+        while (hasNext() && !pending.after(date)) {
+            pending = null;
+        }
+        position = Math.max(position, date.getTime());
+    }
+
+    /**
+     * Returns the first occurrence after the specified date, and positions the cursor at the subsequent occurrence.
+     *
+     * @param date the date to start the search
+     * @return the next occurrence after the specified date, or null if there is no such occurrence
+     * @see Recur#getNextDate(Date, Date)
+     */
+    public Date nextAfter(final Date date) {
+        seek(date);
+        return hasNext() ? next() : null;
+    }
+
+    private Date advance() {
+        int noCandidateIncrementCount = 0;
+        while (true) {
+            while (candidates != null && index < candidates.size()) {
+                final Date candidate = candidates.get(index++);
+                // don't count candidates that occur before the seed date..
+                if (candidate.before(seed)) {
+                    continue;
+                }
+                if ((recur.getCount() > 0 && occurrences >= recur.getCount())
+                        || (recur.getUntil() != null && candidate.after(recur.getUntil()))) {
+                    exhausted = true;
+                    return null;
+                }
+                occurrences++;
+                return candidate;
+            }
+            if (candidates != null && candidates.isEmpty()) {
+                noCandidateIncrementCount++;
+                if ((Recur.getMaxIncrementCount() > 0) && (noCandidateIncrementCount > Recur.getMaxIncrementCount())) {
+                    exhausted = true;
+                    return null;
+                }
+            }
+            generateCandidates();
+        }
+    }
+
+    private void generateCandidates() {
+        final Date candidateSeed = Dates.getInstance(cal.getTime(), value);
+        if (Value.DATE_TIME.equals(value)) {
+            if (((DateTime) seed).isUtc()) {
+                ((DateTime) candidateSeed).setUtc(true);
+            } else {
+                ((DateTime) candidateSeed).setTimeZone(((DateTime) seed).getTimeZone());
+            }
+        }
+        candidatesPeriod = cal.getTimeInMillis();
+        candidates = recur.getCandidates(rootSeed, candidateSeed, value);
+        // sort candidates for identifying when UNTIL date is exceeded..
+        Collections.sort(candidates);
+        index = 0;
+        recur.increment(cal);
+    }
+
+    private Object writeReplace() throws ObjectStreamException {
+        return new SerializedForm(this);
+    }
+
+    /**
+     * A compact representation of a cursor position.
+     */
+    private static final class SerializedForm implements Serializable {
+
+        private static final long serialVersionUID = -2470538106207434652L;
+
+        private final String recur;
+
+        private final String seed;
+
+        private final boolean utc;
+
+        private final String tzId;
+
+        private final boolean started;
+
+        private final long candidatesPeriod;
+
+        private final int index;
+
+        private final int occurrences;
+
+        private final long position;
+
+        private final boolean exhausted;
+
+        SerializedForm(final RecurrenceCursor cursor) {
+            this.recur = cursor.recur.toString();
+            this.seed = cursor.seed.toString();
+            if (cursor.seed instanceof DateTime) {
+                final DateTime dateTime = (DateTime) cursor.seed;
+                this.utc = dateTime.isUtc();
+                this.tzId = dateTime.getTimeZone() != null ? dateTime.getTimeZone().getID() : null;
+            } else {
+                this.utc = false;
+                this.tzId = null;
+            }
+            this.started = cursor.candidates != null;
+            this.candidatesPeriod = cursor.candidatesPeriod;
+            // a pending occurrence has not yet been returned..
+            this.index = cursor.pending != null ? cursor.index - 1 : cursor.index;
+            this.occurrences = cursor.pending != null ? cursor.occurrences - 1 : cursor.occurrences;
+            this.position = cursor.position;
+            this.exhausted = cursor.exhausted;
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+            final RecurrenceCursor cursor;
+            try {
+                final Date seedDate;
+                if (tzId != null) {
+                    seedDate = new DateTime(seed, TimeZoneRegistryFactory.getInstance().createRegistry()
+                            .getTimeZone(tzId));
+                } else if (seed.contains("T")) {
+                    seedDate = new DateTime(seed);
+                    ((DateTime) seedDate).setUtc(utc);
+                } else {
+                    seedDate = new Date(seed);
+                }
+                cursor = new RecurrenceCursor(Recur.parse(recur), seedDate);
+            } catch (ParseException e) {
+                throw new IllegalStateException("Invalid cursor state", e);
+            }
+            if (started) {
+                cursor.cal.setTimeInMillis(candidatesPeriod);
+                cursor.generateCandidates();
+                cursor.index = index;
+            }
+            cursor.occurrences = occurrences;
+            cursor.position = position;
+            cursor.exhausted = exhausted;
+            return cursor;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.model.parameter.Value;
+import net.fortuna.ical4j.model.property.DtStart;
+import net.fortuna.ical4j.model.property.RRule;
+
+import java.util.*;
+
+/**
+ * Support for expanding the recurrence sets of many components at once. Components whose recurrence rule yields
+ * the same dates for any seed date with the same time of day are grouped by rule, timezone and seed time of day,
+ * such that the rule is expanded, and timezone offsets resolved, once per group rather than once per component.
+ * Other components are expanded individually.
+ *
+ * Example - Expand all events for a week:
+ *
+ * <pre>
+ *     List&lt;Period&gt; instances = RecurrenceExpander.expandAll(calendar.getComponents(Component.VEVENT), week);
+ * </pre>
+ *
+ * @see Component#calculateRecurrenceSet(Period)
+ */
+public final class RecurrenceExpander {
+
+    /**
+     * Constructor made private to enforce static nature.
+     */
+    private RecurrenceExpander() {
+    }
+
+    /**
+     * Calculates the recurrence sets of the specified components for the specified period. The result is equivalent
+     * to the combined recurrence sets of each component.
+     *
+     * @param components a collection of components
+     * @param period a range to calculate recurrences for
+     * @return a list of instances ordered by start time, for which {@link Period#getComponent()} identifies the
+     * component of each instance
+     */
+    public static List<Period> expandAll(final Collection<? extends Component> components, final Period period) {
+        final List<Period> instances = new ArrayList<>();
+        final Map<String, List<Component>> groups = new HashMap<>();
+        for (final Component component : components) {
+            final String key = getGroupKey(component);
+            if (key != null) {
+                groups.computeIfAbsent(key, k -> new ArrayList<>()).add(component);
+            } else {
+                instances.addAll(component.calculateRecurrenceSet(period));
+            }
+        }
+        for (final List<Component> group : groups.values()) {
+            if (group.size() > 1) {
+                expandGroup(group, period, instances);
+            } else {
+                instances.addAll(group.get(0).calculateRecurrenceSet(period));
+            }
+        }
+        instances.sort(Comparator.comparingLong((Period p) -> p.getStart().getTime())
+                .thenComparingLong(p -> p.getEnd().getTime()));
+        return instances;
+    }
+
+    /**
+     * Expands the recurrence rule shared by the specified components once, from the earliest seed date over a range
+     * that includes the earliest possibly intersecting instance of every component.
+     */
+    private static void expandGroup(final List<Component> group, final Period period, final List<Period> instances) {
+        Date seed = null;
+        long rangeStart = period.getStart().getTime();
+        for (final Component component : group) {
+            final Date start = component.<DtStart>getProperty(Property.DTSTART).getDate();
+            if (seed == null || start.before(seed)) {
+                seed = start;
+            }
+            rangeStart = Math.min(rangeStart,
+                    Component.getRecurrenceStart(period, component.getRecurrenceDuration()).getTime());
+        }
+        final Component first = group.get(0);
+        final Recur recur = first.<RRule>getProperty(Property.RRULE).getRecur();
+        final Value value = first.<DtStart>getProperty(Property.DTSTART).getParameter(Parameter.VALUE);
+        final DateTime templateStart = new DateTime(period.getStart());
+        templateStart.setTime(rangeStart);
+
+        final long[] template = recur.getDates(seed, new Period(templateStart, period.getEnd()), value).stream()
+                .mapToLong(java.util.Date::getTime).sorted().toArray();
+
+        final long periodEnd = period.getEnd().getTime();
+        for (final Component component : group) {
+            final long start = component.<DtStart>getProperty(Property.DTSTART).getDate().getTime();
+            final long from = Math.max(start,
+                    Component.getRecurrenceStart(period, component.getRecurrenceDuration()).getTime());
+            instances.addAll(component.calculateRecurrenceSet(period,
+                    Arrays.copyOfRange(template, indexOf(template, from), indexOf(template, periodEnd + 1))));
+        }
+    }
+
+    /**
+     * Returns a key identifying components that may share an expansion of their recurrence rule, or null if the
+     * component must be expanded individually.
+     */
+    private static String getGroupKey(final Component component) {
+        final DtStart start = component.getProperty(Property.DTSTART);
+        final List<RRule> rRules = component.getProperties(Property.RRULE);
+        if (start == null || rRules.size() != 1 || !rRules.get(0).getRecur().isSeedIndependent()) {
+            return null;
+        }
+        final StringBuilder key = new StringBuilder(rRules.get(0).getValue());
+        key.append('|').append((Object) start.getParameter(Parameter.VALUE));
+        if (start.getDate() instanceof DateTime) {
+            final DateTime seed = (DateTime) start.getDate();
+            key.append('|');
+            if (seed.isUtc()) {
+                key.append('Z');
+            } else if (seed.getTimeZone() != null) {
+                key.append(seed.getTimeZone().getID());
+            }
+            // local time of day..
+            key.append('|').append(seed.toString(), 9, 15);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns the index of the first instant not before the specified time.
+     */
+    private static int indexOf(final long[] instants, final long time) {
+        final int index = Arrays.binarySearch(instants, time);
+        return index >= 0 ? index : -(index + 1);
+    }
+}
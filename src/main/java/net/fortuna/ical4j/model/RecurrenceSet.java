@@ -0,0 +1,267 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.util.Dates;
+import net.fortuna.ical4j.util.TimeZones;
+
+import java.util.*;
+
+/**
+ * The expanded recurrence instants of a component over a range of time. Instants derived from RDATE and RRULE
+ * properties are held in a sorted primitive array, together with the sources that contributed each instant, such
+ * that the instants applicable to any period within the expanded range may be derived without expanding the
+ * component again. Exception dates are held in the same form.
+ *
+ * Instances are immutable, and are identified by a version that reflects the content of the component properties
+ * from which they were expanded.
+ *
+ * @see Component#calculateRecurrenceSet(Period)
+ */
+public final class RecurrenceSet {
+
+    /**
+     * Identifies instants specified by an RDATE property.
+     */
+    static final byte SOURCE_RDATE = 1;
+
+    /**
+     * Identifies instants generated by an RRULE property.
+     */
+    static final byte SOURCE_RRULE = 2;
+
+    private static final long[] EMPTY = new long[0];
+
+    private final RecurrenceVersion version;
+
+    private final long rangeStart;
+
+    private final long rangeEnd;
+
+    private final long[] instants;
+
+    private final byte[] sources;
+
+    private final long[] exDates;
+
+    private final long[] exRuleDates;
+
+    /**
+     * @param version the version of the component content, or null if not versioned
+     * @param rangeStart the start of the expanded range
+     * @param rangeEnd the end of the expanded range
+     * @param instants sorted, distinct recurrence instants
+     * @param sources the sources of each recurrence instant
+     * @param exDates sorted instants excluded by EXDATE properties
+     * @param exRuleDates sorted instants excluded by EXRULE properties
+     */
+    RecurrenceSet(RecurrenceVersion version, long rangeStart, long rangeEnd, long[] instants, byte[] sources,
+                  long[] exDates, long[] exRuleDates) {
+        this.version = version;
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.instants = instants;
+        this.sources = sources;
+        this.exDates = exDates;
+        this.exRuleDates = exRuleDates;
+    }
+
+    /**
+     * @param component a component
+     * @return true if this set was expanded from the current content of the specified component
+     */
+    public boolean isCurrent(final Component component) {
+        return version != null && version.matches(component);
+    }
+
+    /**
+     * @return the number of recurrence instants in this set
+     */
+    public int size() {
+        return instants.length;
+    }
+
+    /**
+     * @param period a period of time
+     * @return true if this set was expanded over a range that includes the specified period
+     */
+    public boolean covers(final Period period) {
+        return rangeStart <= period.getStart().getTime() && period.getEnd().getTime() <= rangeEnd;
+    }
+
+    /**
+     * Indicates whether this set may be merged with the specified set. Sets may be merged where they share the
+     * same version, and their expanded ranges overlap or are adjacent.
+     *
+     * @param other another recurrence set
+     * @return true if the sets may be merged
+     */
+    public boolean isMergeable(final RecurrenceSet other) {
+        return version != null && version.equals(other.version)
+                && other.rangeStart <= rangeEnd && rangeStart <= other.rangeEnd;
+    }
+
+    /**
+     * Merges this set with another set of the same version.
+     *
+     * @param other a set of the same version with an overlapping or adjacent range
+     * @return a new set expanded over the combined range of both sets
+     * @throws IllegalArgumentException where the specified set is not mergeable
+     * @see #isMergeable(RecurrenceSet)
+     */
+    public RecurrenceSet merge(final RecurrenceSet other) {
+        if (!isMergeable(other)) {
+            throw new IllegalArgumentException("Recurrence sets are not contiguous");
+        }
+        final Builder builder = new Builder();
+        builder.add(instants, sources);
+        builder.add(other.instants, other.sources);
+        return new RecurrenceSet(version, Math.min(rangeStart, other.rangeStart),
+                Math.max(rangeEnd, other.rangeEnd), builder.instants(), builder.sources(),
+                exDates, merge(exRuleDates, other.exRuleDates));
+    }
+
+    /**
+     * Returns the index of the first instant not before the specified time.
+     */
+    int indexOf(final long time) {
+        final int index = Arrays.binarySearch(instants, time);
+        return index >= 0 ? index : -(index + 1);
+    }
+
+    long getInstant(final int index) {
+        return instants[index];
+    }
+
+    byte getSources(final int index) {
+        return sources[index];
+    }
+
+    /**
+     * Indicates whether an instance starting at the specified time is excluded from a recurrence set calculated
+     * for the specified range. For DATE-TIME instances DATE-based exclusions are also checked. Exception rules
+     * only apply within the range.
+     */
+    boolean isExcluded(final long instant, final long start, final long end) {
+        if (exDates.length == 0 && exRuleDates.length == 0) {
+            return false;
+        }
+        final long date = Dates.round(instant, Dates.PRECISION_DAY, TimeZones.getDateTimeZone());
+        return Arrays.binarySearch(exDates, instant) >= 0 || Arrays.binarySearch(exDates, date) >= 0
+                || isRuleExcluded(instant, start, end) || isRuleExcluded(date, start, end);
+    }
+
+    private boolean isRuleExcluded(final long instant, final long start, final long end) {
+        return instant >= start && instant <= end && Arrays.binarySearch(exRuleDates, instant) >= 0;
+    }
+
+    private static long[] merge(final long[] a, final long[] b) {
+        final Builder builder = new Builder();
+        builder.add(a, new byte[a.length]);
+        builder.add(b, new byte[b.length]);
+        return builder.instants();
+    }
+
+    /**
+     * Combines sorted sources of instants via a k-way merge, omitting duplicates.
+     */
+    static final class Builder {
+
+        private final List<long[]> instantSources = new ArrayList<>();
+
+        private final List<byte[]> sourceFlags = new ArrayList<>();
+
+        private long[] mergedInstants;
+
+        private byte[] mergedSources;
+
+        /**
+         * @param sortedInstants a sorted array of instants
+         * @param source the source of all instants in the array
+         */
+        void add(final long[] sortedInstants, final byte source) {
+            final byte[] flags = new byte[sortedInstants.length];
+            Arrays.fill(flags, source);
+            add(sortedInstants, flags);
+        }
+
+        void add(final long[] sortedInstants, final byte[] flags) {
+            if (sortedInstants.length > 0) {
+                instantSources.add(sortedInstants);
+                sourceFlags.add(flags);
+                mergedInstants = null;
+            }
+        }
+
+        long[] instants() {
+            merge();
+            return mergedInstants;
+        }
+
+        byte[] sources() {
+            merge();
+            return mergedSources;
+        }
+
+        private void merge() {
+            if (mergedInstants != null) {
+                return;
+            }
+            final PriorityQueue<int[]> heads = new PriorityQueue<>(
+                    Comparator.comparingLong(head -> instantSources.get(head[0])[head[1]]));
+            int total = 0;
+            for (int i = 0; i < instantSources.size(); i++) {
+                heads.add(new int[] {i, 0});
+                total += instantSources.get(i).length;
+            }
+            long[] merged = total > 0 ? new long[total] : EMPTY;
+            byte[] mergedFlags = new byte[total];
+            int size = 0;
+            while (!heads.isEmpty()) {
+                final int[] head = heads.poll();
+                final long[] source = instantSources.get(head[0]);
+                final long instant = source[head[1]];
+                if (size > 0 && merged[size - 1] == instant) {
+                    mergedFlags[size - 1] |= sourceFlags.get(head[0])[head[1]];
+                } else {
+                    merged[size] = instant;
+                    mergedFlags[size++] = sourceFlags.get(head[0])[head[1]];
+                }
+                if (++head[1] < source.length) {
+                    heads.add(head);
+                }
+            }
+            mergedInstants = size < total ? Arrays.copyOf(merged, size) : merged;
+            mergedSources = size < total ? Arrays.copyOf(mergedFlags, size) : mergedFlags;
+        }
+    }
+}
@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.model.property.DateListProperty;
+import net.fortuna.ical4j.model.property.DateProperty;
+import net.fortuna.ical4j.model.property.Duration;
+import net.fortuna.ical4j.model.property.ExRule;
+import net.fortuna.ical4j.model.property.RRule;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A snapshot of the properties that determine the recurrence set of a component. The snapshot is compared with the
+ * current properties of a component directly, such that a cached recurrence set may be validated without
+ * formatting any property values.
+ *
+ * @see RecurrenceSet#isCurrent(Component)
+ */
+final class RecurrenceVersion {
+
+    /**
+     * The properties that determine the recurrence set of a component.
+     */
+    private static final String[] RECURRENCE_PROPERTIES = {Property.DTSTART, Property.DTEND, Property.DUE,
+            Property.DURATION, Property.RDATE, Property.RRULE, Property.EXDATE, Property.EXRULE};
+
+    private final String[] names;
+
+    private final Parameter[] values;
+
+    private final Object[] states;
+
+    /**
+     * @param component the component to take a snapshot of
+     */
+    RecurrenceVersion(final Component component) {
+        final List<Property> properties = new ArrayList<>();
+        for (final Property property : component.getProperties()) {
+            if (isRecurrenceProperty(property)) {
+                properties.add(property);
+            }
+        }
+        names = new String[properties.size()];
+        values = new Parameter[names.length];
+        states = new Object[names.length];
+        for (int i = 0; i < names.length; i++) {
+            final Property property = properties.get(i);
+            names[i] = property.getName();
+            values[i] = property.getParameter(Parameter.VALUE);
+            states[i] = snapshot(getState(property));
+        }
+    }
+
+    /**
+     * @param component a component
+     * @return true if the recurrence properties of the specified component are unchanged since this snapshot
+     */
+    boolean matches(final Component component) {
+        int i = 0;
+        for (final Property property : component.getProperties()) {
+            if (isRecurrenceProperty(property)) {
+                if (i >= names.length || !names[i].equalsIgnoreCase(property.getName())
+                        || !Objects.equals(values[i], property.getParameter(Parameter.VALUE))
+                        || !isSameState(states[i], getState(property))) {
+                    return false;
+                }
+                i++;
+            }
+        }
+        return i == names.length;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RecurrenceVersion)) {
+            return false;
+        }
+        final RecurrenceVersion other = (RecurrenceVersion) o;
+        if (names.length != other.names.length) {
+            return false;
+        }
+        for (int i = 0; i < names.length; i++) {
+            if (!names[i].equalsIgnoreCase(other.names[i]) || !Objects.equals(values[i], other.values[i])
+                    || !isSameState(states[i], other.states[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        return names.length;
+    }
+
+    private static boolean isRecurrenceProperty(final Property property) {
+        for (final String name : RECURRENCE_PROPERTIES) {
+            if (name.equalsIgnoreCase(property.getName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the value of the specified property that is relevant to a recurrence set, without copying it.
+     */
+    private static Object getState(final Property property) {
+        if (property instanceof DateProperty) {
+            return ((DateProperty) property).getDate();
+        } else if (property instanceof DateListProperty) {
+            return ((DateListProperty) property).getDates();
+        } else if (property instanceof Duration) {
+            return ((Duration) property).getDuration();
+        } else if (property instanceof RRule) {
+            return ((RRule) property).getRecur();
+        } else if (property instanceof ExRule) {
+            return ((ExRule) property).getRecur();
+        }
+        return property.getValue();
+    }
+
+    /**
+     * Copies mutable property values such that subsequent changes are not reflected in the snapshot.
+     */
+    private static Object snapshot(final Object state) {
+        if (state instanceof DateTime) {
+            return new DateTime((DateTime) state);
+        } else if (state instanceof Date) {
+            return new Date((Date) state);
+        } else if (state instanceof DateList) {
+            return ((DateList) state).stream().mapToLong(java.util.Date::getTime).toArray();
+        } else if (state instanceof Recur && !((Recur) state).isShared()) {
+            // shared recurrences cannot be modified..
+            return ((Recur) state).copy();
+        }
+        return state;
+    }
+
+    /**
+     * Compares a snapshot of a property value with the current value, or with another snapshot.
+     */
+    private static boolean isSameState(final Object snapshot, final Object state) {
+        if (snapshot == state) {
+            return true;
+        } else if (snapshot == null || state == null) {
+            return false;
+        } else if (snapshot instanceof Date && state instanceof Date) {
+            return isSameDate((Date) snapshot, (Date) state);
+        } else if (snapshot instanceof long[]) {
+            return state instanceof long[] ? Arrays.equals((long[]) snapshot, (long[]) state)
+                    : state instanceof DateList && isSameInstants((long[]) snapshot, (DateList) state);
+        } else if (snapshot instanceof Recur && state instanceof Recur) {
+            return ((Recur) snapshot).hasSameRuleParts((Recur) state);
+        }
+        return snapshot.equals(state);
+    }
+
+    private static boolean isSameDate(final Date snapshot, final Date date) {
+        if (snapshot.getClass() != date.getClass() || snapshot.getTime() != date.getTime()) {
+            return false;
+        } else if (snapshot instanceof DateTime) {
+            // local-time recurrence depends on the timezone of the start date..
+            final DateTime dateTime = (DateTime) date;
+            return ((DateTime) snapshot).isUtc() == dateTime.isUtc()
+                    && ((DateTime) snapshot).getTimeZone() == dateTime.getTimeZone();
+        }
+        return true;
+    }
+
+    private static boolean isSameInstants(final long[] snapshot, final DateList dates) {
+        if (snapshot.length != dates.size()) {
+            return false;
+        }
+        for (int i = 0; i < snapshot.length; i++) {
+            if (snapshot[i] != dates.get(i).getTime()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,212 @@
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.model.parameter.Range;
+import net.fortuna.ical4j.model.property.DateProperty;
+import net.fortuna.ical4j.model.property.Duration;
+import net.fortuna.ical4j.model.property.RecurrenceId;
+import net.fortuna.ical4j.model.property.Uid;
+
+import java.time.temporal.TemporalAmount;
+import java.util.*;
+
+/**
+ * A recurring series of components sharing the same UID, comprising a master component and any number of
+ * components overriding individual instances of the master via a RECURRENCE-ID. Where multiple revisions of the
+ * master or an override exist, only the latest revision is applicable.
+ *
+ * Overrides are indexed by the epoch of their RECURRENCE-ID, such that the effective instances of the series may be
+ * calculated with constant-time substitution of each overridden instance. Overrides with a RANGE=THISANDFUTURE
+ * parameter also apply to all subsequent instances, which are offset and resized accordingly.
+ *
+ * Example - Calculate the effective instances of all series in a calendar:
+ *
+ * <pre>
+ *     for (RecurringSeries&lt;CalendarComponent&gt; series : RecurringSeries.of(calendar.getComponents())) {
+ *         List&lt;Period&gt; instances = series.calculateRecurrenceSet(period);
+ *         ...
+ *     }
+ * </pre>
+ */
+public class RecurringSeries<T extends Component> {
+
+    private static final Comparator<Component> REVISION_ORDER = new ComponentSequenceComparator();
+
+    private static final Comparator<Period> START_ORDER = Comparator.comparingLong((Period p) -> p.getStart().getTime())
+            .thenComparingLong(p -> p.getEnd().getTime());
+
+    private final T master;
+
+    private final Map<Long, T> overrides;
+
+    private final NavigableMap<Long, T> futureOverrides;
+
+    /**
+     * @param components the revisions and overrides of a single series
+     */
+    public RecurringSeries(final Collection<T> components) {
+        T latestMaster = null;
+        final Map<Long, T> latestOverrides = new HashMap<>();
+        final NavigableMap<Long, T> latestFutureOverrides = new TreeMap<>();
+        for (final T component : components) {
+            final RecurrenceId recurrenceId = component.getProperty(Property.RECURRENCE_ID);
+            if (recurrenceId == null) {
+                latestMaster = latest(latestMaster, component);
+            } else {
+                final long instance = recurrenceId.getDate().getTime();
+                latestOverrides.merge(instance, component, RecurringSeries::latest);
+                if (Range.THISANDFUTURE.equals(recurrenceId.getParameter(Parameter.RANGE))) {
+                    latestFutureOverrides.merge(instance, component, RecurringSeries::latest);
+                }
+            }
+        }
+        // a later revision of a single instance supersedes an earlier range override..
+        latestFutureOverrides.entrySet().removeIf(e -> latestOverrides.get(e.getKey()) != e.getValue());
+
+        this.master = latestMaster;
+        this.overrides = Collections.unmodifiableMap(latestOverrides);
+        this.futureOverrides = Collections.unmodifiableNavigableMap(latestFutureOverrides);
+    }
+
+    /**
+     * Groups the specified components into series by UID. Components without a UID are each considered a separate
+     * series.
+     *
+     * @param components a list of components
+     * @param <T> the component type
+     * @return a list of series, in order of first appearance
+     */
+    public static <T extends Component> List<RecurringSeries<T>> of(final Collection<T> components) {
+        final Map<Object, List<T>> grouped = new LinkedHashMap<>();
+        for (final T component : components) {
+            final Uid uid = component.getProperty(Property.UID);
+            grouped.computeIfAbsent(uid != null ? uid.getValue() : new Object(), k -> new ArrayList<>())
+                    .add(component);
+        }
+        final List<RecurringSeries<T>> series = new ArrayList<>(grouped.size());
+        grouped.values().forEach(c -> series.add(new RecurringSeries<>(c)));
+        return series;
+    }
+
+    /**
+     * @return the latest revision of the master component, or null if the series consists only of overrides
+     */
+    public final T getMaster() {
+        return master;
+    }
+
+    /**
+     * @return the latest revision of each override, indexed by the epoch of its RECURRENCE-ID
+     */
+    public final Map<Long, T> getOverrides() {
+        return overrides;
+    }
+
+    /**
+     * Returns the component applicable to the instance of the master component with the specified start date.
+     *
+     * @param instance the start date of an instance of the master component
+     * @return an override of the specified instance or of a prior range of instances, or the master component
+     */
+    public final T getComponent(final java.util.Date instance) {
+        final T override = overrides.get(instance.getTime());
+        if (override != null) {
+            return override;
+        }
+        final Map.Entry<Long, T> futureOverride = futureOverrides.floorEntry(instance.getTime());
+        return futureOverride != null ? futureOverride.getValue() : master;
+    }
+
+    /**
+     * Calculates the effective instances of the series for the specified period. Instances of the master component
+     * are substituted by the instances of any overrides, and instances subsequent to a RANGE=THISANDFUTURE override
+     * are offset by the difference between the override start date and RECURRENCE-ID, and take the duration of the
+     * override.
+     *
+     * @param period a range to calculate instances for
+     * @return a list of instances ordered by start time, for which {@link Period#getComponent()} identifies the
+     * component of each instance
+     * @see Component#calculateRecurrenceSet(Period)
+     */
+    public final List<Period> calculateRecurrenceSet(final Period period) {
+        final List<Period> instances = new ArrayList<>();
+        if (master != null) {
+            for (final Period instance : master.calculateRecurrenceSet(period)) {
+                final long start = instance.getStart().getTime();
+                if (!overrides.containsKey(start) && futureOverrides.floorKey(start) == null) {
+                    instances.add(instance);
+                }
+            }
+            if (!futureOverrides.isEmpty()) {
+                addFutureInstances(period, instances);
+            }
+        }
+        for (final T override : overrides.values()) {
+            instances.addAll(override.calculateRecurrenceSet(period));
+        }
+        instances.sort(START_ORDER);
+        return instances;
+    }
+
+    /**
+     * Adds the instances governed by range overrides. As these are offset from the instances of the master
+     * component, the master is expanded over a range widened by the largest offset in either direction.
+     */
+    private void addFutureInstances(final Period period, final List<Period> instances) {
+        final long periodStart = period.getStart().getTime();
+        final long periodEnd = period.getEnd().getTime();
+
+        final Map<T, Long> offsets = new IdentityHashMap<>();
+        long maxOffset = 0;
+        long minOffset = 0;
+        for (final Map.Entry<Long, T> futureOverride : futureOverrides.entrySet()) {
+            final DateProperty start = futureOverride.getValue().getProperty(Property.DTSTART);
+            final long offset = start != null ? start.getDate().getTime() - futureOverride.getKey() : 0;
+            offsets.put(futureOverride.getValue(), offset);
+            maxOffset = Math.max(maxOffset, offset);
+            minOffset = Math.min(minOffset, offset);
+        }
+
+        final Period range = new Period(new DateTime(periodStart - maxOffset), new DateTime(periodEnd - minOffset));
+        for (final Period instance : master.calculateRecurrenceSet(range)) {
+            final long start = instance.getStart().getTime();
+            final Map.Entry<Long, T> futureOverride = futureOverrides.floorEntry(start);
+            if (futureOverride == null || overrides.containsKey(start)) {
+                continue;
+            }
+            final T override = futureOverride.getValue();
+            // offset instances are represented in the timezone of the master instance..
+            final DateTime offsetStart = new DateTime(start + offsets.get(override));
+            if (instance.getStart().isUtc()) {
+                offsetStart.setUtc(true);
+            } else {
+                offsetStart.setTimeZone(instance.getStart().getTimeZone());
+            }
+            final Period offsetInstance = new Period(offsetStart, getDuration(override, instance));
+            final long offsetEnd = offsetInstance.getEnd().getTime();
+            if (offsetStart.getTime() < periodEnd && (offsetEnd > periodStart || offsetStart.getTime() == periodStart)) {
+                offsetInstance.setComponent(override);
+                instances.add(offsetInstance);
+            }
+        }
+    }
+
+    private static TemporalAmount getDuration(final Component override, final Period instance) {
+        final Duration duration = override.getProperty(Property.DURATION);
+        if (duration != null) {
+            return duration.getDuration();
+        }
+        final DateProperty start = override.getProperty(Property.DTSTART);
+        DateProperty end = override.getProperty(Property.DTEND);
+        if (end == null) {
+            end = override.getProperty(Property.DUE);
+        }
+        if (start != null && end != null) {
+            return java.time.Duration.ofMillis(end.getDate().getTime() - start.getDate().getTime());
+        }
+        return instance.getDuration();
+    }
+
+    private static <T extends Component> T latest(final T current, final T candidate) {
+        return current == null || REVISION_ORDER.compare(candidate, current) >= 0 ? candidate : current;
+    }
+}
@@ -4,6 +4,7 @@ import net.fortuna.ical4j.util.CompatibilityHints;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.time.Duration;
 import java.time.Instant;
@@ -12,16 +13,53 @@ import java.time.Period;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.Temporal;
 import java.time.temporal.TemporalAmount;
-import java.util.Arrays;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
 
 /**
  * Support adapter for {@link java.time.temporal.TemporalAmount} representation in iCalendar format.
+ *
+ * Values in the common forms of the RFC5545 grammar (e.g. <code>PT15M</code>, <code>-P1DT2H</code>, <code>P1W</code>)
+ * are parsed without regular expressions or intermediate strings, and the most common of these values are shared
+ * across all parsed instances. Other ISO-8601 forms are parsed via {@link Period#parse(CharSequence)} or
+ * {@link Duration#parse(CharSequence)}.
  */
 public class TemporalAmountAdapter implements Serializable {
 
+    private static final Pattern PERIOD_PATTERN = Pattern.compile("([+-])?P.*(W|D)");
+
+    private static final Pattern LENIENT_DURATION_PATTERN = Pattern.compile("P([+-]?[0-9]*[MHS])+");
+
+    private static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    /**
+     * The maximum number of digits of a field value parsed without overflow.
+     */
+    private static final int MAX_FIELD_DIGITS = 9;
+
+    private static final Map<String, TemporalAmountAdapter> COMMON_VALUES = new HashMap<>();
+    static {
+        for (String value : new String[] {"PT0S", "P0D", "PT1M", "PT5M", "PT10M", "PT15M", "PT20M", "PT30M", "PT45M",
+                "PT1H", "PT2H", "PT12H", "P1D", "P2D", "P7D", "P1W", "P2W"}) {
+
+            for (String sign : new String[] {"", "-"}) {
+                final TemporalAmountAdapter adapter = parse(sign + value, false);
+                adapter.stringValue = adapter.toString();
+                COMMON_VALUES.put(sign + value, adapter);
+            }
+        }
+    }
+
     private final TemporalAmount duration;
 
+    /**
+     * The string representation of the duration, retained where it is independent of the seed used to derive weeks
+     * from years and months.
+     */
+    private transient String stringValue;
+
     public TemporalAmountAdapter(TemporalAmount duration) {
         this.duration = duration;
     }
@@ -32,47 +70,87 @@ public class TemporalAmountAdapter implements Serializable {
 
     @Override
     public String toString() {
-        return toString(LocalDateTime.now());
+        return toString(null);
     }
+
     public String toString(Temporal seed) {
-        String retVal;
-        if (Duration.ZERO.equals(duration) || Period.ZERO.equals(duration)) {
-            retVal = duration.toString();
+        String retVal = stringValue;
+        if (retVal == null) {
+            final StringBuilder b = new StringBuilder();
+            try {
+                appendTo(b, seed);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            retVal = b.toString();
+            if (isSeedIndependent()) {
+                stringValue = retVal;
+            }
+        }
+        return retVal;
+    }
+
+    /**
+     * Appends the string representation of the duration to the specified output. Years and months are converted to
+     * weeks relative to the current date.
+     *
+     * @param out the output to append to
+     * @throws IOException where an error occurs appending to the output
+     */
+    public final void appendTo(Appendable out) throws IOException {
+        appendTo(out, null);
+    }
+
+    /**
+     * Appends the string representation of the duration to the specified output.
+     *
+     * @param out the output to append to
+     * @param seed the date from which years and months are converted to weeks, or null to use the current date
+     * @throws IOException where an error occurs appending to the output
+     */
+    public final void appendTo(Appendable out, Temporal seed) throws IOException {
+        if (stringValue != null) {
+            out.append(stringValue);
+        } else if (Duration.ZERO.equals(duration) || Period.ZERO.equals(duration)) {
+            out.append(duration.toString());
         } else if (duration instanceof Period) {
-            retVal = periodToString(((Period) duration).normalized(), seed);
+            appendPeriod(out, ((Period) duration).normalized(), seed);
         } else {
-            retVal = durationToString((Duration) duration);
+            appendDuration(out, (Duration) duration);
+        }
+    }
+
+    private boolean isSeedIndependent() {
+        if (duration instanceof Period) {
+            final Period period = ((Period) duration).normalized();
+            return period.getYears() == 0 && period.getMonths() == 0;
         }
-        return  retVal;
+        return true;
     }
 
     /**
      * As the {@link Period} implementation doesn't support string representation in weeks, but does support
      * years and months, we need to generate a string that converts years, months and days to weeks.
      *
+     * @param out the output to append to
      * @param period a period instance
-     * @return a string representation of the period that is compliant with the RFC5545 specification.
+     * @param seed the date from which years and months are converted to weeks, or null to use the current date
      */
-    private String periodToString(Period period, Temporal seed) {
-        String retVal;
-        Temporal adjustedSeed = seed.plus(period);
-        if (period.getYears() != 0) {
-            long weeks = Math.abs(seed.until(adjustedSeed, ChronoUnit.WEEKS));
-            retVal = String.format("P%dW", weeks);
-        } else if (period.getMonths() != 0) {
-            long weeks = Math.abs(seed.until(adjustedSeed, ChronoUnit.WEEKS));
-            retVal = String.format("P%dW", weeks);
-        } else if (period.getDays() % 7 == 0) {
-            long weeks = Math.abs(seed.until(adjustedSeed, ChronoUnit.WEEKS));
-            retVal = String.format("P%dW", weeks);
-        } else {
-            long days = Math.abs(seed.until(adjustedSeed, ChronoUnit.DAYS));
-            retVal = String.format("P%dD", days);
+    private static void appendPeriod(Appendable out, Period period, Temporal seed) throws IOException {
+        if (period.isNegative()) {
+            out.append('-');
         }
-        if (period.isNegative() && !retVal.startsWith("-")) {
-            return "-" + retVal;
+        out.append('P');
+        if (period.getYears() != 0 || period.getMonths() != 0) {
+            final Temporal start = seed != null ? seed : LocalDateTime.now();
+            appendNumber(out, Math.abs(start.until(start.plus(period), ChronoUnit.WEEKS)));
+            out.append('W');
+        } else if (period.getDays() % 7 == 0) {
+            appendNumber(out, Math.abs((long) period.getDays()) / 7);
+            out.append('W');
         } else {
-            return retVal;
+            appendNumber(out, Math.abs((long) period.getDays()));
+            out.append('D');
         }
     }
 
@@ -80,51 +158,55 @@ public class TemporalAmountAdapter implements Serializable {
      * As the {@link Duration} implementation doesn't support string representation in days (to avoid
      * confusion with {@link Period}), we need to generate a string that does support days.
      *
+     * @param out the output to append to
      * @param duration a duration instance
-     * @return a string representation of the duration that is compliant with the RFC5545 specification.
      */
-    private String durationToString(Duration duration) {
-        String retVal = null;
-        Duration absDuration = duration.abs();
-        int days = 0;
-        if (absDuration.getSeconds() != 0) {
-            days = (int) absDuration.getSeconds() / (24 * 60 * 60);
+    private static void appendDuration(Appendable out, Duration duration) throws IOException {
+        if (duration.isNegative()) {
+            out.append('-');
+        }
+        final Duration absDuration = duration.abs();
+        final long days = absDuration.getSeconds() / SECONDS_PER_DAY;
+        if (days == 0 && absDuration.getNano() != 0) {
+            out.append(absDuration.toString());
+            return;
         }
 
+        final int secondOfDay = (int) (absDuration.getSeconds() % SECONDS_PER_DAY);
+        final int hours = secondOfDay / 3600;
+        final int minutes = secondOfDay / 60 % 60;
+        final int seconds = secondOfDay % 60;
+        out.append('P');
         if (days != 0) {
-            Duration durationMinusDays = absDuration.minusDays(days);
-            if (durationMinusDays.getSeconds() != 0) {
-                int hours = (int) durationMinusDays.getSeconds() / (60 * 60);
-                int minutes = (int) durationMinusDays.minusHours(hours).getSeconds() / 60;
-                int seconds = (int) durationMinusDays.minusHours(hours).minusMinutes(minutes).getSeconds();
-                if (hours > 0) {
-                    if (seconds > 0) {
-                        retVal = String.format("P%dDT%dH%dM%dS", days, hours, minutes, seconds);
-                    } else if (minutes > 0) {
-                        retVal = String.format("P%dDT%dH%dM", days, hours, minutes);
-                    } else {
-                        retVal = String.format("P%dDT%dH", days, hours);
-                    }
-                } else if (minutes > 0) {
-                    if (seconds > 0) {
-                        retVal = String.format("P%dDT%dM%dS", days, minutes, seconds);
-                    } else {
-                        retVal = String.format("P%dDT%dM", days, minutes);
-                    }
-                } else if (seconds > 0) {
-                    retVal = String.format("P%dDT%dS", days, seconds);
-                }
-            } else {
-                retVal = String.format("P%dD", days);
+            appendNumber(out, days);
+            out.append('D');
+            if (secondOfDay == 0) {
+                return;
             }
-        } else {
-            retVal = absDuration.toString();
         }
+        out.append('T');
+        if (hours > 0) {
+            appendNumber(out, hours);
+            out.append('H');
+        }
+        // minutes are retained between hours and seconds in day-based values..
+        if (minutes > 0 || (days != 0 && hours > 0 && seconds > 0)) {
+            appendNumber(out, minutes);
+            out.append('M');
+        }
+        if (seconds > 0) {
+            appendNumber(out, seconds);
+            out.append('S');
+        }
+    }
 
-        if (duration.isNegative()) {
-            return "-" + retVal;
-        } else {
-            return retVal;
+    private static void appendNumber(Appendable out, long value) throws IOException {
+        long divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            out.append((char) ('0' + value / divisor % 10));
         }
     }
 
@@ -133,20 +215,114 @@ public class TemporalAmountAdapter implements Serializable {
     }
 
     public static TemporalAmountAdapter parse(String value, boolean lenient) {
-        TemporalAmount retVal = null;
-        if (Arrays.asList("P", "PT").contains(value) && lenient) {
-            retVal = Period.ZERO;
-        }
-        else if (value.matches("([+-])?P.*(W|D)")) {
-            retVal = java.time.Period.parse(value);
-        } else if (lenient && value.matches("P([+-]?[0-9]*[MHS])+")) {
-            retVal = java.time.Duration.parse("PT" + value.substring(1));
-        } else {
-            retVal = java.time.Duration.parse(value);
+        if (lenient && ("P".equals(value) || "PT".equals(value))) {
+            return new TemporalAmountAdapter(Period.ZERO);
+        }
+
+        final TemporalAmountAdapter common = COMMON_VALUES.get(value);
+        if (common != null) {
+            return common;
+        }
+
+        TemporalAmount retVal = parseDurValue(value);
+        if (retVal == null) {
+            if (PERIOD_PATTERN.matcher(value).matches()) {
+                retVal = java.time.Period.parse(value);
+            } else if (lenient && LENIENT_DURATION_PATTERN.matcher(value).matches()) {
+                retVal = java.time.Duration.parse("PT" + value.substring(1));
+            } else {
+                retVal = java.time.Duration.parse(value);
+            }
         }
         return new TemporalAmountAdapter(retVal);
     }
 
+    /**
+     * Parses a value in the form defined by RFC5545 (i.e. <code>[+/-]P(nW|nD|[nD]T[nH][nM][nS])</code>), yielding
+     * the same amount as the equivalent ISO-8601 parser.
+     *
+     * @param value a string representation of a duration
+     * @return a period for week or day values, a duration for values with a time component, or null where the value
+     * is not in the RFC5545 form
+     */
+    private static TemporalAmount parseDurValue(String value) {
+        final int length = value.length();
+        int index = 0;
+        boolean negative = false;
+        if (index < length && (value.charAt(index) == '+' || value.charAt(index) == '-')) {
+            negative = value.charAt(index++) == '-';
+        }
+        if (index >= length || value.charAt(index++) != 'P') {
+            return null;
+        }
+
+        long seconds = 0;
+        if (index < length && value.charAt(index) != 'T') {
+            final int end = indexOfDesignator(value, index);
+            if (end < 0 || end + 1 < length && value.charAt(end) != 'D') {
+                return null;
+            }
+            final int amount = parseField(value, index, end);
+            if (end + 1 == length) {
+                if (value.charAt(end) == 'W' && amount <= Integer.MAX_VALUE / 7) {
+                    return Period.ofDays(negative ? -amount * 7 : amount * 7);
+                } else if (value.charAt(end) == 'D') {
+                    return Period.ofDays(negative ? -amount : amount);
+                }
+                return null;
+            }
+            seconds = (long) amount * SECONDS_PER_DAY;
+            index = end + 1;
+            if (value.charAt(index) != 'T') {
+                return null;
+            }
+        }
+
+        // time fields must be specified in order of hours, minutes and seconds..
+        if (index + 1 >= length) {
+            return null;
+        }
+        int minFieldIndex = 0;
+        for (index++; index < length;) {
+            final int end = indexOfDesignator(value, index);
+            if (end < 0) {
+                return null;
+            }
+            final int fieldIndex = "HMS".indexOf(value.charAt(end));
+            if (fieldIndex < minFieldIndex) {
+                return null;
+            }
+            seconds += parseField(value, index, end) * (fieldIndex == 0 ? 3600L : fieldIndex == 1 ? 60L : 1L);
+            minFieldIndex = fieldIndex + 1;
+            index = end + 1;
+        }
+        return Duration.ofSeconds(negative ? -seconds : seconds);
+    }
+
+    /**
+     * Returns the index of the designator following the digits of a field, or -1 where there are no digits, too
+     * many digits, or no designator.
+     */
+    private static int indexOfDesignator(String value, int start) {
+        int index = start;
+        while (index < value.length() && index - start <= MAX_FIELD_DIGITS
+                && value.charAt(index) >= '0' && value.charAt(index) <= '9') {
+            index++;
+        }
+        if (index == start || index - start > MAX_FIELD_DIGITS || index >= value.length()) {
+            return -1;
+        }
+        return index;
+    }
+
+    private static int parseField(String value, int start, int end) {
+        int field = 0;
+        for (int i = start; i < end; i++) {
+            field = field * 10 + value.charAt(i) - '0';
+        }
+        return field;
+    }
+
     public static TemporalAmountAdapter fromDateRange(Date start, Date end) {
         TemporalAmount duration;
         long durationMillis = end.getTime() - start.getTime();
@@ -31,9 +31,7 @@
  */
 package net.fortuna.ical4j.model;
 
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.TimeZone;
 
 import net.fortuna.ical4j.util.Dates;
@@ -138,16 +136,12 @@ public class Time extends Iso8601 {
     }
     
     private static java.util.Date parseDate(String value, TimeZone timezone) throws ParseException {
-        DateFormat df = new SimpleDateFormat(DEFAULT_PATTERN);
-        df.setTimeZone(timezone);
-        try {
-            return df.parse(value);
+        // any UTC designator following the time is ignored..
+        final long time = DateTimeParser.tryParse(DateTimeParser.Form.TIME, value, timezone, true);
+        if (time == DateTimeParser.INVALID) {
+            throw new ParseException("Unparseable date: \"" + value + "\"", 0);
         }
-        catch (ParseException e) {
-            df = new SimpleDateFormat(UTC_PATTERN);
-            df.setTimeZone(timezone);
-        }
-        return df.parse(value);
+        return new java.util.Date(time);
     }
     
     /**
@@ -38,10 +38,13 @@ import net.fortuna.ical4j.model.component.VTimeZone;
 import net.fortuna.ical4j.model.property.TzId;
 import net.fortuna.ical4j.model.property.TzOffsetFrom;
 import net.fortuna.ical4j.model.property.TzOffsetTo;
+import net.fortuna.ical4j.util.Configurator;
 
-import java.util.Calendar;
+import java.time.*;
+import java.time.zone.ZoneRules;
 import java.util.Date;
 import java.util.List;
+import java.util.Optional;
 
 /**
  * $Id$
@@ -50,6 +53,11 @@ import java.util.List;
  * <p/>
  * A Java timezone implementation based on an underlying VTimeZone
  * definition.
+ * <p/>
+ * Observances of the VTimeZone are compiled on first use into a table of transition instants and offsets,
+ * spanning from the earliest onset to a configurable number of years beyond the current date, such that offset
+ * lookups require only a binary search. Lookups beyond the compiled range extend the table according to the
+ * recurrence rules of each observance.
  *
  * @author Ben Fortuna
  */
@@ -57,9 +65,26 @@ public class TimeZone extends java.util.TimeZone {
 
     private static final long serialVersionUID = -5620979316746547234L;
 
+    /**
+     * The number of years beyond the current date for which transitions are compiled ahead of time.
+     */
+    public static final String KEY_TRANSITIONS_YEARS = "net.fortuna.ical4j.timezone.transitions.years";
+
+    private static final int DEFAULT_TRANSITIONS_YEARS = 30;
+
+    /**
+     * Transitions are not compiled beyond the range of four-digit years supported by iCalendar date-times.
+     */
+    private static final long MAX_TRANSITION = LocalDate.of(10000, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC)
+            .toEpochMilli();
+
     private final VTimeZone vTimeZone;
     private final int rawOffset;
 
+    private transient volatile ObservanceTransitions transitions;
+
+    private transient volatile Optional<ZoneRules> zoneRules;
+
     /**
      * Constructs a new instance based on the specified VTimeZone.
      *
@@ -79,25 +104,16 @@ public class TimeZone extends java.util.TimeZone {
     public final int getOffset(final int era, final int year, final int month, final int dayOfMonth,
                                final int dayOfWeek, final int milliseconds) {
 
-        // calculate time of day
-        int ms = milliseconds;
-        final int hour = ms / 3600000;
-        ms -= hour * 3600000;
-        final int minute = ms / 60000;
-        ms -= minute * 60000;
-        final int second = ms / 1000;
-        ms -= second * 1000;
-
-        final Calendar cal = Calendar.getInstance();
-        cal.clear();    // don't retain current date/time, it may disturb the calculation
-
-        // set date and time
-        cal.set(Calendar.ERA, era);
-        cal.set(Calendar.DAY_OF_WEEK, dayOfWeek);
-        cal.set(year, month, dayOfMonth, hour, minute, second);
-        cal.set(Calendar.MILLISECOND, ms);
-
-        final Observance observance = vTimeZone.getApplicableObservance(new DateTime(cal.getTime()));
+        // interpret the local date and time in the default timezone, as per Calendar.getInstance()..
+        final LocalDateTime local = LocalDate.of(era == 0 ? 1 - year : year, 1, 1).plusMonths(month)
+                .plusDays(dayOfMonth - 1L).atStartOfDay().plus(Duration.ofMillis(milliseconds));
+        final long date = local.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+
+        final ObservanceTransitions table = getTransitions(date);
+        if (table != null) {
+            return table.offsets[table.indexOf(date)];
+        }
+        final Observance observance = vTimeZone.getApplicableObservance(new DateTime(date));
         if (observance != null) {
             final TzOffsetTo offset = observance.getProperty(Property.TZOFFSETTO);
             return (int) (offset.getOffset().getTotalSeconds() * 1000L);
@@ -110,6 +126,10 @@ public class TimeZone extends java.util.TimeZone {
      */
     @Override
     public int getOffset(long date) {
+        final ObservanceTransitions table = getTransitions(date);
+        if (table != null) {
+            return Math.max(table.offsets[table.indexOf(date)], getRawOffset());
+        }
         final Observance observance = vTimeZone.getApplicableObservance(new DateTime(date));
         if (observance != null) {
             final TzOffsetTo offset = observance.getProperty(Property.TZOFFSETTO);
@@ -141,6 +161,10 @@ public class TimeZone extends java.util.TimeZone {
      */
     @Override
     public final boolean inDaylightTime(final Date date) {
+        final ObservanceTransitions table = getTransitions(date.getTime());
+        if (table != null) {
+            return table.observances[table.indexOf(date.getTime())] instanceof Daylight;
+        }
         final Observance observance = vTimeZone.getApplicableObservance(new DateTime(date));
         return (observance instanceof Daylight);
     }
@@ -162,6 +186,22 @@ public class TimeZone extends java.util.TimeZone {
         return (!daylights.isEmpty());
     }
 
+    /**
+     * Returns the equivalent zone rules for this timezone, converted on first use.
+     *
+     * @return the zone rules for this timezone, or an empty optional if the underlying VTimeZone cannot be
+     * expressed exactly as zone rules
+     * @see ZoneRulesConverter
+     */
+    public final Optional<ZoneRules> getZoneRules() {
+        Optional<ZoneRules> rules = zoneRules;
+        if (rules == null) {
+            rules = ZoneRulesConverter.toZoneRules(vTimeZone);
+            zoneRules = rules;
+        }
+        return rules;
+    }
+
     /**
      * @return Returns the VTimeZone backing this instance.
      */
@@ -169,6 +209,43 @@ public class TimeZone extends java.util.TimeZone {
         return vTimeZone;
     }
 
+    /**
+     * Returns the compiled transitions applicable to the specified instant, extending the compiled range where
+     * required.
+     *
+     * @param date an instant in time
+     * @return a transition table covering the specified instant, or null if the instant is beyond the supported
+     * range of transitions
+     */
+    private ObservanceTransitions getTransitions(final long date) {
+        ObservanceTransitions table = transitions;
+        if (table == null || date > table.limit) {
+            synchronized (this) {
+                table = transitions;
+                if (table == null || date > table.limit) {
+                    final long limit = table != null ? Math.max(date, table.limit) : Math.max(date,
+                            System.currentTimeMillis());
+                    if (limit >= MAX_TRANSITION) {
+                        return null;
+                    }
+                    table = compileTransitions(limit);
+                    transitions = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Compiles transitions up to a configurable number of years beyond the specified instant.
+     */
+    private ObservanceTransitions compileTransitions(final long date) {
+        final int years = Configurator.getIntProperty(KEY_TRANSITIONS_YEARS).orElse(DEFAULT_TRANSITIONS_YEARS);
+        final long limit = Math.min(Instant.ofEpochMilli(date).atZone(ZoneOffset.UTC).plusYears(years).toInstant()
+                .toEpochMilli(), MAX_TRANSITION - 1);
+        return ObservanceTransitions.compile(vTimeZone, limit);
+    }
+
     private static int getRawOffset(VTimeZone vt) {
 
         List<Observance> seasonalTimes = vt.getObservances().getComponents(Observance.STANDARD);
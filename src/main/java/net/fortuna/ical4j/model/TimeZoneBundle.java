@@ -0,0 +1,432 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.data.CalendarBuilder;
+import net.fortuna.ical4j.data.DefaultComponentFactorySupplier;
+import net.fortuna.ical4j.data.DefaultParameterFactorySupplier;
+import net.fortuna.ical4j.data.DefaultPropertyFactorySupplier;
+import net.fortuna.ical4j.data.ParserException;
+import net.fortuna.ical4j.model.component.Observance;
+import net.fortuna.ical4j.model.component.VTimeZone;
+import net.fortuna.ical4j.model.parameter.Value;
+import net.fortuna.ical4j.model.property.*;
+import net.fortuna.ical4j.util.Constants;
+import net.fortuna.ical4j.util.TimeZones;
+import org.apache.commons.codec.EncoderException;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A compact binary encoding of a set of VTIMEZONE definitions, such that individual definitions may be loaded
+ * without parsing the corresponding iCalendar resource.
+ *
+ * A bundle comprises a table of distinct strings shared by all definitions, an index of timezone identifiers and
+ * the encoded definitions. Local date-time values (i.e. DTSTART and RDATE of observances) are encoded as epoch
+ * seconds, and UTC offsets as total seconds, such that these properties are decoded without parsing. Other
+ * properties are decoded on demand using the same factories as {@link CalendarBuilder}.
+ *
+ * Bundles are compiled from a directory of iCalendar resources as part of the build:
+ *
+ * <pre>
+ *     java net.fortuna.ical4j.model.TimeZoneBundle src/main/resources/zoneinfo build/zoneinfo/zoneinfo.bin
+ * </pre>
+ *
+ * @see TimeZoneLoader
+ */
+public final class TimeZoneBundle {
+
+    /**
+     * The name of a bundle resource, relative to the prefix of the iCalendar resources it was compiled from.
+     */
+    public static final String RESOURCE_NAME = "zoneinfo.bin";
+
+    private static final int MAGIC = 0x49435a42;
+
+    private static final int VERSION = 2;
+
+    private static final byte STRING_VALUE = 0;
+
+    private static final byte DATE_TIME_VALUE = 1;
+
+    private static final byte UTC_OFFSET_VALUE = 2;
+
+    private static final Pattern DATE_TIMES = Pattern.compile("\\d{8}T\\d{6}(,\\d{8}T\\d{6})*");
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("uuuuMMdd'T'HHmmss");
+
+    private static final List<ComponentFactory<?>> COMPONENT_FACTORIES = new DefaultComponentFactorySupplier().get();
+
+    private static final List<PropertyFactory<?>> PROPERTY_FACTORIES = new DefaultPropertyFactorySupplier().get();
+
+    private static final List<ParameterFactory<?>> PARAMETER_FACTORIES = new DefaultParameterFactorySupplier().get();
+
+    private final String[] strings;
+
+    private final Map<String, int[]> index;
+
+    private final byte[] data;
+
+    private TimeZoneBundle(String[] strings, Map<String, int[]> index, byte[] data) {
+        this.strings = strings;
+        this.index = index;
+        this.data = data;
+    }
+
+    /**
+     * @return the identifiers of all timezones in this bundle
+     */
+    public Set<String> getIds() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    /**
+     * @param id a timezone identifier
+     * @return true if this bundle contains a definition for the specified timezone
+     */
+    public boolean contains(final String id) {
+        return index.containsKey(id);
+    }
+
+    /**
+     * Decodes the definition of a timezone.
+     *
+     * @param id a timezone identifier
+     * @return the timezone definition, or null if this bundle doesn't contain the specified timezone
+     * @throws IOException where the definition cannot be decoded
+     * @throws ParseException where a property value is invalid
+     */
+    public VTimeZone getVTimeZone(final String id) throws IOException, ParseException {
+        final int[] location = index.get(id);
+        if (location == null) {
+            return null;
+        }
+        final DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, location[0], location[1]));
+        try {
+            return (VTimeZone) new Decoder(in).readComponent();
+        } catch (URISyntaxException e) {
+            throw new IOException("Invalid timezone definition: " + id, e);
+        }
+    }
+
+    /**
+     * @param in a stream of bundle data
+     * @return a bundle read from the specified stream
+     * @throws IOException where the stream doesn't contain a valid bundle
+     */
+    public static TimeZoneBundle read(final InputStream in) throws IOException {
+        final DataInputStream dataIn = new DataInputStream(new BufferedInputStream(in));
+        if (dataIn.readInt() != MAGIC || dataIn.readUnsignedByte() != VERSION) {
+            throw new IOException("Unsupported timezone bundle");
+        }
+        final String[] strings = new String[readVarInt(dataIn)];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = dataIn.readUTF();
+        }
+        final int count = readVarInt(dataIn);
+        final Map<String, int[]> index = new HashMap<>(count * 2);
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            final String id = strings[readVarInt(dataIn)];
+            final int length = readVarInt(dataIn);
+            index.put(id, new int[] {offset, length});
+            offset += length;
+        }
+        final byte[] data = new byte[offset];
+        dataIn.readFully(data);
+        return new TimeZoneBundle(strings, index, data);
+    }
+
+    /**
+     * Encodes the specified timezone definitions as a bundle.
+     *
+     * @param definitions timezone definitions indexed by identifier
+     * @param out the stream to write the bundle to
+     * @throws IOException where an error occurs writing to the stream
+     */
+    public static void write(final Map<String, VTimeZone> definitions, final OutputStream out) throws IOException {
+        final Encoder encoder = new Encoder();
+        final Map<String, byte[]> encoded = new TreeMap<>();
+        for (final Map.Entry<String, VTimeZone> definition : definitions.entrySet()) {
+            encoder.stringIndex(definition.getKey());
+            encoded.put(definition.getKey(), encoder.encode(definition.getValue()));
+        }
+
+        final DataOutputStream dataOut = new DataOutputStream(new BufferedOutputStream(out));
+        dataOut.writeInt(MAGIC);
+        dataOut.writeByte(VERSION);
+        writeVarInt(dataOut, encoder.strings.size());
+        for (final String string : encoder.strings.keySet()) {
+            dataOut.writeUTF(string);
+        }
+        writeVarInt(dataOut, encoded.size());
+        for (final Map.Entry<String, byte[]> entry : encoded.entrySet()) {
+            writeVarInt(dataOut, encoder.stringIndex(entry.getKey()));
+            writeVarInt(dataOut, entry.getValue().length);
+        }
+        for (final byte[] definition : encoded.values()) {
+            dataOut.write(definition);
+        }
+        dataOut.flush();
+    }
+
+    /**
+     * Compiles a bundle from a directory of iCalendar resources, identifying each definition by its path relative
+     * to the directory.
+     *
+     * @param args the directory of iCalendar resources, and the bundle file to create
+     * @throws IOException where an error occurs reading or writing resources
+     * @throws ParserException where a resource cannot be parsed
+     */
+    public static void main(final String[] args) throws IOException, ParserException {
+        final Path source = Paths.get(args[0]);
+        final Path target = Paths.get(args[1]);
+        final List<Path> resources;
+        try (Stream<Path> paths = Files.walk(source)) {
+            resources = paths.filter(p -> p.toString().endsWith(".ics")).sorted().collect(Collectors.toList());
+        }
+        final Map<String, VTimeZone> definitions = new TreeMap<>();
+        for (final Path resource : resources) {
+            final String path = source.relativize(resource).toString().replace(File.separatorChar, '/');
+            try (InputStream in = Files.newInputStream(resource)) {
+                final VTimeZone vTimeZone = new CalendarBuilder().build(in).getComponent(Component.VTIMEZONE);
+                if (vTimeZone != null) {
+                    definitions.put(path.substring(0, path.length() - ".ics".length()), vTimeZone);
+                }
+            }
+        }
+        if (target.getParent() != null) {
+            Files.createDirectories(target.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(target)) {
+            write(definitions, out);
+        }
+    }
+
+    private static void writeVarInt(final DataOutput out, int value) throws IOException {
+        while ((value & ~0x7f) != 0) {
+            out.writeByte((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarInt(final DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (b & 0x7f) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Invalid timezone bundle");
+    }
+
+    /**
+     * Encodes components as the property and sub-component content used by the iCalendar parser.
+     */
+    private static final class Encoder {
+
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+        private int stringIndex(final String string) {
+            return strings.computeIfAbsent(string, s -> strings.size());
+        }
+
+        private byte[] encode(final Component component) throws IOException {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            final DataOutputStream out = new DataOutputStream(bytes);
+            writeComponent(component, out);
+            out.flush();
+            return bytes.toByteArray();
+        }
+
+        private void writeComponent(final Component component, final DataOutputStream out) throws IOException {
+            writeVarInt(out, stringIndex(component.getName()));
+            writeVarInt(out, component.getProperties().size());
+            for (final Property property : component.getProperties()) {
+                writeProperty(property, out);
+            }
+            final List<? extends Component> subComponents = component instanceof VTimeZone
+                    ? ((VTimeZone) component).getObservances() : Collections.emptyList();
+            writeVarInt(out, subComponents.size());
+            for (final Component subComponent : subComponents) {
+                writeComponent(subComponent, out);
+            }
+        }
+
+        private void writeProperty(final Property property, final DataOutputStream out) throws IOException {
+            writeVarInt(out, stringIndex(property.getName()));
+            writeVarInt(out, property.getParameters().size());
+            for (final Parameter parameter : property.getParameters()) {
+                writeVarInt(out, stringIndex(parameter.getName()));
+                writeVarInt(out, stringIndex(parameter.getValue()));
+            }
+            final String value = getEncodedValue(property);
+            final ZoneOffset offset = getOffset(property);
+            if (isLocalDateTime(property) && DATE_TIMES.matcher(value).matches()) {
+                final String[] dateTimes = value.split(",");
+                out.writeByte(DATE_TIME_VALUE);
+                writeVarInt(out, dateTimes.length);
+                for (final String dateTime : dateTimes) {
+                    out.writeLong(LocalDateTime.parse(dateTime, DATE_TIME_FORMAT).toEpochSecond(ZoneOffset.UTC));
+                }
+            } else if (offset != null) {
+                out.writeByte(UTC_OFFSET_VALUE);
+                out.writeInt(offset.getTotalSeconds());
+            } else {
+                out.writeByte(STRING_VALUE);
+                writeVarInt(out, stringIndex(value));
+            }
+        }
+
+        /**
+         * Indicates whether the specified property is an observance onset without a timezone reference.
+         */
+        private static boolean isLocalDateTime(final Property property) {
+            return (property instanceof DtStart || property instanceof RDate)
+                    && property.getParameter(Parameter.TZID) == null
+                    && (property.getParameter(Parameter.VALUE) == null
+                        || Value.DATE_TIME.equals(property.getParameter(Parameter.VALUE)));
+        }
+
+        private static ZoneOffset getOffset(final Property property) {
+            if (property instanceof TzOffsetFrom) {
+                return ((TzOffsetFrom) property).getOffset();
+            } else if (property instanceof TzOffsetTo) {
+                return ((TzOffsetTo) property).getOffset();
+            }
+            return null;
+        }
+
+        /**
+         * Returns the property value as encoded in iCalendar data, consistent with {@link Property#toString()}.
+         */
+        private static String getEncodedValue(final Property property) {
+            String value = property.getValue();
+            if (!(property instanceof XProperty && property.getParameter(Parameter.VALUE) != null
+                    && !Value.TEXT.equals(property.getParameter(Parameter.VALUE))) && property instanceof Encodable) {
+                try {
+                    value = PropertyCodec.INSTANCE.encode(value);
+                } catch (EncoderException e) {
+                    // use the unencoded value..
+                }
+            }
+            return value != null ? value : "";
+        }
+    }
+
+    /**
+     * Decodes components via the default component, property and parameter factories. Onsets and offsets of
+     * observances are constructed directly from their encoded values.
+     */
+    private final class Decoder {
+
+        private final DataInputStream in;
+
+        private Decoder(DataInputStream in) {
+            this.in = in;
+        }
+
+        private Component readComponent() throws IOException, ParseException, URISyntaxException {
+            final ComponentBuilder<Component> builder = new ComponentBuilder<>(COMPONENT_FACTORIES);
+            builder.name(strings[readVarInt(in)]);
+            final int propertyCount = readVarInt(in);
+            for (int i = 0; i < propertyCount; i++) {
+                builder.property(readProperty());
+            }
+            final int subComponentCount = readVarInt(in);
+            for (int i = 0; i < subComponentCount; i++) {
+                builder.subComponent(readComponent());
+            }
+            return builder.build();
+        }
+
+        private Property readProperty() throws IOException, ParseException, URISyntaxException {
+            final String name = strings[readVarInt(in)];
+            final ParameterList parameters = new ParameterList();
+            final int parameterCount = readVarInt(in);
+            for (int i = 0; i < parameterCount; i++) {
+                parameters.add(new ParameterBuilder(PARAMETER_FACTORIES).name(strings[readVarInt(in)])
+                        .value(strings[readVarInt(in)]).build());
+            }
+            final byte valueType = in.readByte();
+            if (valueType == DATE_TIME_VALUE) {
+                final DateList dateTimes = new DateList(Value.DATE_TIME);
+                final int count = readVarInt(in);
+                for (int i = 0; i < count; i++) {
+                    dateTimes.add(readLocalDateTime());
+                }
+                if (Property.DTSTART.equals(name)) {
+                    return new DtStart(parameters, dateTimes.get(0));
+                }
+                return new RDate(parameters, dateTimes);
+            } else if (valueType == UTC_OFFSET_VALUE) {
+                final ZoneOffset offset = ZoneOffset.ofTotalSeconds(in.readInt());
+                if (Property.TZOFFSETFROM.equals(name)) {
+                    return new TzOffsetFrom(parameters, offset);
+                }
+                return new TzOffsetTo(parameters, offset);
+            }
+            final PropertyBuilder builder = new PropertyBuilder(PROPERTY_FACTORIES).name(name);
+            for (final Parameter parameter : parameters) {
+                builder.parameter(parameter);
+            }
+            return Constants.forProperty(builder.value(strings[readVarInt(in)]).build());
+        }
+
+        /**
+         * Reads a floating date-time, equivalent to parsing its local date and time in the default timezone.
+         */
+        private DateTime readLocalDateTime() throws IOException {
+            final LocalDateTime local = LocalDateTime.ofEpochSecond(in.readLong(), 0, ZoneOffset.UTC);
+            final DateTime dateTime = new DateTime(DateTimeParser.toEpochMillis(local.getYear(),
+                    local.getMonthValue(), local.getDayOfMonth(), local.getHour(), local.getMinute(),
+                    local.getSecond(), TimeZones.getDefault()));
+            dateTime.setTimeZone(null);
+            return dateTime;
+        }
+    }
+}
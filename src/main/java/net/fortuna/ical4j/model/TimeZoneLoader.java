@@ -11,20 +11,22 @@ import net.fortuna.ical4j.util.Configurator;
 import net.fortuna.ical4j.util.ResourceLoader;
 import net.fortuna.ical4j.util.TimeZoneCache;
 import org.apache.commons.lang3.Validate;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
 import java.text.ParseException;
 import java.time.Month;
-import java.time.Period;
 import java.time.*;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.TemporalAdjusters;
 import java.time.zone.ZoneOffsetTransition;
 import java.time.zone.ZoneOffsetTransitionRule;
 import java.util.TimeZone;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
 
 public class TimeZoneLoader {
 
@@ -38,8 +40,15 @@ public class TimeZoneLoader {
     private static final Set<String> TIMEZONE_DEFINITIONS = new HashSet<String>();
     private static final String DATE_TIME_TPL = "yyyyMMdd'T'HHmmss";
     private static final String RRULE_TPL = "FREQ=YEARLY;BYMONTH=%d;BYDAY=%d%s";
+    private static final int MIN_RECURRING_TRANSITIONS = 3;
+    private static final int RULE_TRANSITION_YEARS = 100;
     private static final Standard NO_TRANSITIONS;
 
+    /**
+     * Precompiled timezone bundles, indexed by resource prefix.
+     */
+    private static final ConcurrentMap<String, Optional<TimeZoneBundle>> BUNDLES = new ConcurrentHashMap<>();
+
     static {
         TIMEZONE_DEFINITIONS.addAll(Arrays.asList(net.fortuna.ical4j.model.TimeZone.getAvailableIDs()));
 
@@ -75,24 +84,98 @@ public class TimeZoneLoader {
      * @throws ParseException
      */
     public VTimeZone loadVTimeZone(String id) throws IOException, ParserException, ParseException {
+        return loadVTimeZone(id, null);
+    }
+
+    /**
+     * Loads an existing VTimeZone from the classpath corresponding to the specified Java timezone. Where updates
+     * are applied asynchronously the classpath definition is returned immediately, and the specified listener is
+     * notified if an updated definition is subsequently retrieved.
+     *
+     * @param id a timezone identifier
+     * @param updateListener notified of an updated definition, or null to ignore asynchronous updates
+     * @throws ParseException
+     */
+    public VTimeZone loadVTimeZone(String id, Consumer<VTimeZone> updateListener) throws IOException,
+            ParserException, ParseException {
         Validate.notBlank(id, "Invalid TimeZone ID: [%s]", id);
-        if (!cache.containsId(id)) {
-            final URL resource = ResourceLoader.getResource(resourcePrefix + id + ".ics");
+        final VTimeZone cached = cache.getTimezone(id);
+        if (cached != null) {
+            return cached;
+        }
+        final long start = System.nanoTime();
+        final VTimeZone definition = loadDefinition(id);
+        if (definition == null) {
+            return generateTimezoneForId(id);
+        }
+        // where a concurrent load is cached first the local definition is returned, as the cached definition may
+        // since have been evicted..
+        if (zoneUpdater.isAsync()) {
+            // serve the classpath definition until an update is available..
+            if (cache.putIfAbsent(id, definition, System.nanoTime() - start)) {
+                zoneUpdater.updateDefinitionAsync(definition).thenAccept(updated -> {
+                    if (updated != definition && cache.replace(id, updated) && updateListener != null) {
+                        updateListener.accept(updated);
+                    }
+                });
+            }
+            return definition;
+        }
+        // load any available updates for the timezone.. can be explicility disabled via configuration
+        final VTimeZone vTimeZone = zoneUpdater.updateDefinition(definition);
+        if (vTimeZone != null) {
+            cache.putIfAbsent(id, vTimeZone, System.nanoTime() - start);
+        }
+        return vTimeZone;
+    }
+
+    /**
+     * @return the identifiers of timezones available to this loader, being the contents of any precompiled bundle
+     * for the resource prefix, otherwise all identifiers known to the JVM
+     */
+    public Set<String> getAvailableIDs() {
+        final TimeZoneBundle bundle = getBundle(resourcePrefix);
+        return bundle != null ? bundle.getIds() : Collections.unmodifiableSet(TIMEZONE_DEFINITIONS);
+    }
+
+    /**
+     * Loads the classpath definition of a timezone, preferring a precompiled bundle for the resource prefix over
+     * parsing the corresponding iCalendar resource.
+     *
+     * @return the classpath definition, or null if no definition exists
+     */
+    private VTimeZone loadDefinition(String id) throws IOException, ParserException, ParseException {
+        final TimeZoneBundle bundle = getBundle(resourcePrefix);
+        if (bundle != null && bundle.contains(id)) {
+            return bundle.getVTimeZone(id);
+        }
+        final URL resource = ResourceLoader.getResource(resourcePrefix + id + ".ics");
+        if (resource == null) {
+            return null;
+        }
+        try (InputStream in = resource.openStream()) {
+            final CalendarBuilder builder = new CalendarBuilder();
+            final Calendar calendar = builder.build(in);
+            return calendar.getComponent(Component.VTIMEZONE);
+        }
+    }
+
+    /**
+     * @return the bundle compiled for the specified resource prefix, or null if no bundle is available
+     */
+    private static TimeZoneBundle getBundle(String resourcePrefix) {
+        return BUNDLES.computeIfAbsent(resourcePrefix, prefix -> {
+            final URL resource = ResourceLoader.getResource(prefix + TimeZoneBundle.RESOURCE_NAME);
             if (resource != null) {
                 try (InputStream in = resource.openStream()) {
-                    final CalendarBuilder builder = new CalendarBuilder();
-                    final Calendar calendar = builder.build(in);
-                    // load any available updates for the timezone.. can be explicility disabled via configuration
-                    final VTimeZone vTimeZone = zoneUpdater.updateDefinition(calendar.getComponent(Component.VTIMEZONE));
-                    if (vTimeZone != null) {
-                        cache.putIfAbsent(id, vTimeZone);
-                    }
+                    return Optional.of(TimeZoneBundle.read(in));
+                } catch (IOException e) {
+                    LoggerFactory.getLogger(TimeZoneLoader.class).warn(
+                            "Error loading timezone bundle: " + resource + " (falling back to resources)", e);
                 }
-            } else {
-                return generateTimezoneForId(id);
             }
-        }
-        return cache.getTimezone(id);
+            return Optional.empty();
+        }).orElse(null);
     }
 
     private static VTimeZone generateTimezoneForId(String timezoneId) throws ParseException {
@@ -121,62 +204,49 @@ public class TimeZoneLoader {
     }
 
     private static void addTransitionRules(ZoneId zoneId, int rawTimeZoneOffsetInSeconds, VTimeZone result) {
-        ZoneOffsetTransition zoneOffsetTransition = null;
-
-        if (!zoneId.getRules().getTransitions().isEmpty()) {
-            Collections.min(zoneId.getRules().getTransitions(),
-                    Comparator.comparing(ZoneOffsetTransition::getDateTimeBefore));
-        }
-
-        LocalDateTime startDate = null;
-        if (zoneOffsetTransition != null) {
-            startDate = zoneOffsetTransition.getDateTimeBefore();
-        } else {
-            startDate = LocalDateTime.now(zoneId);
-        }
+        final List<ZoneOffsetTransition> transitions = zoneId.getRules().getTransitions();
+        final ZoneOffsetTransition lastTransition = transitions.isEmpty() ? null
+                : transitions.get(transitions.size() - 1);
 
         for (ZoneOffsetTransitionRule transitionRule : zoneId.getRules().getTransitionRules()) {
-            int transitionRuleMonthValue = transitionRule.getMonth().getValue();
-            DayOfWeek transitionRuleDayOfWeek = transitionRule.getDayOfWeek();
-            LocalDateTime ldt = LocalDateTime.now(zoneId)
-                    .with(TemporalAdjusters.firstInMonth(transitionRuleDayOfWeek))
-                    .withMonth(transitionRuleMonthValue)
-                    .with(transitionRule.getLocalTime());
-            Month month = ldt.getMonth();
-
-            TreeSet<Integer> allDaysOfWeek = new TreeSet<Integer>();
-
-            do {
-                allDaysOfWeek.add(ldt.getDayOfMonth());
-            } while ((ldt = ldt.plus(Period.ofWeeks(1))).getMonth() == month);
-
-            Integer dayOfMonth = allDaysOfWeek.ceiling(transitionRule.getDayOfMonthIndicator());
-            if (dayOfMonth == null) {
-                dayOfMonth = allDaysOfWeek.last();
-            }
-
-            int weekdayIndexInMonth = 0;
-            for (Iterator<Integer> it = allDaysOfWeek.iterator(); it.hasNext() && it.next() != dayOfMonth; ) {
-                weekdayIndexInMonth++;
+            // rules apply to all transitions after the last explicit transition..
+            ZoneOffsetTransition start;
+            if (lastTransition != null) {
+                start = transitionRule.createTransition(lastTransition.getDateTimeAfter().getYear());
+                if (!start.getInstant().isAfter(lastTransition.getInstant())) {
+                    start = transitionRule.createTransition(start.getDateTimeBefore().getYear() + 1);
+                }
+            } else {
+                start = transitionRule.createTransition(LocalDate.now(zoneId).getYear());
             }
 
-            weekdayIndexInMonth = weekdayIndexInMonth >= 3 ? weekdayIndexInMonth - allDaysOfWeek.size() : weekdayIndexInMonth;
-
-            String rruleText = String.format(RRULE_TPL, transitionRuleMonthValue, weekdayIndexInMonth, transitionRuleDayOfWeek.name().substring(0, 2));
-
             try {
                 TzOffsetFrom offsetFrom = new TzOffsetFrom(transitionRule.getOffsetBefore());
                 TzOffsetTo offsetTo = new TzOffsetTo(transitionRule.getOffsetAfter());
-                RRule rrule = new RRule(rruleText);
+                final int startYear = start.getDateTimeBefore().getYear();
+                final String recur = getYearlyRecur(transitionRule, startYear);
 
                 Observance observance = (transitionRule.getOffsetAfter().getTotalSeconds() > rawTimeZoneOffsetInSeconds) ? new Daylight() : new Standard();
 
                 observance.getProperties().add(offsetFrom);
                 observance.getProperties().add(offsetTo);
-                observance.getProperties().add(rrule);
-                observance.getProperties().add(new DtStart(startDate.withMonth(transitionRule.getMonth().getValue())
-                        .withDayOfMonth(transitionRule.getDayOfMonthIndicator())
-                        .with(transitionRule.getDayOfWeek()).format(DateTimeFormatter.ofPattern(DATE_TIME_TPL))));
+                if (recur != null) {
+                    observance.getProperties().add(new RRule(recur));
+                } else {
+                    // transitions not expressible as a recurrence rule are specified explicitly, such that offsets
+                    // are only defined for RULE_TRANSITION_YEARS from the last explicit transition..
+                    final StringBuilder rdates = new StringBuilder();
+                    for (int year = startYear + 1; year < startYear + RULE_TRANSITION_YEARS; year++) {
+                        if (rdates.length() > 0) {
+                            rdates.append(',');
+                        }
+                        rdates.append(transitionRule.createTransition(year).getDateTimeBefore().format(
+                                DateTimeFormatter.ofPattern(DATE_TIME_TPL)));
+                    }
+                    observance.getProperties().add(new RDate(new ParameterList(), rdates.toString()));
+                }
+                observance.getProperties().add(new DtStart(start.getDateTimeBefore().format(
+                        DateTimeFormatter.ofPattern(DATE_TIME_TPL))));
 
                 result.getObservances().add(observance);
 
@@ -186,37 +256,192 @@ public class TimeZoneLoader {
         }
     }
 
+    /**
+     * Adds the explicit transitions of a zone, grouped into observances by offset. Transitions recurring annually
+     * on the same day of the month or week are coalesced into observances with a bounded recurrence rule, with any
+     * remaining transitions specified as RDATE values.
+     */
     private static void addTransitions(ZoneId zoneId, VTimeZone result, int rawTimeZoneOffsetInSeconds) throws ParseException {
-        Map<ZoneOffsetKey, Set<ZoneOffsetTransition>> zoneTransitionsByOffsets = new HashMap<ZoneOffsetKey, Set<ZoneOffsetTransition>>();
+        Map<ZoneOffsetKey, List<ZoneOffsetTransition>> zoneTransitionsByOffsets = new LinkedHashMap<>();
 
         for (ZoneOffsetTransition zoneTransitionRule : zoneId.getRules().getTransitions()) {
             ZoneOffsetKey offfsetKey = ZoneOffsetKey.of(zoneTransitionRule.getOffsetBefore(), zoneTransitionRule.getOffsetAfter());
 
-            Set<ZoneOffsetTransition> transitionRulesForOffset = zoneTransitionsByOffsets.computeIfAbsent(offfsetKey, k -> new HashSet<ZoneOffsetTransition>(1));
+            List<ZoneOffsetTransition> transitionRulesForOffset = zoneTransitionsByOffsets.computeIfAbsent(offfsetKey, k -> new ArrayList<>(1));
             transitionRulesForOffset.add(zoneTransitionRule);
         }
 
+        final DateTimeFormatter dateTimeFormat = DateTimeFormatter.ofPattern(DATE_TIME_TPL);
+        for (Map.Entry<ZoneOffsetKey, List<ZoneOffsetTransition>> e : zoneTransitionsByOffsets.entrySet()) {
+            final boolean daylight = e.getKey().offsetAfter.getTotalSeconds() > rawTimeZoneOffsetInSeconds;
+            final List<ZoneOffsetTransition> transitions = e.getValue();
+            final List<ZoneOffsetTransition> irregular = new ArrayList<>();
+
+            for (int i = 0; i < transitions.size(); ) {
+                final ZoneOffsetTransition first = transitions.get(i);
+                final LocalDateTime firstDateTime = first.getDateTimeBefore();
+                final Set<String> recurs = new LinkedHashSet<>(getYearlyRecurs(firstDateTime));
+                int end = i + 1;
+                for (; end < transitions.size(); end++) {
+                    final LocalDateTime previous = transitions.get(end - 1).getDateTimeBefore();
+                    final LocalDateTime next = transitions.get(end).getDateTimeBefore();
+                    if (next.getYear() != previous.getYear() + 1 || next.getMonth() != firstDateTime.getMonth()
+                            || !next.toLocalTime().equals(firstDateTime.toLocalTime())) {
+                        break;
+                    }
+                    final Set<String> nextRecurs = new LinkedHashSet<>(recurs);
+                    nextRecurs.retainAll(getYearlyRecurs(next));
+                    if (nextRecurs.isEmpty()) {
+                        break;
+                    }
+                    recurs.retainAll(nextRecurs);
+                }
 
-        for (Map.Entry<ZoneOffsetKey, Set<ZoneOffsetTransition>> e : zoneTransitionsByOffsets.entrySet()) {
-
-            Observance observance = (e.getKey().offsetAfter.getTotalSeconds() > rawTimeZoneOffsetInSeconds) ? new Daylight() : new Standard();
+                if (end - i < MIN_RECURRING_TRANSITIONS) {
+                    irregular.add(first);
+                    i++;
+                    continue;
+                }
 
-            LocalDateTime start = Collections.min(e.getValue()).getDateTimeBefore();
+                final ZoneOffsetTransition last = transitions.get(end - 1);
+                // an UNTIL value not before the last transition in either UTC or local time..
+                final LocalDateTime until = Collections.max(Arrays.asList(last.getDateTimeBefore(),
+                        LocalDateTime.ofInstant(last.getInstant(), ZoneOffset.UTC)));
+                final Observance observance = daylight ? new Daylight() : new Standard();
+                observance.getProperties().add(new DtStart(firstDateTime.format(dateTimeFormat)));
+                observance.getProperties().add(new TzOffsetFrom(e.getKey().offsetBefore));
+                observance.getProperties().add(new TzOffsetTo(e.getKey().offsetAfter));
+                observance.getProperties().add(new RRule(recurs.iterator().next() + ";UNTIL="
+                        + until.format(dateTimeFormat) + "Z"));
+                result.getObservances().add(observance);
+                i = end;
+            }
 
-            DtStart dtStart = new DtStart(start.format(DateTimeFormatter.ofPattern(DATE_TIME_TPL)));
-            TzOffsetFrom offsetFrom = new TzOffsetFrom(e.getKey().offsetBefore);
-            TzOffsetTo offsetTo = new TzOffsetTo(e.getKey().offsetAfter);
+            if (!irregular.isEmpty()) {
+                final Observance observance = daylight ? new Daylight() : new Standard();
+                observance.getProperties().add(new DtStart(irregular.get(0).getDateTimeBefore().format(dateTimeFormat)));
+                observance.getProperties().add(new TzOffsetFrom(e.getKey().offsetBefore));
+                observance.getProperties().add(new TzOffsetTo(e.getKey().offsetAfter));
+                if (irregular.size() > 1) {
+                    final StringBuilder rdates = new StringBuilder();
+                    for (ZoneOffsetTransition transition : irregular.subList(1, irregular.size())) {
+                        if (rdates.length() > 0) {
+                            rdates.append(',');
+                        }
+                        rdates.append(transition.getDateTimeBefore().format(dateTimeFormat));
+                    }
+                    observance.getProperties().add(new RDate(new ParameterList(), rdates.toString()));
+                }
+                result.getObservances().add(observance);
+            }
+        }
+    }
 
-            observance.getProperties().add(dtStart);
-            observance.getProperties().add(offsetFrom);
-            observance.getProperties().add(offsetTo);
+    /**
+     * Returns a yearly recurrence rule matching the local date of the transitions created by a transition rule over
+     * a full cycle of the calendar. As the local date may differ from the date specified by the rule (e.g. where the
+     * transition time is defined in UTC) it is derived from the transitions themselves.
+     *
+     * @return a recurrence rule, or null if the transitions are not expressible as a single recurrence rule
+     */
+    private static String getYearlyRecur(ZoneOffsetTransitionRule transitionRule, int startYear) {
+        final LocalDateTime first = transitionRule.createTransition(startYear).getDateTimeBefore();
+        final Set<String> recurs = new LinkedHashSet<>(getYearlyRecurs(first));
+        final List<LocalDate> dates = new ArrayList<>(28);
+        dates.add(first.toLocalDate());
+        boolean sameMonth = true;
+        boolean sameDayOfWeek = true;
+        for (int year = startYear + 1; year < startYear + 28; year++) {
+            final LocalDateTime next = transitionRule.createTransition(year).getDateTimeBefore();
+            dates.add(next.toLocalDate());
+            sameMonth &= next.getMonth() == first.getMonth();
+            sameDayOfWeek &= next.getDayOfWeek() == first.getDayOfWeek();
+            if (sameMonth) {
+                recurs.retainAll(getYearlyRecurs(next));
+            }
+        }
+        if (sameMonth && !recurs.isEmpty()) {
+            return recurs.iterator().next();
+        } else if (!sameDayOfWeek) {
+            return null;
+        } else if (sameMonth) {
+            final int minDayOfMonth = dates.stream().mapToInt(LocalDate::getDayOfMonth).min().getAsInt();
+            final int maxDayOfMonth = dates.stream().mapToInt(LocalDate::getDayOfMonth).max().getAsInt();
+            return maxDayOfMonth - minDayOfMonth < 7
+                    ? toRecur(first.getMonth(), minDayOfMonth, first.getDayOfWeek()) : null;
+        }
+        return toYearDayRecur(dates, first.getDayOfWeek());
+    }
 
-            for (ZoneOffsetTransition transition : e.getValue()) {
-                RDate rDate = new RDate(new ParameterList(), transition.getDateTimeBefore().format(DateTimeFormatter.ofPattern(DATE_TIME_TPL)));
-                observance.getProperties().add(rDate);
+    /**
+     * Returns a yearly recurrence rule for transitions on a day of the week within a range of seven days that spans
+     * the end of a month (e.g. the first Friday on or after 26 October). Days of the year are counted from the end
+     * of the year for dates after February, such that the range is the same in leap years.
+     *
+     * @return a recurrence rule, or null if the dates span the end of February or a range of more than seven days
+     */
+    private static String toYearDayRecur(List<LocalDate> dates, DayOfWeek dayOfWeek) {
+        final boolean afterFebruary = dates.get(0).getMonthValue() > Month.FEBRUARY.getValue();
+        final int[] daysOfYear = new int[dates.size()];
+        for (int i = 0; i < dates.size(); i++) {
+            final LocalDate date = dates.get(i);
+            if (date.getMonthValue() > Month.FEBRUARY.getValue() != afterFebruary) {
+                return null;
             }
-            result.getObservances().add(observance);
+            daysOfYear[i] = afterFebruary ? date.getDayOfYear() - date.lengthOfYear() - 1 : date.getDayOfYear();
+        }
+        final int first = Arrays.stream(daysOfYear).min().getAsInt();
+        if (Arrays.stream(daysOfYear).max().getAsInt() - first >= 7) {
+            return null;
+        }
+        final int last = Math.min(first + 6, afterFebruary ? -1 : 59);
+        final StringBuilder days = new StringBuilder();
+        for (int day = first; day <= last; day++) {
+            days.append(day > first ? "," : "").append(day);
+        }
+        return String.format("FREQ=YEARLY;BYYEARDAY=%s;BYDAY=%s", days, dayOfWeek.name().substring(0, 2));
+    }
+
+    /**
+     * Returns the yearly recurrence rules matching the specified local date-time, in order of preference.
+     */
+    private static List<String> getYearlyRecurs(LocalDateTime dateTime) {
+        final Month month = dateTime.getMonth();
+        final int dayOfMonth = dateTime.getDayOfMonth();
+        final List<String> recurs = new ArrayList<>(3);
+        if (dayOfMonth <= 28) {
+            recurs.add(toRecur(month, ((dayOfMonth - 1) / 7) * 7 + 1, dateTime.getDayOfWeek()));
+        }
+        if (dayOfMonth + 7 > month.length(Year.isLeap(dateTime.getYear()))) {
+            recurs.add(toRecur(month, -1, dateTime.getDayOfWeek()));
+        }
+        recurs.add(toRecur(month, dayOfMonth, null));
+        return recurs;
+    }
+
+    /**
+     * Returns a yearly recurrence rule equivalent to a transition rule, being the first specified day of the week
+     * on or after the specified day of the month (or on or before the day counted from the end of the month where
+     * negative), or the day of the month where no day of the week is specified.
+     */
+    private static String toRecur(Month month, int dayOfMonthIndicator, DayOfWeek dayOfWeek) {
+        if (dayOfWeek == null) {
+            return String.format("FREQ=YEARLY;BYMONTH=%d;BYMONTHDAY=%d", month.getValue(), dayOfMonthIndicator);
+        }
+        final String day = dayOfWeek.name().substring(0, 2);
+        if (dayOfMonthIndicator > 0 && dayOfMonthIndicator <= 22 && (dayOfMonthIndicator - 1) % 7 == 0) {
+            return String.format(RRULE_TPL, month.getValue(), (dayOfMonthIndicator - 1) / 7 + 1, day);
+        } else if (dayOfMonthIndicator == -1 || (month != Month.FEBRUARY
+                && dayOfMonthIndicator == month.maxLength() - 6)) {
+            return String.format(RRULE_TPL, month.getValue(), -1, day);
+        }
+        // otherwise the day of the week within a range of seven days..
+        final int first = dayOfMonthIndicator > 0 ? dayOfMonthIndicator : dayOfMonthIndicator - 6;
+        final StringBuilder days = new StringBuilder();
+        for (int i = 0; i < 7 && first + i <= month.maxLength(); i++) {
+            days.append(i > 0 ? "," : "").append(first + i);
         }
+        return String.format("FREQ=YEARLY;BYMONTH=%d;BYMONTHDAY=%s;BYDAY=%s", month.getValue(), days, day);
     }
 
     private static TimeZoneCache cacheInit() {
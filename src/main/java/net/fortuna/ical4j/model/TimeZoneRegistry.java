@@ -31,6 +31,16 @@
  */
 package net.fortuna.ical4j.model;
 
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
 /**
  * $Id$
  *
@@ -74,4 +84,44 @@ public interface TimeZoneRegistry {
      * is registered with the specified identifier null is returned.
      */
     TimeZone getTimeZone(final String id);
+
+    /**
+     * Loads the specified timezones in parallel, such that subsequent requests for these timezones are served
+     * without delay. Each timezone is also compiled for the current time (i.e. offset transitions and observance
+     * onsets are calculated) prior to completion.
+     *
+     * @param ids the identifiers of timezones to load
+     * @param executor the executor used to load timezones
+     * @return a future completed when all timezones are loaded, providing the time taken to load each timezone. Any
+     * identifiers for which no timezone is available are not included in the result.
+     */
+    default CompletableFuture<Map<String, Duration>> preload(final Collection<String> ids, final Executor executor) {
+        final Map<String, Duration> loadTimes = new ConcurrentHashMap<>();
+        final CompletableFuture<?>[] loading = ids.stream().distinct().map(id -> CompletableFuture.runAsync(() -> {
+            final long start = System.nanoTime();
+            try {
+                final TimeZone timezone = getTimeZone(id);
+                if (timezone != null) {
+                    final DateTime now = new DateTime();
+                    timezone.getOffset(now.getTime());
+                    timezone.getVTimeZone().getApplicableObservance(now);
+                    loadTimes.put(id, Duration.ofNanos(System.nanoTime() - start));
+                }
+            } catch (RuntimeException e) {
+                LoggerFactory.getLogger(TimeZoneRegistry.class).warn("Error preloading timezone: " + id, e);
+            }
+        }, executor)).toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(loading).thenApply(v -> loadTimes);
+    }
+
+    /**
+     * Loads all timezones available to this registry in parallel.
+     *
+     * @param executor the executor used to load timezones
+     * @return a future completed when all timezones are loaded, providing the time taken to load each timezone
+     * @see #preload(Collection, Executor)
+     */
+    default CompletableFuture<Map<String, Duration>> preloadAll(final Executor executor) {
+        return preload(Arrays.asList(java.util.TimeZone.getAvailableIDs()), executor);
+    }
 }
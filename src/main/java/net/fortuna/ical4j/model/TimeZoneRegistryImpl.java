@@ -42,9 +42,13 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.io.InputStream;
 import java.text.ParseException;
+import java.time.Duration;
 import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -66,6 +70,12 @@ public class TimeZoneRegistryImpl implements TimeZoneRegistry {
 
     private static final Map<String, TimeZone> DEFAULT_TIMEZONES = new ConcurrentHashMap<String, TimeZone>();
 
+    /**
+     * Default timezones currently being loaded, such that concurrent requests for the same timezone wait on a single
+     * load whilst different timezones load in parallel.
+     */
+    private static final Map<String, CompletableFuture<TimeZone>> LOADING_TIMEZONES = new ConcurrentHashMap<>();
+
     private static final Properties ALIASES = new Properties();
 
     static {
@@ -185,28 +195,12 @@ public class TimeZoneRegistryImpl implements TimeZoneRegistry {
                 if (alias != null) {
                     return getTimeZone(alias);
                 } else {
-                    synchronized (DEFAULT_TIMEZONES) {
-                        // check again as it may be loaded now..
-                        timezone = DEFAULT_TIMEZONES.get(id);
-                        if (timezone == null) {
-                            try {
-                                final VTimeZone vTimeZone = timeZoneLoader.loadVTimeZone(id);
-                                if (vTimeZone != null) {
-                                    // XXX: temporary kludge..
-                                    // ((TzId) vTimeZone.getProperties().getProperty(Property.TZID)).setValue(id);
-                                    timezone = new TimeZone(vTimeZone);
-                                    DEFAULT_TIMEZONES.put(timezone.getID(), timezone);
-                                } else if (lenientTzResolution) {
-                                    // strip global part of id and match on default tz..
-                                    Matcher matcher = TZ_ID_SUFFIX.matcher(id);
-                                    if (matcher.find()) {
-                                        return getTimeZone(matcher.group());
-                                    }
-                                }
-                            } catch (IOException | ParserException | ParseException e) {
-                                Logger log = LoggerFactory.getLogger(TimeZoneRegistryImpl.class);
-                                log.warn("Error occurred loading VTimeZone", e);
-                            }
+                    timezone = loadTimeZone(id);
+                    if (timezone == null && lenientTzResolution) {
+                        // strip global part of id and match on default tz..
+                        Matcher matcher = TZ_ID_SUFFIX.matcher(id);
+                        if (matcher.find()) {
+                            return getTimeZone(matcher.group());
                         }
                     }
                 }
@@ -214,4 +208,71 @@ public class TimeZoneRegistryImpl implements TimeZoneRegistry {
         }
         return timezone;
     }
+
+    /**
+     * Loads all default timezones available to this registry in parallel.
+     *
+     * @param executor the executor used to load timezones
+     * @return a future completed when all timezones are loaded, providing the time taken to load each timezone
+     */
+    @Override
+    public CompletableFuture<Map<String, Duration>> preloadAll(final Executor executor) {
+        return preload(timeZoneLoader.getAvailableIDs(), executor);
+    }
+
+    /**
+     * Loads a default timezone. Only one thread loads a given timezone at a time, with any other threads requesting
+     * the same timezone waiting for the result.
+     *
+     * @param id a timezone identifier
+     * @return the loaded timezone, or null if no definition is available for the identifier
+     */
+    private TimeZone loadTimeZone(final String id) {
+        final CompletableFuture<TimeZone> loading = new CompletableFuture<>();
+        final CompletableFuture<TimeZone> pending = LOADING_TIMEZONES.putIfAbsent(id, loading);
+        if (pending != null) {
+            try {
+                return pending.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                } else if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw e;
+            }
+        }
+        try {
+            // check again as it may be loaded now..
+            TimeZone timezone = DEFAULT_TIMEZONES.get(id);
+            if (timezone == null) {
+                final VTimeZone vTimeZone = timeZoneLoader.loadVTimeZone(id, updated -> {
+                    final TimeZone updatedTimezone = new TimeZone(updated);
+                    DEFAULT_TIMEZONES.put(updatedTimezone.getID(), updatedTimezone);
+                });
+                if (vTimeZone != null) {
+                    // XXX: temporary kludge..
+                    // ((TzId) vTimeZone.getProperties().getProperty(Property.TZID)).setValue(id);
+                    timezone = new TimeZone(vTimeZone);
+                    // retain any updated definition applied in the meantime..
+                    final TimeZone existing = DEFAULT_TIMEZONES.putIfAbsent(timezone.getID(), timezone);
+                    if (existing != null) {
+                        timezone = existing;
+                    }
+                }
+            }
+            loading.complete(timezone);
+            return timezone;
+        } catch (IOException | ParserException | ParseException e) {
+            Logger log = LoggerFactory.getLogger(TimeZoneRegistryImpl.class);
+            log.warn("Error occurred loading VTimeZone", e);
+            loading.complete(null);
+            return null;
+        } catch (RuntimeException | Error e) {
+            loading.completeExceptionally(e);
+            throw e;
+        } finally {
+            LOADING_TIMEZONES.remove(id, loading);
+        }
+    }
 }
@@ -0,0 +1,319 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.model.component.CalendarComponent;
+import net.fortuna.ical4j.model.component.Daylight;
+import net.fortuna.ical4j.model.component.Observance;
+import net.fortuna.ical4j.model.component.Standard;
+import net.fortuna.ical4j.model.component.VTimeZone;
+import net.fortuna.ical4j.model.parameter.TzId;
+import net.fortuna.ical4j.model.property.DateListProperty;
+import net.fortuna.ical4j.model.property.DateProperty;
+import net.fortuna.ical4j.model.property.DtStart;
+import net.fortuna.ical4j.model.property.Duration;
+import net.fortuna.ical4j.model.property.RDate;
+import net.fortuna.ical4j.model.property.RRule;
+import net.fortuna.ical4j.model.property.TzOffsetFrom;
+import net.fortuna.ical4j.model.property.TzOffsetTo;
+import net.fortuna.ical4j.util.TimeZones;
+
+import java.text.ParseException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Rewrites VTIMEZONE definitions to include only the observances applicable to a range of time, as described in
+ * RFC 7809 (truncated VTIMEZONE components). Such definitions are typically much smaller than the complete
+ * history of a timezone, and so reduce the size of calendars exchanged with other systems.
+ *
+ * A truncated definition begins with an observance at the start of the range, specifying the offset in effect at
+ * that time. Subsequent observances are rebased to their first onset within the range, retaining any open-ended
+ * recurrence rule, and all other onsets within the range are specified as RDATE values. Offsets prior to the start
+ * of the range are undefined.
+ *
+ * Example - Truncate the timezones of a calendar prior to output:
+ *
+ * <pre>
+ *     Calendar truncated = TimeZoneTruncator.truncate(calendar);
+ * </pre>
+ *
+ * @see net.fortuna.ical4j.data.CalendarOutputter#setTruncatingTimeZones(boolean)
+ */
+public final class TimeZoneTruncator {
+
+    private static final DateTimeFormatter DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("uuuuMMdd'T'HHmmss");
+
+    /**
+     * The limit for calculating onsets of observances without an open-ended recurrence rule.
+     */
+    private static final DateTime MAX_ONSET = new DateTime(LocalDate.of(10000, 1, 1).atStartOfDay()
+            .toInstant(ZoneOffset.UTC).toEpochMilli());
+
+    /**
+     * The number of years for which onsets of open-ended recurrence rules are calculated where the range is
+     * unbounded.
+     */
+    private static final int OPEN_RULE_YEARS = 10;
+
+    private TimeZoneTruncator() {
+    }
+
+    /**
+     * Returns a copy of the specified calendar in which each VTIMEZONE component is truncated to the range of
+     * time referenced by date properties of the calendar components. The range of a timezone referenced by a
+     * recurring component is unbounded, unless all recurrence rules of the component specify an UNTIL date.
+     * VTIMEZONE components not referenced by any date property are included unchanged.
+     *
+     * @param calendar a calendar
+     * @return a calendar sharing the properties and non-timezone components of the specified calendar
+     */
+    public static Calendar truncate(final Calendar calendar) {
+        final Map<String, long[]> ranges = new HashMap<>();
+        for (final CalendarComponent component : calendar.getComponents()) {
+            if (!(component instanceof VTimeZone)) {
+                addRanges(component, ranges);
+            }
+        }
+        final ComponentList<CalendarComponent> components = new ComponentList<>();
+        for (final CalendarComponent component : calendar.getComponents()) {
+            if (component instanceof VTimeZone) {
+                final VTimeZone vTimeZone = (VTimeZone) component;
+                final Property tzId = vTimeZone.getProperty(Property.TZID);
+                final long[] range = tzId != null ? ranges.get(tzId.getValue()) : null;
+                if (range != null) {
+                    components.add(truncate(vTimeZone, new java.util.Date(range[0]),
+                            range[1] != Long.MAX_VALUE ? new java.util.Date(range[1]) : null));
+                    continue;
+                }
+            }
+            components.add(component);
+        }
+        return new Calendar(calendar.getProperties(), components);
+    }
+
+    /**
+     * Truncates a VTIMEZONE definition to the specified range.
+     *
+     * @param vTimeZone a timezone definition
+     * @param start the start of the range
+     * @param end the end of the range, or null for an unbounded range
+     * @return a new definition with equivalent offsets within the range, sharing the VTIMEZONE properties and the
+     * observance properties other than DTSTART and RDATE of the specified definition
+     */
+    public static VTimeZone truncate(final VTimeZone vTimeZone, final java.util.Date start,
+                                     final java.util.Date end) {
+        final VTimeZone truncated = new VTimeZone();
+        truncated.getProperties().addAll(vTimeZone.getProperties());
+
+        final DateTime startTime = new DateTime(start.getTime());
+        startTime.setUtc(true);
+        final Observance initial = vTimeZone.getApplicableObservance(startTime);
+        if (initial != null) {
+            truncated.getObservances().add(initialObservance(initial, start.getTime()));
+        }
+        for (final Observance observance : vTimeZone.getObservances()) {
+            final Observance rebased = rebase(observance, start.getTime(), end != null ? end.getTime()
+                    : Long.MAX_VALUE);
+            if (rebased != null) {
+                truncated.getObservances().add(rebased);
+            }
+        }
+        return truncated;
+    }
+
+    /**
+     * Returns an observance specifying the offset of the specified observance from the start of the range.
+     */
+    private static Observance initialObservance(final Observance observance, final long start) {
+        final TzOffsetTo offsetTo = observance.getOffsetTo();
+        final Observance initial = observance instanceof Daylight ? new Daylight() : new Standard();
+        initial.getProperties().add(dtStart(start, offsetTo.getOffset()));
+        initial.getProperties().add(new TzOffsetFrom(offsetTo.getOffset()));
+        initial.getProperties().add(offsetTo);
+        initial.getProperties().addAll(observance.getProperties().stream()
+                .filter(p -> !isOnsetProperty(p) && !Property.TZOFFSETFROM.equals(p.getName())
+                        && !Property.TZOFFSETTO.equals(p.getName())).collect(Collectors.toList()));
+        return initial;
+    }
+
+    /**
+     * Returns a copy of the specified observance including only onsets after the start and not after the end of
+     * the range, or null if no such onsets exist.
+     */
+    private static Observance rebase(final Observance observance, final long start, final long end) {
+        final List<RRule> rrules = observance.getProperties(Property.RRULE);
+        final boolean openRule = !rrules.isEmpty() && rrules.stream().allMatch(r ->
+                r.getRecur().getUntil() == null && r.getRecur().getCount() < 0);
+
+        final DateTime limit;
+        if (!openRule) {
+            limit = MAX_ONSET;
+        } else if (end != Long.MAX_VALUE) {
+            limit = new DateTime(end);
+        } else {
+            limit = new DateTime(LocalDateTime.ofEpochSecond(start / 1000, 0, ZoneOffset.UTC)
+                    .plusYears(OPEN_RULE_YEARS).toInstant(ZoneOffset.UTC).toEpochMilli());
+        }
+        final long[] onsets = Arrays.stream(observance.getOnsets(limit))
+                .filter(onset -> onset > start && onset <= end).toArray();
+        if (onsets.length == 0) {
+            return null;
+        }
+
+        final ZoneOffset offsetFrom = observance.getOffsetFrom().getOffset();
+        final Observance rebased = observance instanceof Daylight ? new Daylight() : new Standard();
+        rebased.getProperties().add(dtStart(onsets[0], offsetFrom));
+
+        // an open-ended rule generates all subsequent onsets, other than those specified by RDATE..
+        final Set<Long> rdateOnsets = new TreeSet<>();
+        if (openRule) {
+            for (final RDate rdate : observance.<RDate>getProperties(Property.RDATE)) {
+                for (final java.util.Date date : rdate.getDates()) {
+                    final long onset = getOnset(date, offsetFrom);
+                    if (onset > onsets[0] && onset <= end) {
+                        rdateOnsets.add(onset);
+                    }
+                }
+            }
+        } else {
+            for (int i = 1; i < onsets.length; i++) {
+                rdateOnsets.add(onsets[i]);
+            }
+        }
+        if (!rdateOnsets.isEmpty()) {
+            final String rdates = rdateOnsets.stream().map(onset -> format(onset, offsetFrom))
+                    .collect(Collectors.joining(","));
+            try {
+                rebased.getProperties().add(new RDate(new ParameterList(), rdates));
+            } catch (ParseException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        rebased.getProperties().addAll(observance.getProperties().stream()
+                .filter(p -> !isOnsetProperty(p) || (openRule && Property.RRULE.equals(p.getName())))
+                .collect(Collectors.toList()));
+        return rebased;
+    }
+
+    /**
+     * Returns the onset specified by an RDATE value, being the value itself where specified in UTC, otherwise the
+     * local date-time at the specified offset.
+     */
+    private static long getOnset(final java.util.Date date, final ZoneOffset offsetFrom) {
+        if (date instanceof DateTime && ((DateTime) date).isUtc()) {
+            return date.getTime();
+        }
+        final java.util.TimeZone zone;
+        if (date instanceof DateTime) {
+            zone = ((DateTime) date).getTimeZone() != null ? ((DateTime) date).getTimeZone() : TimeZones.getDefault();
+        } else {
+            zone = TimeZones.getDateTimeZone();
+        }
+        return date.getTime() + zone.getOffset(date.getTime()) - offsetFrom.getTotalSeconds() * 1000L;
+    }
+
+    private static boolean isOnsetProperty(final Property property) {
+        return Property.DTSTART.equals(property.getName()) || Property.RDATE.equals(property.getName())
+                || Property.RRULE.equals(property.getName());
+    }
+
+    private static DtStart dtStart(final long instant, final ZoneOffset offset) {
+        try {
+            return new DtStart(format(instant, offset));
+        } catch (ParseException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String format(final long instant, final ZoneOffset offset) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(instant, 1000L), 0, offset).format(DATE_TIME_FORMAT);
+    }
+
+    /**
+     * Extends the range of each timezone referenced by date properties of the specified component.
+     */
+    private static void addRanges(final Component component, final Map<String, long[]> ranges) {
+        final Set<String> referenced = new HashSet<>();
+        for (final Property property : component.getProperties()) {
+            final TzId tzId = property.getParameter(Parameter.TZID);
+            if (tzId == null) {
+                continue;
+            }
+            final List<java.util.Date> dates = new ArrayList<>();
+            if (property instanceof DateProperty && ((DateProperty) property).getDate() != null) {
+                dates.add(((DateProperty) property).getDate());
+            } else if (property instanceof DateListProperty) {
+                dates.addAll(((DateListProperty) property).getDates());
+            }
+            for (final java.util.Date date : dates) {
+                extend(ranges, tzId.getValue(), date.getTime(), date.getTime());
+            }
+            if (!dates.isEmpty()) {
+                referenced.add(tzId.getValue());
+            }
+        }
+        if (referenced.isEmpty()) {
+            return;
+        }
+
+        long end = Long.MIN_VALUE;
+        final DateProperty start = component.getProperty(Property.DTSTART);
+        final Duration duration = component.getProperty(Property.DURATION);
+        if (start != null && start.getDate() instanceof DateTime && duration != null) {
+            end = new Period((DateTime) start.getDate(), duration.getDuration()).getEnd().getTime();
+        }
+        for (final RRule rrule : component.<RRule>getProperties(Property.RRULE)) {
+            final java.util.Date until = rrule.getRecur().getUntil();
+            end = until != null ? Math.max(end, until.getTime()) : Long.MAX_VALUE;
+            if (end == Long.MAX_VALUE) {
+                break;
+            }
+        }
+        if (end != Long.MIN_VALUE) {
+            for (final String tzId : referenced) {
+                extend(ranges, tzId, end, end);
+            }
+        }
+    }
+
+    private static void extend(final Map<String, long[]> ranges, final String tzId, final long start,
+                               final long end) {
+        final long[] range = ranges.computeIfAbsent(tzId, k -> new long[] {start, end});
+        range[0] = Math.min(range[0], start);
+        range[1] = Math.max(range[1], end);
+    }
+}
@@ -41,13 +41,23 @@ import net.fortuna.ical4j.util.Configurator;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.URL;
 import java.net.URLConnection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Support for updating timezone definitions.
+ *
+ * Updates may be applied synchronously, or asynchronously such that the existing definition is used until an
+ * update is available. Asynchronous updates are performed by a bounded pool of daemon threads, with connection
+ * timeouts applied by default and failed updates retried with exponential backoff.
  */
 public class TimeZoneUpdater {
 
@@ -58,10 +68,34 @@ public class TimeZoneUpdater {
     private static final String UPDATE_PROXY_TYPE = "net.fortuna.ical4j.timezone.update.proxy.type";
     private static final String UPDATE_PROXY_HOST = "net.fortuna.ical4j.timezone.update.proxy.host";
     private static final String UPDATE_PROXY_PORT = "net.fortuna.ical4j.timezone.update.proxy.port";
+    private static final String UPDATE_ASYNC = "net.fortuna.ical4j.timezone.update.async";
+    private static final String UPDATE_ASYNC_THREADS = "net.fortuna.ical4j.timezone.update.async.threads";
+    private static final String UPDATE_RETRY_ATTEMPTS = "net.fortuna.ical4j.timezone.update.retry.attempts";
+    private static final String UPDATE_RETRY_BACKOFF = "net.fortuna.ical4j.timezone.update.retry.backoff";
+
+    private static final int DEFAULT_ASYNC_THREADS = 2;
+    private static final int DEFAULT_ASYNC_TIMEOUT = 10000;
+    private static final int DEFAULT_RETRY_ATTEMPTS = 3;
+    private static final int DEFAULT_RETRY_BACKOFF = 30000;
 
     private Proxy proxy = null;
 
+    private final int retryAttempts;
+
+    private final long retryBackoff;
+
     public TimeZoneUpdater() {
+        this(Configurator.getIntProperty(UPDATE_RETRY_ATTEMPTS).orElse(DEFAULT_RETRY_ATTEMPTS),
+                Configurator.getIntProperty(UPDATE_RETRY_BACKOFF).orElse(DEFAULT_RETRY_BACKOFF));
+    }
+
+    /**
+     * @param retryAttempts the maximum number of attempts to retrieve an asynchronous update
+     * @param retryBackoff the delay in milliseconds before the first retry, doubled for each subsequent retry
+     */
+    public TimeZoneUpdater(int retryAttempts, long retryBackoff) {
+        this.retryAttempts = Math.max(retryAttempts, 1);
+        this.retryBackoff = retryBackoff;
         // Proxy configuration..
         try {
             if ("true".equals(Configurator.getProperty(UPDATE_PROXY_ENABLED).orElse("false"))) {
@@ -80,9 +114,20 @@ public class TimeZoneUpdater {
         return !"false".equals(Configurator.getProperty(UPDATE_ENABLED).orElse("true"));
     }
 
+    /**
+     * @return true if updates should be applied asynchronously
+     */
+    public boolean isAsync() {
+        return "true".equals(Configurator.getProperty(UPDATE_ASYNC).orElse("false"));
+    }
+
     public URLConnection openConnection(URL url) throws IOException {
-        final int connectTimeout = Configurator.getIntProperty(UPDATE_CONNECT_TIMEOUT).orElse(0);
-        final int readTimeout = Configurator.getIntProperty(UPDATE_READ_TIMEOUT).orElse(0);
+        return openConnection(url, 0);
+    }
+
+    private URLConnection openConnection(URL url, int defaultTimeout) throws IOException {
+        final int connectTimeout = Configurator.getIntProperty(UPDATE_CONNECT_TIMEOUT).orElse(defaultTimeout);
+        final int readTimeout = Configurator.getIntProperty(UPDATE_READ_TIMEOUT).orElse(defaultTimeout);
 
         URLConnection connection;
         if ("true".equals(Configurator.getProperty(UPDATE_PROXY_ENABLED).orElse("false")) && proxy != null) {
@@ -105,11 +150,7 @@ public class TimeZoneUpdater {
             final TzUrl tzUrl = vTimeZone.getTimeZoneUrl();
             if (tzUrl != null) {
                 try {
-                    URLConnection connection = openConnection(tzUrl.getUri().toURL());
-
-                    final CalendarBuilder builder = new CalendarBuilder();
-                    final Calendar calendar = builder.build(connection.getInputStream());
-                    final VTimeZone updatedVTimeZone = calendar.getComponent(Component.VTIMEZONE);
+                    final VTimeZone updatedVTimeZone = loadDefinition(openConnection(tzUrl.getUri().toURL()));
                     if (updatedVTimeZone != null) {
                         return updatedVTimeZone;
                     }
@@ -120,4 +161,68 @@ public class TimeZoneUpdater {
         }
         return vTimeZone;
     }
+
+    /**
+     * Retrieves an updated timezone definition in the background. Where an update cannot be retrieved it is
+     * retried with exponential backoff, up to the configured number of attempts.
+     *
+     * @param vTimeZone a timezone definition
+     * @return a future completed with the updated definition, or the specified definition if no update is
+     * available
+     */
+    public CompletableFuture<VTimeZone> updateDefinitionAsync(VTimeZone vTimeZone) {
+        if (!isEnabled() || vTimeZone == null || vTimeZone.getTimeZoneUrl() == null) {
+            return CompletableFuture.completedFuture(vTimeZone);
+        }
+        final CompletableFuture<VTimeZone> result = new CompletableFuture<>();
+        scheduleUpdate(vTimeZone, 1, 0, result);
+        return result;
+    }
+
+    private void scheduleUpdate(VTimeZone vTimeZone, int attempt, long delay, CompletableFuture<VTimeZone> result) {
+        Updates.EXECUTOR.schedule(() -> {
+            try {
+                final URL url = vTimeZone.getTimeZoneUrl().getUri().toURL();
+                final VTimeZone updatedVTimeZone = loadDefinition(openConnection(url, DEFAULT_ASYNC_TIMEOUT));
+                result.complete(updatedVTimeZone != null ? updatedVTimeZone : vTimeZone);
+            } catch (IOException | ParserException e) {
+                if (attempt < retryAttempts) {
+                    scheduleUpdate(vTimeZone, attempt + 1, retryBackoff << (attempt - 1), result);
+                } else {
+                    LoggerFactory.getLogger(TimeZoneLoader.class).warn("Error updating timezone definition", e);
+                    result.complete(vTimeZone);
+                }
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    private static VTimeZone loadDefinition(URLConnection connection) throws IOException, ParserException {
+        try (InputStream in = connection.getInputStream()) {
+            final CalendarBuilder builder = new CalendarBuilder();
+            final Calendar calendar = builder.build(in);
+            return calendar.getComponent(Component.VTIMEZONE);
+        }
+    }
+
+    /**
+     * A shared scheduler for asynchronous updates, initialised on first use.
+     */
+    private static final class Updates {
+
+        private static final ScheduledExecutorService EXECUTOR;
+
+        static {
+            final AtomicInteger count = new AtomicInteger();
+            final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+                    Configurator.getIntProperty(UPDATE_ASYNC_THREADS).orElse(DEFAULT_ASYNC_THREADS), r -> {
+                        final Thread thread = new Thread(r, "ical4j-timezone-update-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.setRemoveOnCancelPolicy(true);
+            EXECUTOR = executor;
+        }
+    }
 }
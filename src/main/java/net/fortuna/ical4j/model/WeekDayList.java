@@ -34,9 +34,9 @@ package net.fortuna.ical4j.model;
 import net.fortuna.ical4j.util.CompatibilityHints;
 
 import java.io.Serializable;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.StringTokenizer;
+import java.util.*;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 import java.util.stream.Collectors;
 
 /**
@@ -50,6 +50,8 @@ public class WeekDayList extends ArrayList<WeekDay> implements Serializable {
     
     private static final long serialVersionUID = 1243262497035300445L;
 
+    private transient boolean unmodifiable;
+
     /**
      * Default constructor.
      */
@@ -68,6 +70,14 @@ public class WeekDayList extends ArrayList<WeekDay> implements Serializable {
         super(initialCapacity);
     }
 
+    /**
+     * Creates a modifiable copy of the specified list.
+     * @param list a list to copy
+     */
+    WeekDayList(final WeekDayList list) {
+        super(list);
+    }
+
     /**
      * Constructor.
      * @param aString a string representation of a day list
@@ -92,6 +102,21 @@ public class WeekDayList extends ArrayList<WeekDay> implements Serializable {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public boolean add(final WeekDay weekDay) {
+        checkModifiable();
+        return super.add(weekDay);
+    }
+
+    @Override
+    public boolean addAll(final Collection<? extends WeekDay> c) {
+        checkModifiable();
+        return super.addAll(c);
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -99,4 +124,102 @@ public class WeekDayList extends ArrayList<WeekDay> implements Serializable {
     public final String toString() {
         return stream().map(WeekDay::toString).collect(Collectors.joining(","));
     }
+
+    @Override
+    public void add(final int index, final WeekDay element) {
+        checkModifiable();
+        super.add(index, element);
+    }
+
+    @Override
+    public boolean addAll(final int index, final Collection<? extends WeekDay> c) {
+        checkModifiable();
+        return super.addAll(index, c);
+    }
+
+    @Override
+    public WeekDay set(final int index, final WeekDay element) {
+        checkModifiable();
+        return super.set(index, element);
+    }
+
+    @Override
+    public WeekDay remove(final int index) {
+        checkModifiable();
+        return super.remove(index);
+    }
+
+    @Override
+    public boolean remove(final Object o) {
+        checkModifiable();
+        return super.remove(o);
+    }
+
+    @Override
+    public boolean removeAll(final Collection<?> c) {
+        checkModifiable();
+        return super.removeAll(c);
+    }
+
+    @Override
+    public boolean retainAll(final Collection<?> c) {
+        checkModifiable();
+        return super.retainAll(c);
+    }
+
+    @Override
+    public boolean removeIf(final Predicate<? super WeekDay> filter) {
+        checkModifiable();
+        return super.removeIf(filter);
+    }
+
+    @Override
+    public void replaceAll(final UnaryOperator<WeekDay> operator) {
+        checkModifiable();
+        super.replaceAll(operator);
+    }
+
+    @Override
+    public void sort(final Comparator<? super WeekDay> c) {
+        checkModifiable();
+        super.sort(c);
+    }
+
+    @Override
+    public void clear() {
+        checkModifiable();
+        super.clear();
+    }
+
+    @Override
+    protected void removeRange(final int fromIndex, final int toIndex) {
+        checkModifiable();
+        super.removeRange(fromIndex, toIndex);
+    }
+
+    @Override
+    public List<WeekDay> subList(final int fromIndex, final int toIndex) {
+        final List<WeekDay> subList = super.subList(fromIndex, toIndex);
+        return unmodifiable ? Collections.unmodifiableList(subList) : subList;
+    }
+
+    /**
+     * @return true if this list may not be modified
+     */
+    public final boolean isUnmodifiable() {
+        return unmodifiable;
+    }
+
+    /**
+     * Prevents any further modification of this list.
+     */
+    void setUnmodifiable() {
+        unmodifiable = true;
+    }
+
+    private void checkModifiable() {
+        if (unmodifiable) {
+            throw new UnsupportedOperationException("List is unmodifiable");
+        }
+    }
 }
@@ -0,0 +1,284 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.model.component.Daylight;
+import net.fortuna.ical4j.model.component.Observance;
+import net.fortuna.ical4j.model.component.VTimeZone;
+import net.fortuna.ical4j.model.property.DtStart;
+import net.fortuna.ical4j.model.property.RDate;
+import net.fortuna.ical4j.model.property.RRule;
+
+import java.time.*;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneOffsetTransitionRule;
+import java.time.zone.ZoneOffsetTransitionRule.TimeDefinition;
+import java.time.zone.ZoneRules;
+import java.util.*;
+
+/**
+ * Converts VTIMEZONE definitions to {@link ZoneRules}, such that offsets may be calculated with the efficiency of
+ * the JDK timezone implementation.
+ *
+ * Onsets derived from DTSTART and RDATE properties, and from recurrence rules with an UNTIL or COUNT, are
+ * converted to fixed transitions. Open-ended recurrence rules are converted to transition rules where they
+ * identify a single day in a single month of every year (e.g. <code>FREQ=YEARLY;BYMONTH=3;BYDAY=-1SU</code>), or
+ * an anniversary of the start date.
+ * As the semantics of VTIMEZONE observances and zone rules differ in some respects, converted rules are verified
+ * against the observances over a range of years, and definitions that cannot be expressed exactly are not
+ * converted.
+ *
+ * @see ZoneRulesRegistry
+ */
+public final class ZoneRulesConverter {
+
+    /**
+     * The number of years beyond the last fixed transition over which converted rules are verified.
+     */
+    private static final int VERIFIED_YEARS = 50;
+
+    private static final int MAX_YEAR = 9999;
+
+    private static final DateTimeFormatter LOCAL_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private static final Map<WeekDay.Day, DayOfWeek> DAYS_OF_WEEK = new EnumMap<>(WeekDay.Day.class);
+    static {
+        DAYS_OF_WEEK.put(WeekDay.Day.SU, DayOfWeek.SUNDAY);
+        DAYS_OF_WEEK.put(WeekDay.Day.MO, DayOfWeek.MONDAY);
+        DAYS_OF_WEEK.put(WeekDay.Day.TU, DayOfWeek.TUESDAY);
+        DAYS_OF_WEEK.put(WeekDay.Day.WE, DayOfWeek.WEDNESDAY);
+        DAYS_OF_WEEK.put(WeekDay.Day.TH, DayOfWeek.THURSDAY);
+        DAYS_OF_WEEK.put(WeekDay.Day.FR, DayOfWeek.FRIDAY);
+        DAYS_OF_WEEK.put(WeekDay.Day.SA, DayOfWeek.SATURDAY);
+    }
+
+    private ZoneRulesConverter() {
+    }
+
+    /**
+     * @param vTimeZone a timezone definition
+     * @return the equivalent zone rules, or an empty optional if the definition cannot be expressed exactly as
+     * zone rules
+     */
+    public static Optional<ZoneRules> toZoneRules(final VTimeZone vTimeZone) {
+        if (vTimeZone.getObservances().isEmpty()) {
+            return Optional.empty();
+        }
+        final List<ZoneOffsetTransitionRule> lastRules = new ArrayList<>();
+        int lastYear = Year.MIN_VALUE;
+        for (final Observance observance : vTimeZone.getObservances()) {
+            final DtStart start = observance.getStartDate();
+            if (start == null || observance.getOffsetFrom() == null || observance.getOffsetTo() == null) {
+                return Optional.empty();
+            }
+            final LocalDateTime localStart;
+            try {
+                localStart = LocalDateTime.parse(start.getValue(), LOCAL_FORMAT);
+            } catch (DateTimeParseException e) {
+                return Optional.empty();
+            }
+            lastYear = Math.max(lastYear, localStart.getYear());
+
+            final List<RRule> rrules = observance.getProperties(Property.RRULE);
+            final List<RDate> rdates = observance.getProperties(Property.RDATE);
+            boolean recurring = false;
+            for (final RRule rrule : rrules) {
+                recurring |= rrule.getRecur().getUntil() == null && rrule.getRecur().getCount() < 0;
+            }
+            if (recurring) {
+                if (rrules.size() > 1) {
+                    return Optional.empty();
+                }
+                final ZoneOffsetTransitionRule rule = toTransitionRule(observance, rrules.get(0).getRecur(),
+                        localStart);
+                if (rule == null) {
+                    return Optional.empty();
+                }
+                lastRules.add(rule);
+                for (final RDate rdate : rdates) {
+                    for (final Date date : rdate.getDates()) {
+                        lastYear = Math.max(lastYear, getYear(date.getTime()));
+                    }
+                }
+            } else {
+                final long[] onsets = observance.getOnsets(new DateTime(getStartOfYear(MAX_YEAR)));
+                if (onsets.length > 0) {
+                    lastYear = Math.max(lastYear, getYear(onsets[onsets.length - 1]));
+                }
+            }
+        }
+        if (lastYear >= MAX_YEAR - VERIFIED_YEARS) {
+            return Optional.empty();
+        }
+
+        // fixed transitions include at least one year of rule-based transitions..
+        final long fixedLimit = lastRules.isEmpty() ? getStartOfYear(MAX_YEAR) : getStartOfYear(lastYear + 2) - 1;
+        final ObservanceTransitions fixed = ObservanceTransitions.compile(vTimeZone, fixedLimit);
+        final ZoneOffset baseWallOffset = toOffset(fixed.offsets[0]);
+        final ZoneOffset baseStandardOffset = getStandardOffset(fixed.observances[0]);
+        final List<ZoneOffsetTransition> transitions = new ArrayList<>();
+        final List<ZoneOffsetTransition> standardTransitions = new ArrayList<>();
+        ZoneOffset wallOffset = baseWallOffset;
+        ZoneOffset standardOffset = baseStandardOffset;
+        for (int i = 1; i < fixed.instants.length; i++) {
+            if (fixed.instants[i] % 1000 != 0) {
+                return Optional.empty();
+            }
+            final long epochSecond = fixed.instants[i] / 1000;
+            final ZoneOffset offset = toOffset(fixed.offsets[i]);
+            if (!offset.equals(wallOffset)) {
+                transitions.add(ZoneOffsetTransition.of(LocalDateTime.ofEpochSecond(epochSecond, 0, wallOffset),
+                        wallOffset, offset));
+                wallOffset = offset;
+            }
+            final ZoneOffset standard = getStandardOffset(fixed.observances[i]);
+            if (!standard.equals(standardOffset)) {
+                standardTransitions.add(ZoneOffsetTransition.of(LocalDateTime.ofEpochSecond(epochSecond, 0,
+                        standardOffset), standardOffset, standard));
+                standardOffset = standard;
+            }
+        }
+        lastRules.sort(Comparator.comparing(rule -> rule.createTransition(2000).toEpochSecond()));
+
+        final ZoneRules rules = ZoneRules.of(baseStandardOffset, baseWallOffset, standardTransitions, transitions,
+                lastRules);
+        final long verifiedLimit = lastRules.isEmpty() ? fixedLimit : getStartOfYear(lastYear + VERIFIED_YEARS);
+        if (!verify(rules, ObservanceTransitions.compile(vTimeZone, verifiedLimit), verifiedLimit)) {
+            return Optional.empty();
+        }
+        return Optional.of(rules);
+    }
+
+    /**
+     * Converts a recurrence rule that identifies a single day of a single month of each year.
+     *
+     * @return a transition rule, or null if the recurrence rule is not supported
+     */
+    private static ZoneOffsetTransitionRule toTransitionRule(final Observance observance, final Recur recur,
+                                                             final LocalDateTime start) {
+
+        if (recur.getFrequency() != Recur.Frequency.YEARLY || recur.getInterval() > 1
+                || recur.getMonthList().size() > 1
+                || recur.getSkip() != null || !recur.getExperimentalValues().isEmpty()
+                || !recur.getHourList().isEmpty() || !recur.getMinuteList().isEmpty()
+                || !recur.getSecondList().isEmpty() || !recur.getSetPosList().isEmpty()
+                || !recur.getWeekNoList().isEmpty() || !recur.getYearDayList().isEmpty()
+                || recur.getDayList().size() > 1) {
+            return null;
+        }
+        final NumberList monthDays = recur.getMonthDayList();
+        final java.time.Month month;
+        if (!recur.getMonthList().isEmpty() && !recur.getMonthList().get(0).isLeapMonth()) {
+            month = java.time.Month.of(recur.getMonthList().get(0).getMonthOfYear());
+        } else if (recur.getMonthList().isEmpty() && recur.getDayList().isEmpty() && monthDays.isEmpty()) {
+            // the anniversary of the start date..
+            month = start.getMonth();
+        } else {
+            return null;
+        }
+
+        int dayOfMonthIndicator;
+        DayOfWeek dayOfWeek = null;
+        if (recur.getDayList().isEmpty()) {
+            // a fixed day of the month..
+            if (monthDays.size() > 1) {
+                return null;
+            }
+            dayOfMonthIndicator = monthDays.isEmpty() ? start.getDayOfMonth() : monthDays.get(0);
+            if (dayOfMonthIndicator < 1 || dayOfMonthIndicator > month.minLength()) {
+                return null;
+            }
+        } else {
+            final WeekDay weekDay = recur.getDayList().get(0);
+            dayOfWeek = DAYS_OF_WEEK.get(weekDay.getDay());
+            if (!monthDays.isEmpty()) {
+                // a day of the week within seven consecutive days of the month (e.g. BYMONTHDAY=8,9,10,11,12,13,14)..
+                final SortedSet<Integer> days = new TreeSet<>(monthDays);
+                if (weekDay.getOffset() != 0 || days.size() != 7 || days.first() < 1
+                        || days.last() != days.first() + 6 || days.last() > month.minLength()) {
+                    return null;
+                }
+                dayOfMonthIndicator = days.first();
+            } else if (weekDay.getOffset() > 0 && weekDay.getOffset() <= 4) {
+                dayOfMonthIndicator = 1 + 7 * (weekDay.getOffset() - 1);
+            } else if (weekDay.getOffset() < 0 && weekDay.getOffset() >= -4) {
+                dayOfMonthIndicator = -1 + 7 * (weekDay.getOffset() + 1);
+            } else {
+                return null;
+            }
+        }
+
+        final ZoneOffset offsetBefore = observance.getOffsetFrom().getOffset();
+        final ZoneOffset offsetAfter = observance.getOffsetTo().getOffset();
+        return ZoneOffsetTransitionRule.of(month, dayOfMonthIndicator, dayOfWeek, start.toLocalTime(), false,
+                TimeDefinition.WALL, getStandardOffset(observance), offsetBefore, offsetAfter);
+    }
+
+    /**
+     * Verifies that the zone rules specify the same offset changes as the compiled observances, up to the specified
+     * limit.
+     */
+    private static boolean verify(final ZoneRules rules, final ObservanceTransitions expected, final long limit) {
+        ZoneOffsetTransition transition = rules.nextTransition(Instant.MIN);
+        for (int i = 1; i < expected.instants.length; i++) {
+            if (expected.offsets[i] == expected.offsets[i - 1]) {
+                continue;
+            }
+            if (transition == null || transition.toEpochSecond() * 1000 != expected.instants[i]
+                    || transition.getOffsetBefore().getTotalSeconds() * 1000 != expected.offsets[i - 1]
+                    || transition.getOffsetAfter().getTotalSeconds() * 1000 != expected.offsets[i]) {
+                return false;
+            }
+            transition = rules.nextTransition(transition.getInstant());
+        }
+        return transition == null || transition.toEpochSecond() * 1000 > limit;
+    }
+
+    private static ZoneOffset getStandardOffset(final Observance observance) {
+        return observance instanceof Daylight ? observance.getOffsetFrom().getOffset()
+                : observance.getOffsetTo().getOffset();
+    }
+
+    private static ZoneOffset toOffset(final int offsetMillis) {
+        return ZoneOffset.ofTotalSeconds(offsetMillis / 1000);
+    }
+
+    private static int getYear(final long instant) {
+        return Instant.ofEpochMilli(instant).atOffset(ZoneOffset.UTC).getYear();
+    }
+
+    private static long getStartOfYear(final int year) {
+        return LocalDate.of(year, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model;
+
+import net.fortuna.ical4j.model.component.VTimeZone;
+import net.fortuna.ical4j.model.property.TzId;
+
+import java.time.ZoneId;
+import java.time.zone.ZoneRules;
+import java.time.zone.ZoneRulesException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A registry of zone rules in the style of {@link java.time.zone.ZoneRulesProvider}, serving rules converted from
+ * registered VTIMEZONE definitions in preference to the zone rules of the JDK. As custom zones may not be
+ * registered with the JDK, this registry is queried directly rather than via {@link ZoneId}.
+ *
+ * Where a registered definition cannot be expressed exactly as zone rules no rules are provided for its identifier,
+ * and offsets should be calculated via {@link TimeZone} instead.
+ *
+ * Example - Calculate offsets for a custom timezone:
+ *
+ * <pre>
+ *     ZoneRulesRegistry registry = new ZoneRulesRegistry();
+ *     registry.register(vTimeZone);
+ *
+ *     Optional&lt;ZoneRules&gt; rules = registry.getRules("My Timezone");
+ *     if (rules.isPresent()) {
+ *         ZoneOffset offset = rules.get().getOffset(instant);
+ *         ...
+ *     }
+ * </pre>
+ *
+ * @see ZoneRulesConverter
+ */
+public class ZoneRulesRegistry {
+
+    private final Map<String, Optional<ZoneRules>> rules = new ConcurrentHashMap<>();
+
+    /**
+     * Registers zone rules converted from the specified timezone definition, replacing any rules previously
+     * registered with the same identifier.
+     *
+     * @param vTimeZone a timezone definition
+     * @return the converted zone rules, or an empty optional if the definition cannot be expressed exactly as zone
+     * rules
+     */
+    public Optional<ZoneRules> register(final VTimeZone vTimeZone) {
+        final TzId tzId = vTimeZone.getProperty(Property.TZID);
+        final Optional<ZoneRules> converted = ZoneRulesConverter.toZoneRules(vTimeZone);
+        rules.put(tzId.getValue(), converted);
+        return converted;
+    }
+
+    /**
+     * @return the identifiers of all registered timezone definitions
+     */
+    public Set<String> getZoneIds() {
+        return Collections.unmodifiableSet(rules.keySet());
+    }
+
+    /**
+     * Returns the zone rules for the specified identifier. Rules converted from a registered timezone definition
+     * take precedence over rules provided by the JDK.
+     *
+     * @param id a timezone identifier
+     * @return the zone rules for the specified identifier, or an empty optional if no rules are available or the
+     * registered definition cannot be expressed exactly as zone rules
+     */
+    public Optional<ZoneRules> getRules(final String id) {
+        final Optional<ZoneRules> registered = rules.get(id);
+        if (registered != null) {
+            return registered;
+        }
+        if (ZoneId.getAvailableZoneIds().contains(id)) {
+            try {
+                return Optional.of(ZoneId.of(id).getRules());
+            } catch (ZoneRulesException e) {
+                return Optional.empty();
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Removes all registered timezone definitions.
+     */
+    public void clear() {
+        rules.clear();
+    }
+}
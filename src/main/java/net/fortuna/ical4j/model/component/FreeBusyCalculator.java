@@ -0,0 +1,434 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model.component;
+
+import net.fortuna.ical4j.model.*;
+import net.fortuna.ical4j.model.parameter.FbType;
+import net.fortuna.ical4j.model.property.*;
+
+import java.net.URI;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.TemporalAmount;
+import java.util.*;
+
+/**
+ * Calculates the free and busy time of any number of calendar users over a common range of time.
+ *
+ * The busy intervals of each user are collected from the instances of their VEVENT components, and from the
+ * FREEBUSY properties of any published VFREEBUSY components, as primitive start and end times. Busy time is then
+ * derived for each user, and in aggregate for all users, via a single sort and sweep of the interval boundaries.
+ *
+ * The FBTYPE of event instances is derived from the STATUS and TRANSP properties of the event, whereby transparent
+ * and cancelled events consume no time, tentative events are BUSY-TENTATIVE and all other events are BUSY. Where
+ * intervals of differing types overlap the time is reported as BUSY in preference to BUSY-UNAVAILABLE, and as
+ * BUSY-UNAVAILABLE in preference to BUSY-TENTATIVE. All busy time is limited to the calculated range.
+ *
+ * Example - Calculate the aggregate busy time of two calendar users:
+ *
+ * <pre>
+ *     FreeBusyCalculator calculator = new FreeBusyCalculator(start, end)
+ *         .add(URI.create("mailto:a@example.com"), calendarA.getComponents())
+ *         .add(URI.create("mailto:b@example.com"), calendarB.getComponents());
+ *
+ *     VFreeBusy busyTime = calculator.getReply();
+ * </pre>
+ *
+ * @see VFreeBusy#VFreeBusy(VFreeBusy, ComponentList)
+ */
+public class FreeBusyCalculator {
+
+    /**
+     * Busy types in ascending order of precedence.
+     */
+    private static final FbType[] BUSY_TYPES = {FbType.BUSY_TENTATIVE, FbType.BUSY_UNAVAILABLE, FbType.BUSY};
+
+    private static final byte BUSY_TENTATIVE = 0;
+
+    private static final byte BUSY_UNAVAILABLE = 1;
+
+    private static final byte BUSY = 2;
+
+    private static final byte NOT_BUSY = -1;
+
+    private final long rangeStart;
+
+    private final long rangeEnd;
+
+    private final TemporalAmount duration;
+
+    private final Map<URI, Intervals> busyTimeByUser = new LinkedHashMap<>();
+
+    private final Map<URI, Intervals> mergedBusyTimeByUser = new HashMap<>();
+
+    private Intervals mergedBusyTime;
+
+    /**
+     * @param start the start of the range of free/busy time
+     * @param end the end of the range of free/busy time
+     */
+    public FreeBusyCalculator(final DateTime start, final DateTime end) {
+        this(start.getTime(), end.getTime(), null);
+    }
+
+    /**
+     * Creates a calculator for the range of the specified request. Where the request specifies a DURATION, replies
+     * describe the free time of at least that duration, otherwise replies describe busy time.
+     *
+     * @param request a VFREEBUSY request
+     */
+    public FreeBusyCalculator(final VFreeBusy request) {
+        this(request.getStartDate().getDate().getTime(), request.getEndDate().getDate().getTime(),
+                request.getDuration() != null ? request.getDuration().getDuration() : null);
+    }
+
+    private FreeBusyCalculator(final long rangeStart, final long rangeEnd, final TemporalAmount duration) {
+        this.rangeStart = rangeStart;
+        this.rangeEnd = rangeEnd;
+        this.duration = duration;
+    }
+
+    /**
+     * Adds the busy time of the specified components to the busy time of a calendar user. Components other than
+     * VEVENT and VFREEBUSY are ignored.
+     *
+     * @param user the calendar address of a user
+     * @param components the components of a calendar of the user
+     * @return this calculator
+     */
+    public final FreeBusyCalculator add(final URI user, final Collection<? extends Component> components) {
+        final Intervals busyTime = busyTimeByUser.computeIfAbsent(user, k -> new Intervals());
+        final List<Component> events = new ArrayList<>();
+        for (final Component component : components) {
+            if (Component.VEVENT.equals(component.getName())) {
+                events.add(component);
+            } else if (Component.VFREEBUSY.equals(component.getName())) {
+                addFreeBusy(component, busyTime);
+            }
+        }
+
+        final Period range = new Period(new DateTime(rangeStart), new DateTime(rangeEnd));
+        for (final RecurringSeries<Component> series : RecurringSeries.of(events)) {
+            for (final Period instance : series.calculateRecurrenceSet(range)) {
+                final byte type = getBusyType(instance.getComponent());
+                if (type != NOT_BUSY) {
+                    addBusyTime(busyTime, instance.getStart().getTime(), instance.getEnd().getTime(), type);
+                }
+            }
+        }
+
+        mergedBusyTimeByUser.remove(user);
+        mergedBusyTime = null;
+        return this;
+    }
+
+    private void addFreeBusy(final Component freeBusy, final Intervals busyTime) {
+        for (final Property property : freeBusy.getProperties(Property.FREEBUSY)) {
+            final FbType fbType = property.getParameter(Parameter.FBTYPE);
+            final byte type;
+            if (fbType == null || FbType.BUSY.getValue().equals(fbType.getValue())) {
+                type = BUSY;
+            } else if (FbType.FREE.getValue().equals(fbType.getValue())) {
+                continue;
+            } else if (FbType.BUSY_TENTATIVE.getValue().equals(fbType.getValue())) {
+                type = BUSY_TENTATIVE;
+            } else if (FbType.BUSY_UNAVAILABLE.getValue().equals(fbType.getValue())) {
+                type = BUSY_UNAVAILABLE;
+            } else {
+                // unrecognised types are treated as busy..
+                type = BUSY;
+            }
+            for (final Period period : ((FreeBusy) property).getPeriods()) {
+                addBusyTime(busyTime, period.getStart().getTime(), period.getEnd().getTime(), type);
+            }
+        }
+    }
+
+    /**
+     * Adds a busy interval limited to the range of the calculator.
+     */
+    private void addBusyTime(final Intervals busyTime, final long start, final long end, final byte type) {
+        final long limitedStart = Math.max(start, rangeStart);
+        final long limitedEnd = Math.min(end, rangeEnd);
+        if (limitedStart < limitedEnd) {
+            busyTime.add(limitedStart, limitedEnd, type);
+        }
+    }
+
+    private static byte getBusyType(final Component event) {
+        if (Transp.TRANSPARENT.equals(event.getProperty(Property.TRANSP))) {
+            return NOT_BUSY;
+        }
+        final Status status = event.getProperty(Property.STATUS);
+        if (status != null && Status.VEVENT_CANCELLED.getValue().equals(status.getValue())) {
+            return NOT_BUSY;
+        } else if (status != null && Status.VEVENT_TENTATIVE.getValue().equals(status.getValue())) {
+            return BUSY_TENTATIVE;
+        }
+        return BUSY;
+    }
+
+    /**
+     * @return the calendar addresses of all users added to the calculator
+     */
+    public final Set<URI> getUsers() {
+        return Collections.unmodifiableSet(busyTimeByUser.keySet());
+    }
+
+    /**
+     * Returns the aggregate busy time of all users, as a FREEBUSY property for each type of busy time.
+     *
+     * @return a list of FREEBUSY properties ordered by FBTYPE, omitting types without busy time
+     */
+    public final List<FreeBusy> getBusyTime() {
+        return toBusyTime(getMergedBusyTime());
+    }
+
+    /**
+     * Returns the busy time of the specified user, as a FREEBUSY property for each type of busy time.
+     *
+     * @param user the calendar address of a user
+     * @return a list of FREEBUSY properties ordered by FBTYPE, omitting types without busy time
+     */
+    public final List<FreeBusy> getBusyTime(final URI user) {
+        return toBusyTime(getMergedBusyTime(user));
+    }
+
+    /**
+     * Returns the time in which no user is busy.
+     *
+     * @param minDuration the minimum duration of free periods
+     * @return a FREEBUSY property of type FREE
+     */
+    public final FreeBusy getFreeTime(final TemporalAmount minDuration) {
+        return toFreeTime(getMergedBusyTime(), minDuration);
+    }
+
+    /**
+     * Returns the time in which the specified user is not busy.
+     *
+     * @param user the calendar address of a user
+     * @param minDuration the minimum duration of free periods
+     * @return a FREEBUSY property of type FREE
+     */
+    public final FreeBusy getFreeTime(final URI user, final TemporalAmount minDuration) {
+        return toFreeTime(getMergedBusyTime(user), minDuration);
+    }
+
+    /**
+     * @return a VFREEBUSY reply describing the aggregate free or busy time of all users
+     * @see #FreeBusyCalculator(VFreeBusy)
+     */
+    public final VFreeBusy getReply() {
+        return toReply(getMergedBusyTime());
+    }
+
+    /**
+     * @param user the calendar address of a user
+     * @return a VFREEBUSY reply describing the free or busy time of the specified user
+     * @see #FreeBusyCalculator(VFreeBusy)
+     */
+    public final VFreeBusy getReply(final URI user) {
+        final VFreeBusy reply = toReply(getMergedBusyTime(user));
+        reply.getProperties().add(new Attendee(user));
+        return reply;
+    }
+
+    long getRangeStart() {
+        return rangeStart;
+    }
+
+    long getRangeEnd() {
+        return rangeEnd;
+    }
+
+    /**
+     * @param user the calendar address of a user
+     * @return the busy time of the specified user irrespective of type
+     */
+    IntervalSet getBusyIntervals(final URI user) {
+        return toIntervalSet(getMergedBusyTime(user));
+    }
+
+    private static IntervalSet toIntervalSet(final Intervals busyTime) {
+        final IntervalSet.Builder builder = new IntervalSet.Builder();
+        for (int i = 0; i < busyTime.size; i++) {
+            builder.add(busyTime.starts[i], busyTime.ends[i]);
+        }
+        return builder.build();
+    }
+
+    private VFreeBusy toReply(final Intervals busyTime) {
+        final VFreeBusy reply = new VFreeBusy();
+        reply.getProperties().add(new DtStart(new DateTime(rangeStart), true));
+        reply.getProperties().add(new DtEnd(new DateTime(rangeEnd), true));
+        if (duration != null) {
+            reply.getProperties().add(new Duration(duration));
+            final FreeBusy freeTime = toFreeTime(busyTime, duration);
+            if (!freeTime.getPeriods().isEmpty()) {
+                reply.getProperties().add(freeTime);
+            }
+        } else {
+            reply.getProperties().addAll(toBusyTime(busyTime));
+        }
+        return reply;
+    }
+
+    private Intervals getMergedBusyTime(final URI user) {
+        final Intervals busyTime = busyTimeByUser.get(user);
+        if (busyTime == null) {
+            throw new IllegalArgumentException("Unknown user: " + user);
+        }
+        return mergedBusyTimeByUser.computeIfAbsent(user, k -> merge(Collections.singletonList(busyTime)));
+    }
+
+    private Intervals getMergedBusyTime() {
+        if (mergedBusyTime == null) {
+            mergedBusyTime = merge(busyTimeByUser.values());
+        }
+        return mergedBusyTime;
+    }
+
+    /**
+     * Merges busy intervals via a sweep of all interval boundaries in time order, maintaining a count of the
+     * intervals of each type active at each boundary.
+     *
+     * @return non-overlapping intervals in time order, of the highest precedence type active in each interval
+     */
+    private static Intervals merge(final Collection<Intervals> sources) {
+        int size = 0;
+        for (final Intervals source : sources) {
+            size += source.size;
+        }
+        // boundaries are encoded as the time, followed by two bits for the type and a bit indicating the end..
+        final long[] boundaries = new long[size * 2];
+        int count = 0;
+        for (final Intervals source : sources) {
+            for (int i = 0; i < source.size; i++) {
+                boundaries[count++] = source.starts[i] << 3 | source.types[i] << 1;
+                boundaries[count++] = source.ends[i] << 3 | source.types[i] << 1 | 1;
+            }
+        }
+        Arrays.sort(boundaries);
+
+        final Intervals merged = new Intervals();
+        final int[] active = new int[BUSY_TYPES.length];
+        byte currentType = NOT_BUSY;
+        long currentStart = 0;
+        for (int i = 0; i < count;) {
+            final long time = boundaries[i] >> 3;
+            for (; i < count && boundaries[i] >> 3 == time; i++) {
+                active[(int) (boundaries[i] >> 1 & 3)] += (boundaries[i] & 1) == 0 ? 1 : -1;
+            }
+            byte type = NOT_BUSY;
+            for (byte t = BUSY; t >= 0 && type == NOT_BUSY; t--) {
+                if (active[t] > 0) {
+                    type = t;
+                }
+            }
+            if (type != currentType) {
+                if (currentType != NOT_BUSY) {
+                    merged.add(currentStart, time, currentType);
+                }
+                currentType = type;
+                currentStart = time;
+            }
+        }
+        return merged;
+    }
+
+    private static List<FreeBusy> toBusyTime(final Intervals busyTime) {
+        final List<FreeBusy> properties = new ArrayList<>();
+        for (byte type = BUSY; type >= 0; type--) {
+            final PeriodList periods = new PeriodList(true);
+            for (int i = 0; i < busyTime.size; i++) {
+                if (busyTime.types[i] == type) {
+                    periods.add(new Period(utc(busyTime.starts[i]), utc(busyTime.ends[i])));
+                }
+            }
+            if (!periods.isEmpty()) {
+                final FreeBusy property = new FreeBusy(periods);
+                property.getParameters().add(BUSY_TYPES[type]);
+                properties.add(property);
+            }
+        }
+        return properties;
+    }
+
+    private FreeBusy toFreeTime(final Intervals busyTime, final TemporalAmount minDuration) {
+        final Instant start = Instant.ofEpochMilli(rangeStart);
+        final long minMillis = Math.max(1, start.atZone(ZoneOffset.UTC).plus(minDuration).toInstant().toEpochMilli()
+                - rangeStart);
+
+        final FreeBusy freeTime = new FreeBusy(new PeriodList(true));
+        freeTime.getParameters().add(FbType.FREE);
+        final IntervalSet free = IntervalSet.of(rangeStart, rangeEnd).subtract(toIntervalSet(busyTime));
+        for (int i = 0; i < free.size(); i++) {
+            final long length = free.getEnd(i) - free.getStart(i);
+            if (length >= minMillis) {
+                freeTime.getPeriods().add(new Period(utc(free.getStart(i)), java.time.Duration.ofMillis(length)));
+            }
+        }
+        return freeTime;
+    }
+
+    private static DateTime utc(final long time) {
+        final DateTime dateTime = new DateTime(time);
+        dateTime.setUtc(true);
+        return dateTime;
+    }
+
+    /**
+     * Busy intervals held in primitive arrays.
+     */
+    private static final class Intervals {
+
+        private long[] starts = new long[16];
+
+        private long[] ends = new long[16];
+
+        private byte[] types = new byte[16];
+
+        private int size;
+
+        void add(final long start, final long end, final byte type) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+                types = Arrays.copyOf(types, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            types[size++] = type;
+        }
+    }
+}
@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model.component;
+
+import net.fortuna.ical4j.model.DateTime;
+import net.fortuna.ical4j.model.IntervalSet;
+import net.fortuna.ical4j.model.Period;
+
+import java.net.URI;
+import java.time.*;
+import java.util.*;
+
+/**
+ * Finds time slots of a specified length in which the attendees of a meeting are free, as derived from the busy
+ * time of a {@link FreeBusyCalculator}.
+ *
+ * All calendar users of the calculator are required attendees, unless specified as optional. The availability of
+ * each attendee is their working hours, if specified, in their own timezone, less any busy time. Slots are those
+ * in which all required attendees are available, starting at multiples of a granularity (15 minutes by default).
+ * Optional attendees are soft constraints, such that slots are ranked by the number of optional attendees available
+ * for the entire slot, and then by start time. Availability is calculated as an {@link IntervalSet} for each
+ * attendee.
+ *
+ * Example - Find the first three one hour slots in which two attendees are available during working hours:
+ *
+ * <pre>
+ *     List&lt;Period&gt; slots = new FreeSlotFinder(calculator)
+ *         .workingHours(attendeeA, ZoneId.of("Europe/Berlin"), LocalTime.of(9, 0), LocalTime.of(17, 0))
+ *         .workingHours(attendeeB, ZoneId.of("America/New_York"), LocalTime.of(8, 0), LocalTime.of(16, 0))
+ *         .find(Duration.ofHours(1), 3);
+ * </pre>
+ */
+public class FreeSlotFinder {
+
+    private static final Set<DayOfWeek> WEEKDAYS = Collections.unmodifiableSet(
+            EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+
+    private static final Duration DEFAULT_GRANULARITY = Duration.ofMinutes(15);
+
+    private final FreeBusyCalculator calculator;
+
+    private final Set<URI> optionalAttendees = new HashSet<>();
+
+    private final Map<URI, IntervalSet> workingHours = new HashMap<>();
+
+    private long granularity = DEFAULT_GRANULARITY.toMillis();
+
+    /**
+     * @param calculator the busy time of all attendees
+     */
+    public FreeSlotFinder(final FreeBusyCalculator calculator) {
+        this.calculator = calculator;
+    }
+
+    /**
+     * @param attendees the calendar addresses of attendees that are not required to be available
+     * @return this finder
+     */
+    public final FreeSlotFinder optional(final URI... attendees) {
+        for (final URI attendee : attendees) {
+            optionalAttendees.add(checkAttendee(attendee));
+        }
+        return this;
+    }
+
+    /**
+     * Limits the availability of an attendee to working hours on Monday to Friday.
+     *
+     * @param attendee the calendar address of an attendee
+     * @param zone the timezone of the attendee
+     * @param start the start of working hours
+     * @param end the end of working hours, which is on the following day where not after the start
+     * @return this finder
+     */
+    public final FreeSlotFinder workingHours(final URI attendee, final ZoneId zone, final LocalTime start,
+                                             final LocalTime end) {
+        return workingHours(attendee, zone, start, end, WEEKDAYS);
+    }
+
+    /**
+     * Limits the availability of an attendee to working hours on the specified days.
+     *
+     * @param attendee the calendar address of an attendee
+     * @param zone the timezone of the attendee
+     * @param start the start of working hours
+     * @param end the end of working hours, which is on the following day where not after the start
+     * @param days the working days of the attendee
+     * @return this finder
+     */
+    public final FreeSlotFinder workingHours(final URI attendee, final ZoneId zone, final LocalTime start,
+                                             final LocalTime end, final Set<DayOfWeek> days) {
+
+        final long rangeStart = calculator.getRangeStart();
+        final long rangeEnd = calculator.getRangeEnd();
+        final IntervalSet.Builder intervals = new IntervalSet.Builder();
+        // include the prior day to account for working hours spanning midnight..
+        LocalDate date = Instant.ofEpochMilli(rangeStart).atZone(zone).toLocalDate().minusDays(1);
+        final LocalDate lastDate = Instant.ofEpochMilli(rangeEnd).atZone(zone).toLocalDate();
+        for (; !date.isAfter(lastDate); date = date.plusDays(1)) {
+            if (days.contains(date.getDayOfWeek())) {
+                final LocalDate endDate = end.isAfter(start) ? date : date.plusDays(1);
+                intervals.add(ZonedDateTime.of(date, start, zone).toInstant().toEpochMilli(),
+                        ZonedDateTime.of(endDate, end, zone).toInstant().toEpochMilli());
+            }
+        }
+        workingHours.put(checkAttendee(attendee),
+                intervals.build().intersect(IntervalSet.of(rangeStart, rangeEnd)));
+        return this;
+    }
+
+    /**
+     * @param granularity the interval between the start times of candidate slots
+     * @return this finder
+     */
+    public final FreeSlotFinder granularity(final Duration granularity) {
+        if (granularity.isNegative() || granularity.isZero()) {
+            throw new IllegalArgumentException("Granularity must be positive: " + granularity);
+        }
+        this.granularity = granularity.toMillis();
+        return this;
+    }
+
+    private URI checkAttendee(final URI attendee) {
+        if (!calculator.getUsers().contains(attendee)) {
+            throw new IllegalArgumentException("Unknown attendee: " + attendee);
+        }
+        return attendee;
+    }
+
+    /**
+     * Returns the highest ranked slots of the specified length in which all required attendees are available.
+     *
+     * @param length the length of each slot
+     * @param count the maximum number of slots to return
+     * @return a list of up to the specified number of slots, ranked by the number of optional attendees available
+     * and then by start time
+     */
+    public final List<Period> find(final Duration length, final int count) {
+        final long slotLength = length.toMillis();
+        if (slotLength <= 0) {
+            throw new IllegalArgumentException("Slot length must be positive: " + length);
+        }
+
+        final IntervalSet range = IntervalSet.of(calculator.getRangeStart(), calculator.getRangeEnd());
+        IntervalSet required = range;
+        final List<IntervalSet> optional = new ArrayList<>();
+        for (final URI attendee : calculator.getUsers()) {
+            final IntervalSet available = workingHours.getOrDefault(attendee, range)
+                    .subtract(calculator.getBusyIntervals(attendee));
+            if (optionalAttendees.contains(attendee)) {
+                optional.add(available);
+            } else {
+                required = required.intersect(available);
+            }
+        }
+
+        // retain the highest ranked slots, with the lowest ranked slot at the head..
+        final PriorityQueue<long[]> slots = new PriorityQueue<>(Comparator.comparingLong((long[] slot) -> slot[1])
+                .thenComparing(Comparator.comparingLong((long[] slot) -> slot[0]).reversed()));
+        candidates:
+        for (int i = 0; i < required.size() && count > 0; i++) {
+            long start = Math.floorDiv(required.getStart(i) + granularity - 1, granularity) * granularity;
+            for (; start + slotLength <= required.getEnd(i); start += granularity) {
+                int score = 0;
+                for (final IntervalSet available : optional) {
+                    if (available.contains(start, start + slotLength)) {
+                        score++;
+                    }
+                }
+                if (slots.size() < count) {
+                    slots.add(new long[] {start, score});
+                } else if (score > slots.peek()[1]) {
+                    slots.poll();
+                    slots.add(new long[] {start, score});
+                }
+                // where all retained slots have all optional attendees available no later slot may rank higher..
+                if (slots.size() == count && slots.peek()[1] == optional.size()) {
+                    break candidates;
+                }
+            }
+        }
+
+        final List<long[]> ranked = new ArrayList<>(slots);
+        ranked.sort(slots.comparator().reversed());
+        final List<Period> result = new ArrayList<>(ranked.size());
+        for (final long[] slot : ranked) {
+            result.add(new Period(utc(slot[0]), utc(slot[0] + slotLength)));
+        }
+        return result;
+    }
+
+    private static DateTime utc(final long time) {
+        final DateTime dateTime = new DateTime(time);
+        dateTime.setUtc(true);
+        return dateTime;
+    }
+}
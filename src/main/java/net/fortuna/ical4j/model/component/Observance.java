@@ -35,15 +35,19 @@ import net.fortuna.ical4j.model.*;
 import net.fortuna.ical4j.model.parameter.Value;
 import net.fortuna.ical4j.model.property.*;
 import net.fortuna.ical4j.util.Dates;
-import net.fortuna.ical4j.util.TimeZones;
 import net.fortuna.ical4j.validate.ComponentValidator;
 import net.fortuna.ical4j.validate.ValidationException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.text.DateFormat;
 import java.text.ParseException;
-import java.text.SimpleDateFormat;
+import java.text.ParsePosition;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Collections;
@@ -75,26 +79,13 @@ public abstract class Observance extends Component {
     public static final String DAYLIGHT = "DAYLIGHT";
 
     // TODO: clear cache when observance definition changes (??)
-    private long[] onsetsMillisec;
-    private DateTime[] onsetsDates;
-    //    private Map onsets = new TreeMap();
-    private Date initialOnset = null;
-    private DateTime initialOnsetUTC = null;
+    private transient volatile Onsets onsets;
 
     /**
-     * Used for parsing times in a UTC date-time representation.
+     * Used for parsing times in a UTC date-time representation. Immutable, and so may be shared between threads.
      */
-    private static final String UTC_PATTERN = "yyyyMMdd'T'HHmmss";
-    private static final DateFormat UTC_FORMAT = new SimpleDateFormat(
-            UTC_PATTERN);
-
-    static {
-        UTC_FORMAT.setTimeZone(TimeZones.getUtcTimeZone());
-        UTC_FORMAT.setLenient(false);
-    }
-
-    /* If this is set we have rrules. If we get a date after this rebuild onsets */
-    private Date onsetLimit;
+    private static final DateTimeFormatter UTC_FORMAT = DateTimeFormatter.ofPattern("uuuuMMdd'T'HHmmss")
+            .withResolverStyle(ResolverStyle.STRICT);
 
     /**
      * Constructs a timezone observance with the specified name and no properties.
@@ -127,63 +118,101 @@ public abstract class Observance extends Component {
     }
 
     /**
-     * Returns the latest applicable onset of this observance for the specified date.
+     * Returns the latest applicable onset of this observance for the specified date. Onsets are cached on
+     * first use in an immutable form, such that an observance may be shared between threads without locking.
+     * Where the cached onsets don't extend to the specified date they are recalculated by a single thread.
      *
      * @param date the latest date that an observance onset may occur
      * @return the latest applicable observance date or null if there is no applicable observance onset for the
      * specified date
      */
     public final Date getLatestOnset(final Date date) {
+        Onsets cached = onsets;
+        if (cached == null || !cached.covers(date)) {
+            synchronized (this) {
+                cached = onsets;
+                if (cached == null || !cached.covers(date)) {
+                    cached = calculateOnsets(date);
+                    onsets = cached;
+                }
+            }
+        }
+        return cached.getLatestOnset(date);
+    }
+
+    /**
+     * Returns all onsets of this observance up to the specified date, such that the transitions of a timezone
+     * may be compiled ahead of time. Onsets prior to the effective date of this observance are omitted.
+     *
+     * @param limit the latest date for which onsets generated by a recurrence rule are returned
+     * @return a sorted array of distinct onset instants
+     */
+    public final long[] getOnsets(final Date limit) {
+        final Onsets cached = onsets;
+        final DateTime initialOnsetUTC = cached != null ? cached.initialOnsetUTC : calculateInitialOnset();
+        final DateTime initialOnset = applyOffsetFrom(initialOnsetUTC);
+        return calculateOnsets(initialOnsetUTC, initialOnset, limit).stream().mapToLong(Date::getTime)
+                .filter(onset -> onset >= initialOnset.getTime()).distinct().toArray();
+    }
 
+    /**
+     * Calculates the onsets applicable to the specified date, including any future onsets within ten years.
+     */
+    private Onsets calculateOnsets(final Date date) {
         // get first onset without adding TZFROM as this may lead to a day boundary
         // change which would be incompatible with BYDAY RRULES
         // we will have to add the offset to all cacheable onsets
-        if (initialOnsetUTC == null) {
-            try {
-                DtStart dtStart = (DtStart) getRequiredProperty(Property.DTSTART);
-                initialOnsetUTC = calculateOnset(dtStart.getDate());
-            } catch (ParseException | ConstraintViolationException e) {
-                Logger log = LoggerFactory.getLogger(Observance.class);
-                log.error("Unexpected error calculating initial onset", e);
-                // XXX: is this correct?
-    //            return null;
-                initialOnsetUTC = new DateTime(new java.util.Date(0));
-            }
-        }
+        final DateTime initialOnsetUTC = onsets != null ? onsets.initialOnsetUTC : calculateInitialOnset();
+        final DateTime initialOnset = applyOffsetFrom(initialOnsetUTC);
 
-        if (initialOnset == null) {
-            initialOnset = applyOffsetFrom(initialOnsetUTC);
+        /* If this is set we have rrules. If we get a date after this rebuild onsets */
+        Date onsetLimit = null;
+        if (!getProperties(Property.RRULE).isEmpty()) {
+            // include future onsets to determine onset period..
+            final Calendar cal = Dates.getCalendarInstance(date);
+            cal.setTime(date);
+            cal.add(Calendar.YEAR, 10);
+            onsetLimit = Dates.getInstance(cal.getTime(), Value.DATE_TIME);
         }
 
-        // observance not applicable if date is before the effective date of this observance..
-        if (date.before(initialOnset)) {
-            return null;
+        final DateList cacheableOnsets = calculateOnsets(initialOnsetUTC, initialOnset, onsetLimit);
+        final long[] onsetsMillisec = new long[cacheableOnsets.size()];
+        final DateTime[] onsetsDates = new DateTime[onsetsMillisec.length];
+        for (int i = 0; i < onsetsMillisec.length; i++) {
+            onsetsDates[i] = (DateTime) cacheableOnsets.get(i);
+            onsetsMillisec[i] = onsetsDates[i].getTime();
         }
+        return new Onsets(initialOnsetUTC, initialOnset, onsetLimit, onsetsMillisec, onsetsDates);
+    }
 
-        if ((onsetsMillisec != null) && (onsetLimit == null || date.before(onsetLimit))) {
-            return getCachedOnset(date);
+    private DateTime calculateInitialOnset() {
+        try {
+            DtStart dtStart = (DtStart) getRequiredProperty(Property.DTSTART);
+            return calculateOnset(dtStart.getDate());
+        } catch (ParseException | ConstraintViolationException e) {
+            Logger log = LoggerFactory.getLogger(Observance.class);
+            log.error("Unexpected error calculating initial onset", e);
+            // XXX: is this correct?
+//            return null;
+            return new DateTime(new java.util.Date(0));
         }
+    }
 
-        Date onset = initialOnset;
-        // collect all onsets for the purposes of caching..
-        final DateList cacheableOnsets = new DateList();
-        cacheableOnsets.setUtc(true);
-        cacheableOnsets.add(initialOnset);
+    /**
+     * Collects the onsets derived from DTSTART, RDATE and RRULE properties in ascending order.
+     *
+     * @param limit the latest date for which recurrence rule onsets are calculated
+     */
+    private DateList calculateOnsets(final DateTime initialOnsetUTC, final DateTime initialOnset, final Date limit) {
+        final DateList onsets = new DateList();
+        onsets.setUtc(true);
+        onsets.add(initialOnset);
 
-        // check rdates for latest applicable onset..
         final List<RDate> rdates = getProperties(Property.RDATE);
-        for (RDate rdate : rdates) {            
+        for (RDate rdate : rdates) {
             for (final Date rdateDate : rdate.getDates()) {
                 try {
-                    final DateTime rdateOnset = applyOffsetFrom(calculateOnset(rdateDate));
-                    if (!rdateOnset.after(date) && rdateOnset.after(onset)) {
-                        onset = rdateOnset;
-                    }
-                    /*
-                     * else if (rdateOnset.after(date) && rdateOnset.after(onset) && (nextOnset == null ||
-                     * rdateOnset.before(nextOnset))) { nextOnset = rdateOnset; }
-                     */
-                    cacheableOnsets.add(rdateOnset);
+                    onsets.add(applyOffsetFrom(calculateOnset(rdateDate)));
                 } catch (ParseException e) {
                     Logger log = LoggerFactory.getLogger(Observance.class);
                     log.error("Unexpected error calculating onset", e);
@@ -191,62 +220,20 @@ public abstract class Observance extends Component {
             }
         }
 
-        // check recurrence rules for latest applicable onset..
         final List<RRule> rrules = getProperties(Property.RRULE);
-        for (RRule rrule : rrules) {            
-            // include future onsets to determine onset period..
-            final Calendar cal = Dates.getCalendarInstance(date);
-            cal.setTime(date);
-            cal.add(Calendar.YEAR, 10);
-            onsetLimit = Dates.getInstance(cal.getTime(), Value.DATE_TIME);
+        for (RRule rrule : rrules) {
             final DateList recurrenceDates;
             if (rrule.getRecur().getDayList().isEmpty()) {
-                recurrenceDates = rrule.getRecur().getDates(initialOnset, onsetLimit, Value.DATE_TIME);
+                recurrenceDates = rrule.getRecur().getDates(initialOnset, limit, Value.DATE_TIME);
             } else {
-                recurrenceDates = rrule.getRecur().getDates(initialOnsetUTC, onsetLimit, Value.DATE_TIME);
+                recurrenceDates = rrule.getRecur().getDates(initialOnsetUTC, limit, Value.DATE_TIME);
             }
             for (final Date recurDate : recurrenceDates) {
-                final DateTime rruleOnset = applyOffsetFrom((DateTime) recurDate);
-                if (!rruleOnset.after(date) && rruleOnset.after(onset)) {
-                    onset = rruleOnset;
-                }
-                /*
-                 * else if (rruleOnset.after(date) && rruleOnset.after(onset) && (nextOnset == null ||
-                 * rruleOnset.before(nextOnset))) { nextOnset = rruleOnset; }
-                 */
-                cacheableOnsets.add(rruleOnset);
+                onsets.add(applyOffsetFrom((DateTime) recurDate));
             }
         }
-
-        // cache onsets..
-        Collections.sort(cacheableOnsets);
-        DateTime cacheableOnset;
-        this.onsetsMillisec = new long[cacheableOnsets.size()];
-        this.onsetsDates = new DateTime[onsetsMillisec.length];
-
-        for (int i = 0; i < onsetsMillisec.length; i++) {
-            cacheableOnset = (DateTime) cacheableOnsets.get(i);
-            onsetsMillisec[i] = cacheableOnset.getTime();
-            onsetsDates[i] = cacheableOnset;
-        }
-
-        return onset;
-    }
-
-    /**
-     * Returns a cached onset for the specified date.
-     *
-     * @param date
-     * @return a cached onset date or null if no cached onset is applicable for the specified date
-     */
-    private DateTime getCachedOnset(final Date date) {
-        int index = Arrays.binarySearch(onsetsMillisec, date.getTime());
-        if (index >= 0) {
-            return onsetsDates[index];
-        } else {
-            int insertionIndex = -index - 1;
-            return onsetsDates[insertionIndex - 1];
-        }
+        Collections.sort(onsets);
+        return onsets;
     }
 
     /**
@@ -289,9 +276,13 @@ public abstract class Observance extends Component {
         // Translate local onset into UTC time by parsing local time 
         // as GMT and adjusting by TZOFFSETFROM if required
         long utcOnset;
-
-        synchronized (UTC_FORMAT) {
-            utcOnset = UTC_FORMAT.parse(dateStr).getTime();
+        try {
+            utcOnset = LocalDateTime.from(UTC_FORMAT.parse(dateStr, new ParsePosition(0)))
+                    .toInstant(ZoneOffset.UTC).toEpochMilli();
+        } catch (DateTimeException e) {
+            // values may be parsed but not resolve to a local date-time..
+            throw new ParseException(e.getMessage(),
+                    e instanceof DateTimeParseException ? ((DateTimeParseException) e).getErrorIndex() : 0);
         }
 
         // return a UTC
@@ -305,4 +296,56 @@ public abstract class Observance extends Component {
         withOffset.setTime(orig.getTime() - (getOffsetFrom().getOffset().getTotalSeconds() * 1000L));
         return withOffset;
     }
+
+    /**
+     * An immutable snapshot of the onsets of an observance up to a limit.
+     */
+    private static final class Onsets {
+
+        private final DateTime initialOnsetUTC;
+
+        private final DateTime initialOnset;
+
+        private final Date limit;
+
+        private final long[] onsetsMillisec;
+
+        private final DateTime[] onsetsDates;
+
+        private Onsets(DateTime initialOnsetUTC, DateTime initialOnset, Date limit, long[] onsetsMillisec,
+                       DateTime[] onsetsDates) {
+            this.initialOnsetUTC = initialOnsetUTC;
+            this.initialOnset = initialOnset;
+            this.limit = limit;
+            this.onsetsMillisec = onsetsMillisec;
+            this.onsetsDates = onsetsDates;
+        }
+
+        /**
+         * Indicates whether the latest onset for the specified date may be determined from this snapshot.
+         */
+        private boolean covers(final Date date) {
+            return date.before(initialOnset) || limit == null || date.before(limit);
+        }
+
+        /**
+         * Returns a cached onset for the specified date.
+         *
+         * @param date
+         * @return a cached onset date or null if no cached onset is applicable for the specified date
+         */
+        private DateTime getLatestOnset(final Date date) {
+            // observance not applicable if date is before the effective date of this observance..
+            if (date.before(initialOnset)) {
+                return null;
+            }
+            int index = Arrays.binarySearch(onsetsMillisec, date.getTime());
+            if (index >= 0) {
+                return onsetsDates[index];
+            } else {
+                int insertionIndex = -index - 1;
+                return onsetsDates[insertionIndex - 1];
+            }
+        }
+    }
 }
@@ -307,6 +307,7 @@ public class VFreeBusy extends CalendarComponent implements ComponentContainer<C
      * @param request a VFREEBUSY request
      * @param components a component list used to initialise busy time
      * @throws ValidationException
+     * @see FreeBusyCalculator for the free/busy time of multiple calendar users
      */
     public VFreeBusy(final VFreeBusy request, final ComponentList<CalendarComponent> components) {
         this();
@@ -103,7 +103,7 @@ public class ExRule extends Property {
      */
     @Override
     public final void setValue(final String aValue) throws ParseException {
-        recur = new Recur(aValue);
+        recur = Recur.parse(aValue);
     }
 
     /**
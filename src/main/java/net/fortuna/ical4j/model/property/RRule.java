@@ -114,7 +114,7 @@ public class RRule extends Property {
      */
     @Override
     public final void setValue(final String aValue) throws ParseException {
-        recur = new Recur(aValue);
+        recur = Recur.parse(aValue);
     }
 
     /**
@@ -0,0 +1,325 @@
+package net.fortuna.ical4j.util;
+
+import net.fortuna.ical4j.model.component.Observance;
+import net.fortuna.ical4j.model.component.VTimeZone;
+
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * A timezone cache bounded by the number of cached definitions and, optionally, by their total weight. The weight
+ * of a definition is the number of properties it contains, such that definitions comprising many transitions (e.g.
+ * RDATE-based definitions) account for a greater proportion of the cache.
+ *
+ * Definitions are evicted in least recently used (LRU) or least frequently used (LFU) order. Definitions of the
+ * bundled timezones (i.e. those known to the JVM) are soft-pinned, being evicted only where no other definitions
+ * remain, so that registration of many custom timezones doesn't displace the bundled timezones.
+ *
+ * This cache may be selected and configured as follows:
+ *
+ * <pre>
+ *     net.fortuna.ical4j.timezone.cache.impl=net.fortuna.ical4j.util.BoundedTimeZoneCache
+ *     net.fortuna.ical4j.timezone.cache.maxsize=1000
+ *     net.fortuna.ical4j.timezone.cache.maxweight=0
+ *     net.fortuna.ical4j.timezone.cache.eviction={LRU|LFU}
+ * </pre>
+ */
+public class BoundedTimeZoneCache implements TimeZoneCache {
+
+    public static final String KEY_MAX_SIZE = "net.fortuna.ical4j.timezone.cache.maxsize";
+
+    /**
+     * The configuration property used to specify the maximum total weight of cached definitions. A value of 0
+     * (the default) doesn't bound the weight.
+     */
+    public static final String KEY_MAX_WEIGHT = "net.fortuna.ical4j.timezone.cache.maxweight";
+
+    public static final String KEY_EVICTION = "net.fortuna.ical4j.timezone.cache.eviction";
+
+    private static final int DEFAULT_MAX_SIZE = 1000;
+
+    /**
+     * Orders the eviction of cached definitions.
+     */
+    public enum Eviction {
+        /**
+         * Evict the least recently used definition.
+         */
+        LRU,
+        /**
+         * Evict the least frequently used definition, or the least recently used of equally used definitions.
+         */
+        LFU
+    }
+
+    private final int maxSize;
+
+    private final long maxWeight;
+
+    private final Eviction eviction;
+
+    private final Predicate<String> pinned;
+
+    private final Map<String, Entry> mapCache = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long weight;
+
+    private final List<TimeZoneCacheListener> listeners = new CopyOnWriteArrayList<>();
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    private final AtomicLong loadCount = new AtomicLong();
+
+    private final AtomicLong totalLoadNanos = new AtomicLong();
+
+    public BoundedTimeZoneCache() {
+        this(Configurator.getIntProperty(KEY_MAX_SIZE).orElse(DEFAULT_MAX_SIZE),
+                Configurator.getIntProperty(KEY_MAX_WEIGHT).orElse(0),
+                Configurator.getProperty(KEY_EVICTION).map(e -> Eviction.valueOf(e.toUpperCase()))
+                        .orElse(Eviction.LRU));
+    }
+
+    /**
+     * @param maxSize the maximum number of cached definitions
+     * @param maxWeight the maximum total weight of cached definitions, or 0 for no weight bound
+     * @param eviction the eviction order
+     */
+    public BoundedTimeZoneCache(int maxSize, long maxWeight, Eviction eviction) {
+        this(maxSize, maxWeight, eviction, new HashSet<>(Arrays.asList(java.util.TimeZone.getAvailableIDs()))::contains);
+    }
+
+    /**
+     * @param maxSize the maximum number of cached definitions
+     * @param maxWeight the maximum total weight of cached definitions, or 0 for no weight bound
+     * @param eviction the eviction order
+     * @param pinned identifies timezones that are only evicted where no other definitions remain
+     */
+    public BoundedTimeZoneCache(int maxSize, long maxWeight, Eviction eviction, Predicate<String> pinned) {
+        this.maxSize = maxSize;
+        this.maxWeight = maxWeight;
+        this.eviction = eviction;
+        this.pinned = pinned;
+    }
+
+    /**
+     * @param listener a listener notified of cache activity
+     */
+    public void addListener(TimeZoneCacheListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * @param listener a previously added listener
+     */
+    public void removeListener(TimeZoneCacheListener listener) {
+        listeners.remove(listener);
+    }
+
+    @Override
+    public VTimeZone getTimezone(String id) {
+        final Entry entry;
+        synchronized (mapCache) {
+            entry = mapCache.get(id);
+            if (entry != null) {
+                entry.frequency++;
+            }
+        }
+        if (entry != null) {
+            hitCount.incrementAndGet();
+            listeners.forEach(l -> l.hit(id));
+            return entry.timeZone;
+        }
+        missCount.incrementAndGet();
+        listeners.forEach(l -> l.miss(id));
+        return null;
+    }
+
+    @Override
+    public boolean putIfAbsent(String id, VTimeZone timeZone) {
+        return putIfAbsent(id, timeZone, 0);
+    }
+
+    @Override
+    public boolean putIfAbsent(String id, VTimeZone timeZone, long loadNanos) {
+        final List<Map.Entry<String, Entry>> evicted;
+        synchronized (mapCache) {
+            if (mapCache.containsKey(id)) {
+                return false;
+            }
+            put(id, timeZone);
+            evicted = evict(id);
+        }
+        loadCount.incrementAndGet();
+        totalLoadNanos.addAndGet(loadNanos);
+        listeners.forEach(l -> l.load(id, loadNanos));
+        notifyEvicted(evicted);
+        return true;
+    }
+
+    @Override
+    public boolean replace(String id, VTimeZone timeZone) {
+        final List<Map.Entry<String, Entry>> evicted;
+        synchronized (mapCache) {
+            put(id, timeZone);
+            evicted = evict(id);
+        }
+        notifyEvicted(evicted);
+        return true;
+    }
+
+    @Override
+    public boolean containsId(String id) {
+        synchronized (mapCache) {
+            return mapCache.containsKey(id);
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (mapCache) {
+            mapCache.clear();
+            weight = 0;
+        }
+    }
+
+    private void put(String id, VTimeZone timeZone) {
+        final Entry entry = new Entry(timeZone, weigh(timeZone), pinned.test(id));
+        final Entry existing = mapCache.put(id, entry);
+        if (existing != null) {
+            weight -= existing.weight;
+            entry.frequency = existing.frequency;
+        }
+        weight += entry.weight;
+    }
+
+    /**
+     * Evicts definitions until the cache is within bounds, retaining at least the specified definition.
+     */
+    private List<Map.Entry<String, Entry>> evict(String retainedId) {
+        List<Map.Entry<String, Entry>> evicted = Collections.emptyList();
+        while (mapCache.size() > 1 && (mapCache.size() > maxSize || (maxWeight > 0 && weight > maxWeight))) {
+            final Map.Entry<String, Entry> victim = selectVictim(retainedId);
+            mapCache.remove(victim.getKey());
+            weight -= victim.getValue().weight;
+            if (evicted.isEmpty()) {
+                evicted = new ArrayList<>();
+            }
+            evicted.add(victim);
+        }
+        return evicted;
+    }
+
+    /**
+     * Selects the next definition to evict, preferring definitions that are not pinned. Entries are iterated from
+     * least to most recently used.
+     */
+    private Map.Entry<String, Entry> selectVictim(String retainedId) {
+        Map.Entry<String, Entry> victim = null;
+        for (final Map.Entry<String, Entry> candidate : mapCache.entrySet()) {
+            if (candidate.getKey().equals(retainedId)) {
+                continue;
+            }
+            if (victim == null || (victim.getValue().pinned && !candidate.getValue().pinned)) {
+                victim = candidate;
+            } else if (eviction == Eviction.LFU && victim.getValue().pinned == candidate.getValue().pinned
+                    && candidate.getValue().frequency < victim.getValue().frequency) {
+                victim = candidate;
+            }
+            if (eviction == Eviction.LRU && !victim.getValue().pinned) {
+                break;
+            }
+        }
+        return victim;
+    }
+
+    private void notifyEvicted(List<Map.Entry<String, Entry>> evicted) {
+        for (final Map.Entry<String, Entry> entry : evicted) {
+            evictionCount.incrementAndGet();
+            listeners.forEach(l -> l.eviction(entry.getKey(), entry.getValue().timeZone));
+        }
+    }
+
+    private static int weigh(VTimeZone timeZone) {
+        int weight = timeZone.getProperties().size();
+        for (final Observance observance : timeZone.getObservances()) {
+            weight += observance.getProperties().size();
+        }
+        return weight;
+    }
+
+    /**
+     * @return the number of cached definitions
+     */
+    public int size() {
+        synchronized (mapCache) {
+            return mapCache.size();
+        }
+    }
+
+    /**
+     * @return the total weight of cached definitions
+     */
+    public long getWeight() {
+        synchronized (mapCache) {
+            return weight;
+        }
+    }
+
+    /**
+     * @return the number of requests satisfied by a cached definition
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return the number of requests not satisfied by a cached definition
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the number of definitions evicted to maintain the cache bounds
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * @return the number of definitions added to the cache
+     */
+    public long getLoadCount() {
+        return loadCount.get();
+    }
+
+    /**
+     * @return the total time taken to load definitions added to the cache, in nanoseconds
+     */
+    public long getTotalLoadNanos() {
+        return totalLoadNanos.get();
+    }
+
+    private static final class Entry {
+
+        private final VTimeZone timeZone;
+
+        private final int weight;
+
+        private final boolean pinned;
+
+        private long frequency;
+
+        private Entry(VTimeZone timeZone, int weight, boolean pinned) {
+            this.timeZone = timeZone;
+            this.weight = weight;
+            this.pinned = pinned;
+        }
+    }
+}
@@ -304,6 +304,10 @@ public final class Dates {
         if ((precision == PRECISION_SECOND) && ((time % Dates.MILLIS_PER_SECOND) == 0)) {
             return time;
         }
+        // UTC days are of fixed length, so avoid the cost of a calendar instance..
+        if ((precision == PRECISION_DAY) && TimeZones.isUtc(tz)) {
+            return time - Math.floorMod(time, MILLIS_PER_DAY);
+        }
         final Calendar cal = Calendar.getInstance(tz);
         cal.setTimeInMillis(time);
         if (precision == PRECISION_DAY) {
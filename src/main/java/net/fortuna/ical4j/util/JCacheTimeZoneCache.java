@@ -37,6 +37,12 @@ public class JCacheTimeZoneCache implements TimeZoneCache {
         return jcacheCache.putIfAbsent(id, timeZone);
     }
 
+    @Override
+    public boolean replace(String id, VTimeZone timeZone) {
+        jcacheCache.put(id, timeZone);
+        return true;
+    }
+
     @Override
     public boolean containsId(String id) {
         return jcacheCache.containsKey(id);
@@ -0,0 +1,136 @@
+package net.fortuna.ical4j.util;
+
+import net.fortuna.ical4j.model.Component;
+import net.fortuna.ical4j.model.Period;
+import net.fortuna.ical4j.model.RecurrenceSet;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A size-bounded recurrence cache that evicts the least recently used entries. The maximum number of cached
+ * components may be specified via configuration:
+ *
+ * <pre>net.fortuna.ical4j.recurrence.cache.maxsize=1000</pre>
+ */
+public class MapRecurrenceCache implements RecurrenceCache {
+
+    public static final String KEY_MAX_SIZE = "net.fortuna.ical4j.recurrence.cache.maxsize";
+
+    private static final int DEFAULT_MAX_SIZE = 1000;
+
+    private final Map<ComponentKey, RecurrenceSet> mapCache;
+
+    private final AtomicLong hitCount = new AtomicLong();
+
+    private final AtomicLong missCount = new AtomicLong();
+
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public MapRecurrenceCache() {
+        this(Configurator.getIntProperty(KEY_MAX_SIZE).orElse(DEFAULT_MAX_SIZE));
+    }
+
+    /**
+     * @param maxSize the maximum number of components for which recurrence sets are cached
+     */
+    public MapRecurrenceCache(int maxSize) {
+        mapCache = new LinkedHashMap<ComponentKey, RecurrenceSet>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ComponentKey, RecurrenceSet> eldest) {
+                if (size() > maxSize) {
+                    evictionCount.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    @Override
+    public RecurrenceSet getRecurrenceSet(Component component, Period period) {
+        RecurrenceSet recurrenceSet;
+        synchronized (mapCache) {
+            recurrenceSet = mapCache.get(new ComponentKey(component));
+        }
+        if (recurrenceSet != null && recurrenceSet.covers(period) && recurrenceSet.isCurrent(component)) {
+            hitCount.incrementAndGet();
+            return recurrenceSet;
+        }
+        missCount.incrementAndGet();
+        return null;
+    }
+
+    @Override
+    public void putRecurrenceSet(Component component, RecurrenceSet recurrenceSet) {
+        final ComponentKey key = new ComponentKey(component);
+        synchronized (mapCache) {
+            RecurrenceSet existing = mapCache.get(key);
+            if (existing != null && existing.isMergeable(recurrenceSet)) {
+                mapCache.put(key, existing.merge(recurrenceSet));
+            } else {
+                mapCache.put(key, recurrenceSet);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        synchronized (mapCache) {
+            mapCache.clear();
+        }
+    }
+
+    /**
+     * @return the number of components with a cached recurrence set
+     */
+    public int size() {
+        synchronized (mapCache) {
+            return mapCache.size();
+        }
+    }
+
+    /**
+     * @return the number of requests satisfied by a cached recurrence set
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * @return the number of requests not satisfied by a cached recurrence set
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return the number of recurrence sets evicted to maintain the maximum cache size
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Identifies cache entries by component identity rather than equality.
+     */
+    private static final class ComponentKey {
+
+        private final Component component;
+
+        private ComponentKey(Component component) {
+            this.component = component;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ComponentKey && ((ComponentKey) obj).component == component;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(component);
+        }
+    }
+}
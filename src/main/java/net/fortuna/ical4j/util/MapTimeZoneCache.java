@@ -29,6 +29,12 @@ public class MapTimeZoneCache implements TimeZoneCache {
         }
     }
 
+    @Override
+    public boolean replace(String id, VTimeZone timeZone) {
+        mapCache.put(id, timeZone);
+        return true;
+    }
+
     @Override
     public boolean containsId(String id) {
         return mapCache.containsKey(id);
@@ -0,0 +1,34 @@
+package net.fortuna.ical4j.util;
+
+import net.fortuna.ical4j.model.Component;
+import net.fortuna.ical4j.model.Period;
+import net.fortuna.ical4j.model.RecurrenceSet;
+
+/**
+ * A cache of expanded recurrence sets, keyed by component identity. Cached sets are only applicable while the
+ * content of the component is unchanged since the set was expanded.
+ *
+ * @see Component#KEY_RECURRENCE_CACHE_IMPL
+ */
+public interface RecurrenceCache {
+
+    /**
+     * @param component a component
+     * @param period the period for which recurrences are required
+     * @return a cached recurrence set that is current for the component and covers the period, or null if no such
+     * set exists
+     * @see RecurrenceSet#isCurrent(Component)
+     */
+    RecurrenceSet getRecurrenceSet(Component component, Period period);
+
+    /**
+     * Adds a recurrence set to the cache. Implementations should merge the set with any cached set of the same
+     * version where the expanded ranges are contiguous.
+     *
+     * @param component a component
+     * @param recurrenceSet a recurrence set expanded from the component
+     */
+    void putRecurrenceSet(Component component, RecurrenceSet recurrenceSet);
+
+    void clear();
+}
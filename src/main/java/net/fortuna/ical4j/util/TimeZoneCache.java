@@ -8,6 +8,29 @@ public interface TimeZoneCache {
 
     boolean putIfAbsent(String id, VTimeZone timeZone);
 
+    /**
+     * Adds a timezone definition to the cache, recording the time taken to load the definition.
+     *
+     * @param id a timezone identifier
+     * @param timeZone a timezone definition
+     * @param loadNanos the time taken to load the definition, in nanoseconds
+     * @return true if the definition was added, or false if a definition is already cached
+     */
+    default boolean putIfAbsent(String id, VTimeZone timeZone, long loadNanos) {
+        return putIfAbsent(id, timeZone);
+    }
+
+    /**
+     * Replaces a cached timezone definition with an updated definition.
+     *
+     * @param id a timezone identifier
+     * @param timeZone an updated timezone definition
+     * @return true if the cached definition was replaced, or false if updates are not supported by the cache
+     */
+    default boolean replace(String id, VTimeZone timeZone) {
+        return false;
+    }
+
     boolean containsId(String id);
 
     void clear();
@@ -0,0 +1,38 @@
+package net.fortuna.ical4j.util;
+
+import net.fortuna.ical4j.model.component.VTimeZone;
+
+/**
+ * Receives notification of timezone cache activity, e.g. for the purpose of collecting statistics.
+ * Implementations should return quickly as notifications are delivered on the thread accessing the cache.
+ *
+ * @see BoundedTimeZoneCache#addListener(TimeZoneCacheListener)
+ */
+public interface TimeZoneCacheListener {
+
+    /**
+     * @param id the identifier of a timezone retrieved from the cache
+     */
+    default void hit(String id) {
+    }
+
+    /**
+     * @param id the identifier of a timezone not present in the cache
+     */
+    default void miss(String id) {
+    }
+
+    /**
+     * @param id the identifier of a timezone added to the cache
+     * @param loadNanos the time taken to load the timezone definition, in nanoseconds
+     */
+    default void load(String id, long loadNanos) {
+    }
+
+    /**
+     * @param id the identifier of a timezone evicted to maintain the cache bounds
+     * @param timeZone the evicted timezone definition
+     */
+    default void eviction(String id, VTimeZone timeZone) {
+    }
+}
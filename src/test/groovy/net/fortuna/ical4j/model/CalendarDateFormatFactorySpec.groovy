@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model
+
+import net.fortuna.ical4j.util.TimeZones
+import spock.lang.Specification
+
+import java.text.SimpleDateFormat
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+
+class CalendarDateFormatFactorySpec extends Specification {
+
+    def 'verify formatting is consistent with java.text: #pattern #utc'() {
+        given: 'an optimized format and an equivalent date format'
+        def format = CalendarDateFormatFactory.getInstance(pattern)
+        format.timeZone = timezone
+        def expectedFormat = new SimpleDateFormat(pattern)
+        expectedFormat.timeZone = timezone
+        def date = java.util.Date.from(java.time.Instant.parse(utc))
+
+        expect: 'the formatted value is consistent with the date format'
+        format.format(date) == expectedFormat.format(date)
+
+        where:
+        pattern                     | utc                       | timezone
+        "yyyyMMdd'T'HHmmss"         | '2020-02-29T23:59:59Z'    | TimeZone.getTimeZone('Australia/Melbourne')
+        "yyyyMMdd'T'HHmmss"         | '1582-10-15T00:00:00Z'    | TimeZones.utcTimeZone
+        "yyyyMMdd'T'HHmmss'Z'"      | '1582-10-14T23:59:59Z'    | TimeZones.utcTimeZone
+        "yyyyMMdd'T'HHmmss'Z'"      | '-0100-03-01T12:00:00Z'   | TimeZones.utcTimeZone
+        'yyyyMMdd'                  | '1969-12-31T23:00:00Z'    | TimeZone.getTimeZone('Europe/Berlin')
+        'yyyyMMdd'                  | '1500-03-10T00:00:00Z'    | TimeZones.utcTimeZone
+        'HHmmss'                    | '1969-12-31T23:59:59Z'    | TimeZone.getTimeZone('America/New_York')
+        "HHmmss'Z'"                 | '2007-03-11T07:30:00Z'    | TimeZones.utcTimeZone
+    }
+
+    def 'verify parsing of time values: #value'() {
+        expect: 'time values are relative to the epoch date'
+        new Time(value, TimeZones.utcTimeZone).time == expectedTime
+
+        where:
+        value       | expectedTime
+        '000000'    | 0
+        '123456'    | ((12 * 60 + 34) * 60 + 56) * 1000
+        '123456Z'   | ((12 * 60 + 34) * 60 + 56) * 1000
+        '250000'    | 25 * 60 * 60 * 1000
+    }
+
+    def 'verify concurrent formatting and parsing of shared instances'() {
+        given: 'shared date-time instances in floating, local and utc forms'
+        def timezone = TimeZoneRegistryFactory.instance.createRegistry().getTimeZone('Europe/London')
+        def values = (0..<100).collect { String.format('2019%02d%02dT%02d%02d%02d', it % 12 + 1, it % 28 + 1,
+                it % 24, it % 60, (it * 7) % 60) }
+        def shared = values.collectMany { [new DateTime(it), new DateTime(it, timezone), new DateTime("${it}Z")] }
+        def expected = shared.collect { it.toString() }
+
+        and: 'an executor'
+        def executor = Executors.newFixedThreadPool(8)
+        def start = new CountDownLatch(1)
+
+        when: 'the instances are formatted and parsed concurrently'
+        def results = (0..<16).collect {
+            executor.submit({
+                start.await()
+                def formatted = []
+                100.times { formatted = shared.collect { dt -> new DateTime(dt.toString(), dt.timeZone).toString() } }
+                formatted
+            } as Callable)
+        }
+        start.countDown()
+
+        then: 'all results are consistent'
+        results.every { it.get() == expected }
+
+        cleanup:
+        executor.shutdown()
+    }
+}
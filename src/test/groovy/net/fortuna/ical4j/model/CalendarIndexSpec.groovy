@@ -0,0 +1,101 @@
+package net.fortuna.ical4j.model
+
+import spock.lang.Specification
+
+class CalendarIndexSpec extends Specification {
+
+    ContentBuilder builder = []
+
+    Calendar calendar
+
+    def setup() {
+        calendar = builder.calendar {
+            prodid '-//Ben Fortuna//iCal4j 1.0//EN'
+            version '2.0'
+            vevent {
+                uid '1'
+                dtstart '20140630T090000Z'
+                dtend '20140630T100000Z'
+                rrule 'FREQ=DAILY'
+            }
+            vevent {
+                uid '1'
+                recurrenceid '20140702T090000Z'
+                dtstart '20140702T093000Z'
+                dtend '20140702T103000Z'
+            }
+            vevent {
+                uid '2'
+                dtstart '20140701T093000Z'
+                dtend '20140701T113000Z'
+            }
+        }
+    }
+
+    def "test window queries"() {
+        given: 'an index over the calendar'
+        CalendarIndex index = [calendar, new Period('20140630T000000Z/20140707T000000Z')]
+
+        expect: 'the expected instances are returned'
+        index.getInstances(new Period(window)).collect { it.start.toString() } == expectedResults
+
+        where:
+        window                                  | expectedResults
+        '20140701T000000Z/20140702T000000Z'     | ['20140701T090000Z', '20140701T093000Z']
+        '20140702T000000Z/20140703T000000Z'     | ['20140702T093000Z']
+        '20140701T100000Z/20140701T110000Z'     | ['20140701T093000Z']
+        '20140801T000000Z/20140802T000000Z'     | ['20140801T090000Z']
+        '20140601T000000Z/20140602T000000Z'     | []
+    }
+
+    def "test point queries"() {
+        given: 'an index over the calendar'
+        CalendarIndex index = [calendar, new Period('20140630T000000Z/20140707T000000Z')]
+
+        expect: 'the expected instances are returned'
+        index.getInstances(new DateTime(point)).collect { it.start.toString() } == expectedResults
+
+        where:
+        point               | expectedResults
+        '20140701T094500Z'  | ['20140701T090000Z', '20140701T093000Z']
+        '20140701T100000Z'  | ['20140701T093000Z']
+        '20140702T090000Z'  | []
+    }
+
+    def "test overlap queries"() {
+        given: 'an index over the calendar'
+        CalendarIndex index = [calendar, new Period('20140630T000000Z/20140707T000000Z')]
+
+        and: 'an instance of the single event'
+        def instance = index.getInstances(new Period('20140701T093000Z/PT1M')).find {
+            it.component.getProperty(Property.UID).value == '2' }
+
+        expect: 'overlapping instances of other components are returned'
+        index.getOverlapping(instance).collect { it.start.toString() } == ['20140701T090000Z']
+    }
+
+    def "test index updates"() {
+        given: 'an index over the calendar'
+        CalendarIndex index = [calendar, new Period('20140630T000000Z/20140707T000000Z')]
+
+        when: 'a component is added'
+        def event = builder.vevent {
+            uid '3'
+            dtstart '20140703T120000Z'
+            dtend '20140703T130000Z'
+        }
+        index.add(event)
+
+        then: 'its instances are returned'
+        index.getInstances(new Period('20140703T000000Z/20140704T000000Z')).collect { it.start.toString() } ==
+                ['20140703T090000Z', '20140703T120000Z']
+
+        when: 'the override is removed'
+        index.remove(calendar.getComponents().find { it.getProperty(Property.RECURRENCE_ID) })
+
+        then: 'the recurring instance is restored'
+        index.getInstances(new Period('20140702T000000Z/20140703T000000Z')).collect { it.start.toString() } ==
+                ['20140702T090000Z']
+        calendar.getComponents().size() == 3
+    }
+}
@@ -0,0 +1,71 @@
+package net.fortuna.ical4j.model
+
+import net.fortuna.ical4j.model.component.VEvent
+import net.fortuna.ical4j.model.property.RRule
+import net.fortuna.ical4j.model.property.Uid
+
+import java.time.Duration
+import java.util.concurrent.Executors
+
+import spock.lang.Specification
+
+class CalendarSpec extends Specification {
+
+    def "test Calendar.expand"() {
+        given: 'a calendar with a recurring event, an override and a single event'
+        Calendar calendar = new ContentBuilder().calendar {
+            prodid '-//Ben Fortuna//iCal4j 1.0//EN'
+            version '2.0'
+            vevent {
+                uid '1'
+                dtstart '20140630T090000Z'
+                dtend '20140630T100000Z'
+                rrule 'FREQ=DAILY;COUNT=3'
+            }
+            vevent {
+                uid '1'
+                recurrenceid '20140701T090000Z'
+                dtstart '20140701T110000Z'
+                dtend '20140701T120000Z'
+            }
+            vevent {
+                uid '2'
+                dtstart '20140701T093000Z'
+                dtend '20140701T113000Z'
+            }
+        }
+
+        expect: 'instances of all components are returned in order'
+        calendar.expand(new Period('20140601T000000Z/20140801T000000Z'))
+                .collect { it.start.toString() } == ['20140630T090000Z', '20140701T093000Z', '20140701T110000Z',
+                                                     '20140702T090000Z']
+    }
+
+    def "test Calendar.expand with concurrent timezone use"() {
+        given: 'a calendar with many recurring events in a local timezone'
+        def registry = TimeZoneRegistryFactory.instance.createRegistry()
+        def tz = registry.getTimeZone('Australia/Melbourne')
+        Calendar calendar = []
+        (0..<200).each {
+            def start = new DateTime('20140101T090000', tz)
+            start.setTime(start.time + it * 3600000L)
+            def event = new VEvent(start, Duration.ofMinutes(30), "Event $it")
+            event.properties << new Uid("$it") << new RRule('FREQ=WEEKLY')
+            calendar.components << event
+        }
+        def period = new Period('20140101T000000Z/20160101T000000Z')
+
+        and: 'an executor'
+        def executor = Executors.newFixedThreadPool(8)
+
+        when: 'instances are expanded in parallel'
+        def parallel = calendar.expand(period, executor)
+
+        then: 'the result is equal to sequential expansion'
+        parallel.size() == calendar.components.sum { it.calculateRecurrenceSet(period).size() }
+        parallel == calendar.expand(period, { it.run() })
+
+        cleanup:
+        executor.shutdown()
+    }
+}
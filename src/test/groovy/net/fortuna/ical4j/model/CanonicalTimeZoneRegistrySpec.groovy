@@ -0,0 +1,113 @@
+package net.fortuna.ical4j.model
+
+import net.fortuna.ical4j.data.CalendarBuilder
+import net.fortuna.ical4j.model.component.Observance
+import net.fortuna.ical4j.model.property.DtStart
+import spock.lang.Specification
+
+class CanonicalTimeZoneRegistrySpec extends Specification {
+
+    static String calendar(String tzId, String lastModified, String... observances) {
+        ['BEGIN:VCALENDAR', 'VERSION:2.0', 'PRODID:-//Test//EN', 'BEGIN:VTIMEZONE', "TZID:$tzId",
+         "LAST-MODIFIED:$lastModified", *observances, 'END:VTIMEZONE',
+         'BEGIN:VEVENT', 'UID:1', 'DTSTAMP:20210101T000000Z', "DTSTART;TZID=$tzId:20210601T090000",
+         'END:VEVENT', 'END:VCALENDAR', ''].join('\r\n')
+    }
+
+    static final String STANDARD = ['BEGIN:STANDARD', 'DTSTART:19701025T030000', 'TZOFFSETFROM:+0200',
+            'TZOFFSETTO:+0100', 'RRULE:FREQ=YEARLY;BYMONTH=10;BYDAY=-1SU', 'TZNAME:CET', 'END:STANDARD'].join('\r\n')
+
+    static final String DAYLIGHT = ['BEGIN:DAYLIGHT', 'TZNAME:CEST', 'DTSTART:19700329T020000',
+            'TZOFFSETFROM:+0100', 'TZOFFSETTO:+0200', 'RRULE:FREQ=YEARLY;BYMONTH=3;BYDAY=-1SU', 'END:DAYLIGHT']
+            .join('\r\n')
+
+    static final String STANDARD_ONLY = ['BEGIN:STANDARD', 'DTSTART:19700101T000000', 'TZOFFSETFROM:+0100',
+            'TZOFFSETTO:+0100', 'END:STANDARD'].join('\r\n')
+
+    TimeZone parse(String data) {
+        parse(new CanonicalTimeZoneRegistryFactory().createRegistry(), data)
+    }
+
+    TimeZone parse(TimeZoneRegistry registry, String data) {
+        def calendar = new CalendarBuilder(registry).build(new StringReader(data))
+        DtStart start = calendar.getComponent(Component.VEVENT).getProperty(Property.DTSTART)
+        assert start.timeZone.is(registry.getTimeZone(start.timeZone.ID))
+        start.timeZone
+    }
+
+    def 'verify equivalent definitions share a timezone instance across builders'() {
+        when: 'calendars with equivalent definitions are parsed by separate builders'
+        def timezone1 = parse(calendar('Test/Canonical', '20200101T000000Z', STANDARD, DAYLIGHT))
+        def timezone2 = parse(calendar('Test/Canonical', '20210101T000000Z', DAYLIGHT, STANDARD))
+
+        then: 'the same timezone instance is shared'
+        timezone1.is(timezone2)
+
+        and: 'the timezone is applied to date properties'
+        timezone1.getOffset(Date.parse('yyyyMMdd', '20210601').time) == 7200000
+    }
+
+    def 'verify distinct definitions are not shared'() {
+        when: 'calendars with distinct definitions are parsed'
+        def timezone1 = parse(calendar('Test/Distinct', '20200101T000000Z', STANDARD, DAYLIGHT))
+        def timezone2 = parse(calendar('Test/Distinct', '20200101T000000Z', STANDARD_ONLY))
+        def timezone3 = parse(calendar('Test/Other', '20200101T000000Z', STANDARD, DAYLIGHT))
+
+        then: 'separate timezone instances are used'
+        !timezone1.is(timezone2)
+        !timezone1.is(timezone3)
+        timezone2.getOffset(Date.parse('yyyyMMdd', '20210601').time) == 3600000
+    }
+
+    def 'verify fingerprints ignore ordering and non-observance properties'() {
+        given: 'equivalent definitions'
+        def builder = new CalendarBuilder()
+        def vTimeZone1 = builder.build(new StringReader(calendar('Test/Fingerprint', '20200101T000000Z',
+                STANDARD, DAYLIGHT))).getComponent(Component.VTIMEZONE)
+        def vTimeZone2 = builder.build(new StringReader(calendar('Test/Fingerprint', '20210101T000000Z',
+                DAYLIGHT, STANDARD))).getComponent(Component.VTIMEZONE)
+
+        expect: 'fingerprints are equal'
+        vTimeZone1 != vTimeZone2
+        CanonicalTimeZoneRegistry.getFingerprint(vTimeZone1) == CanonicalTimeZoneRegistry.getFingerprint(vTimeZone2)
+    }
+
+    def 'verify shared timezones are not affected by changes to registered definitions'() {
+        given: 'a registered timezone'
+        def registry = new CanonicalTimeZoneRegistryFactory().createRegistry()
+        def vTimeZone = new CalendarBuilder().build(new StringReader(calendar('Test/Copy', '20200101T000000Z',
+                STANDARD, DAYLIGHT))).getComponent(Component.VTIMEZONE)
+        def timezone = new TimeZone(vTimeZone)
+        registry.register(timezone)
+        def shared = registry.getTimeZone('Test/Copy')
+
+        when: 'the registered definition is subsequently modified'
+        vTimeZone.observances.remove(vTimeZone.observances.getComponent(Observance.DAYLIGHT))
+
+        then: 'the shared timezone is a copy of the original definition'
+        !shared.is(timezone)
+        shared.VTimeZone.observances.size() == 2
+        shared.getOffset(Date.parse('yyyyMMdd', '20210601').time) == 7200000
+    }
+
+    def 'verify clearing a registry releases only the shared timezones it created'() {
+        given: 'registries sharing a timezone created by the first registry'
+        def registry1 = new CanonicalTimeZoneRegistryFactory().createRegistry()
+        def registry2 = new CanonicalTimeZoneRegistryFactory().createRegistry()
+        def timezone1 = parse(registry1, calendar('Test/Clear', '20200101T000000Z', STANDARD, DAYLIGHT))
+        def timezone2 = parse(registry2, calendar('Test/Clear', '20210101T000000Z', STANDARD, DAYLIGHT))
+
+        when: 'the second registry is cleared'
+        registry2.clear()
+
+        then: 'the timezone is still shared'
+        timezone1.is(timezone2)
+        timezone1.is(parse(calendar('Test/Clear', '20220101T000000Z', STANDARD, DAYLIGHT)))
+
+        when: 'the first registry is cleared'
+        registry1.clear()
+
+        then: 'subsequent equivalent definitions are not shared with previous instances'
+        !timezone1.is(parse(calendar('Test/Clear', '20230101T000000Z', STANDARD, DAYLIGHT)))
+    }
+}
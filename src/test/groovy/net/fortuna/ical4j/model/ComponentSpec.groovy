@@ -34,4 +34,30 @@ class ComponentSpec extends Specification {
                                                                    '20150430T000000Z/PT1H',
                                                                    '20150530T000000Z/PT1H', '20150630T000000Z/PT1H']
     }
+
+    def "test Component.calculateRecurrenceSet with overlapping recurrence dates and exclusions"() {
+        given: 'a component'
+        VEvent component = new ContentBuilder().with {
+            vevent {
+                dtstart '20140630T000000Z'
+                dtend '20140630T010000Z'
+                rrule 'FREQ=DAILY;COUNT=6'
+                rdate('20140701T000000Z,20140710T000000Z', parameters: parameters() { value('DATE-TIME') })
+                exdate '20140702T000000Z'
+                exrule 'FREQ=WEEKLY;BYDAY=TH;COUNT=1'
+            }
+        }
+        and: 'an expected list of periods'
+        def expectedPeriods = new PeriodList()
+        expectedPeriods.addAll(expectedResults.collect { new Period(it)})
+
+        expect: 'calculate recurrence set returns the expected results'
+        component.calculateRecurrenceSet(period) == expectedPeriods
+
+        where:
+        period    | expectedResults
+        new Period('20140630T000000Z/20140731T000000Z') | ['20140630T000000Z/PT1H', '20140701T000000Z/PT1H',
+                                                           '20140704T000000Z/PT1H', '20140705T000000Z/PT1H',
+                                                           '20140710T000000Z/PT1H']
+    }
 }
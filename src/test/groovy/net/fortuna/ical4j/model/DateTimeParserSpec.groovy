@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model
+
+import net.fortuna.ical4j.util.TimeZones
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.text.SimpleDateFormat
+
+import static net.fortuna.ical4j.model.DateTimeParser.Form.*
+import static net.fortuna.ical4j.model.DateTimeParser.INVALID
+
+class DateTimeParserSpec extends Specification {
+
+    @Shared TimeZoneRegistry tzRegistry = TimeZoneRegistryFactory.instance.createRegistry()
+
+    def 'verify parsing is consistent with java.text: #value'() {
+        given: 'an equivalent date format'
+        def format = new SimpleDateFormat(pattern)
+        format.timeZone = timezone
+        format.lenient = false
+
+        expect: 'the parsed value is consistent with the date format'
+        DateTimeParser.tryParse(form, value, timezone, false) == format.parse(value).time
+
+        where:
+        form            | value                     | pattern                           | timezone
+        DATE            | '20200229'                | 'yyyyMMdd'                        | TimeZones.utcTimeZone
+        DATE            | '15821004'                | 'yyyyMMdd'                        | TimeZones.utcTimeZone
+        DATE            | '15000229'                | 'yyyyMMdd'                        | TimeZones.utcTimeZone
+        DATE_TIME       | '19970714T133000'         | "yyyyMMdd'T'HHmmss"               | tzRegistry.getTimeZone('America/New_York')
+        DATE_TIME       | '20071104T013000'         | "yyyyMMdd'T'HHmmss"               | tzRegistry.getTimeZone('America/New_York')
+        DATE_TIME       | '20191225T102604'         | "yyyyMMdd'T'HHmmss"               | TimeZone.getTimeZone('Australia/Lord_Howe')
+        UTC_DATE_TIME   | '19970714T173000Z'        | "yyyyMMdd'T'HHmmss'Z'"            | TimeZones.utcTimeZone
+        UTC_DATE_TIME   | '20050104T1100000Z'       | "yyyyMMdd'T'HHmmss'Z'"            | TimeZones.utcTimeZone
+        VCARD_DATE      | '1997-07-14'              | 'yyyy-MM-dd'                      | TimeZones.utcTimeZone
+        VCARD_DATE_TIME | '1997-07-14T13:30:00Z'    | "yyyy-MM-dd'T'HH:mm:ss'Z'"        | TimeZones.utcTimeZone
+    }
+
+    def 'verify parsing local times in a timezone: #value'() {
+        given: 'a timezone'
+        def timezone = tzRegistry.getTimeZone('Australia/Lord_Howe')
+
+        expect: 'local times are converted using the applicable offset'
+        DateTimeParser.tryParse(DATE_TIME, value, timezone, false) == java.time.Instant.parse(expectedUtc).toEpochMilli()
+
+        where:
+        value               | expectedUtc
+        '20190701T120000'   | '2019-07-01T01:30:00Z'
+        '20191225T102604'   | '2019-12-24T23:26:04Z'
+    }
+
+    def 'verify invalid values are rejected: #value'() {
+        expect: 'strict parsing rejects the value'
+        DateTimeParser.tryParse(form, value, timezone, false) == INVALID
+
+        where:
+        form            | value                 | timezone
+        DATE            | '2020022'             | TimeZones.utcTimeZone
+        DATE            | '2020-02-29'          | TimeZones.utcTimeZone
+        DATE            | '20190229'            | TimeZones.utcTimeZone
+        DATE            | '00001231'            | TimeZones.utcTimeZone
+        DATE_TIME       | '20200229 120000'     | TimeZones.utcTimeZone
+        DATE_TIME       | '20201301T120000'     | TimeZones.utcTimeZone
+        DATE_TIME       | '20200101T240000'     | TimeZones.utcTimeZone
+        DATE_TIME       | '20200101T235960'     | TimeZones.utcTimeZone
+        DATE_TIME       | '2020010AT120000'     | TimeZones.utcTimeZone
+        DATE_TIME       | '20070311T023000'     | TimeZone.getTimeZone('America/New_York')
+        UTC_DATE_TIME   | '20200101T120000'     | TimeZones.utcTimeZone
+    }
+
+    def 'verify lenient parsing: #value'() {
+        given: 'a timezone'
+        def timezone = TimeZone.getTimeZone('America/New_York')
+
+        expect: 'fields overflow and gaps are resolved using the prior offset'
+        DateTimeParser.tryParse(DATE_TIME, value, timezone, true) == java.time.Instant.parse(expectedUtc).toEpochMilli()
+
+        where:
+        value               | expectedUtc
+        '20070230T010000'   | '2007-03-02T06:00:00Z'
+        '20071301T000000'   | '2008-01-01T05:00:00Z'
+        '20070101T240000'   | '2007-01-02T05:00:00Z'
+        '20070311T023000'   | '2007-03-11T07:30:00Z'
+        '20070101T120000X'  | '2007-01-01T17:00:00Z'
+    }
+
+    def 'verify form matching'() {
+        expect:
+        DATE.matches('20200101', false)
+        !DATE.matches('20200101T120000', false)
+        DATE.matches('20200101T120000', true)
+        DATE_TIME.matches('20200101T1200000', false)
+        UTC_DATE_TIME.length('20200101T1200000Z') == 17
+    }
+}
@@ -48,6 +48,32 @@ class DurSpec extends Specification {
 		new Dur(-2, 0, 0, 0)	| '-P2D'
 	}
 
+    @Unroll
+	def 'verify string parsing: #value'() {
+		expect: 'parsed fields equal expected'
+		def dur = new Dur(value)
+		[dur.weeks, dur.days, dur.hours, dur.minutes, dur.seconds, dur.negative] == expectedFields
+
+		where:
+		value			| expectedFields
+		'P2W'			| [2, 0, 0, 0, 0, false]
+		'-P1DT2H3M4S'	| [0, 1, 2, 3, 4, true]
+		'+PT15M'		| [0, 0, 0, 15, 0, false]
+		'PT-8H'			| [0, 0, 8, 0, 0, true]
+	}
+
+    @Unroll
+	def 'verify invalid values are rejected: #value'() {
+		when:
+		new Dur(value)
+
+		then:
+		thrown(NumberFormatException)
+
+		where:
+		value << ['PTH', 'P1.5D', 'PT99999999999S']
+	}
+
     @Unroll
 	def 'verify duration plus time operations: #duration'() {
 		expect: 'derived end time value equals expected'
@@ -0,0 +1,108 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model
+
+import spock.lang.Specification
+
+class IntervalSetSpec extends Specification {
+
+    static IntervalSet intervals(long... boundaries) {
+        def builder = new IntervalSet.Builder()
+        for (int i = 0; i < boundaries.length; i += 2) {
+            builder.add(boundaries[i], boundaries[i + 1])
+        }
+        builder.build()
+    }
+
+    def 'verify normalisation of intervals: #boundaries'() {
+        expect: 'overlapping and adjacent intervals are combined and empty intervals are omitted'
+        intervals(boundaries as long[]).toArray() == expected as long[]
+
+        where:
+        boundaries                          | expected
+        []                                  | []
+        [5, 5]                              | []
+        [10, 20, 0, 5]                      | [0, 5, 10, 20]
+        [0, 10, 2, 3, 5, 15]                | [0, 15]
+        [0, 5, 5, 10, 12, 14, 7, 7]         | [0, 10, 12, 14]
+        [0, 10, 0, 10, 20, 30, 25, 26]      | [0, 10, 20, 30]
+    }
+
+    def 'verify set operations'() {
+        given: 'two interval sets'
+        def a = intervals(0, 10, 20, 30, 40, 50)
+        def b = intervals(5, 25, 30, 35, 45, 60)
+
+        expect: 'operations are consistent with the time of each set'
+        a.union(b).toArray() == [0, 35, 40, 60] as long[]
+        a.intersect(b).toArray() == [5, 10, 20, 25, 45, 50] as long[]
+        a.subtract(b).toArray() == [0, 5, 25, 30, 40, 45] as long[]
+        b.subtract(a).toArray() == [10, 20, 30, 35, 50, 60] as long[]
+
+        and: 'operations with an empty set'
+        a.union(IntervalSet.EMPTY) == a
+        a.intersect(IntervalSet.EMPTY).empty
+        a.subtract(IntervalSet.EMPTY) == a
+    }
+
+    def 'verify interval queries'() {
+        given: 'an interval set'
+        def set = intervals(0, 10, 20, 30)
+
+        expect:
+        set.contains(start, end) == expectedContains
+        set.intersects(start, end) == expectedIntersects
+
+        where:
+        start   | end   | expectedContains  | expectedIntersects
+        0       | 10    | true              | true
+        2       | 8     | true              | true
+        5       | 25    | false             | true
+        10      | 20    | false             | false
+        -5      | 0     | false             | false
+        25      | 40    | false             | true
+        30      | 40    | false             | false
+    }
+
+    def 'verify period list view and subtraction'() {
+        given: 'a list of overlapping periods'
+        def periods = new PeriodList('20140701T090000Z/PT2H,20140701T100000Z/20140701T120000Z,20140701T140000Z/PT1H')
+
+        expect: 'the interval set combines overlapping periods'
+        periods.intervalSet.toString() == '20140701T090000Z/20140701T120000Z,20140701T140000Z/20140701T150000Z'
+        periods.intervalSet == IntervalSet.of(periods.normalise())
+
+        and: 'each period is reduced by the subtracted intervals'
+        periods.subtract(new PeriodList('20140701T103000Z/PT1H,20140701T113000Z/PT3H')).toString() ==
+                '20140701T090000Z/20140701T103000Z,20140701T100000Z/20140701T103000Z,20140701T143000Z/20140701T150000Z'
+    }
+}
@@ -32,6 +32,7 @@
 package net.fortuna.ical4j.model
 
 import net.fortuna.ical4j.model.parameter.Value
+import net.fortuna.ical4j.model.property.RRule
 import net.fortuna.ical4j.util.CompatibilityHints
 import spock.lang.Specification
 import spock.lang.Unroll
@@ -459,4 +460,70 @@ class RecurSpec extends Specification {
         rule	| seed	| start	| expectedDate
         'FREQ=MONTHLY;COUNT=100;INTERVAL=1'	| new DateTime('20180329T025959')	| new DateTime('20170729T030000')	| new DateTime('20180329T025959')
     }
+
+    def 'test shared parsed recurrence instances'() {
+        given: 'recurrences parsed from equivalent strings'
+        Recur recur1 = Recur.parse('FREQ=WEEKLY;BYDAY=MO,WE,FR')
+        Recur recur2 = Recur.parse('BYDAY=MO,WE,FR;FREQ=WEEKLY')
+
+        expect: 'the same instance is returned'
+        recur1.is(recur2)
+        recur1.is(new RRule('FREQ=WEEKLY;BYDAY=MO,WE,FR').recur)
+
+        when: 'a shared instance is modified'
+        recur1.setCount(3)
+
+        then: 'an exception is thrown'
+        thrown(UnsupportedOperationException)
+
+        and: 'a modified copy may be built'
+        new Recur.Builder(recur1).count(3).build() as String == 'FREQ=WEEKLY;COUNT=3;BYDAY=MO,WE,FR'
+        recur1 as String == 'FREQ=WEEKLY;BYDAY=MO,WE,FR'
+    }
+
+    def 'test recurrence setters'() {
+        given: 'a recurrence'
+        Recur recur = ['FREQ=DAILY;COUNT=10;BYHOUR=9']
+
+        when: 'the recurrence is modified'
+        recur.setUntil(new Date('20050307'))
+        recur.setInterval(2)
+        recur.setWeekStartDay(SU.day)
+
+        then: 'the result is as expected'
+        recur as String == 'FREQ=DAILY;WKST=SU;UNTIL=20050307;INTERVAL=2;BYHOUR=9'
+        !recur.is(Recur.parse('FREQ=DAILY;COUNT=10;BYHOUR=9'))
+    }
+
+    def 'test shared parsed recurrence state cannot be modified'() {
+        given: 'a shared recurrence'
+        Recur recur = new RRule('FREQ=DAILY;UNTIL=20210110T000000Z;BYDAY=MO').recur
+
+        when: 'a rule part list is modified'
+        recur.dayList.add(TU)
+
+        then: 'an exception is thrown'
+        thrown(UnsupportedOperationException)
+
+        when: 'the until date is modified'
+        recur.until.time = 0
+
+        and: 'a copy is modified'
+        Recur copy = new Recur.Builder(recur).build()
+        copy.dayList.add(TU)
+        copy.setUntil(new DateTime('20300101T000000Z'))
+
+        then: 'the shared recurrence is unchanged'
+        recur as String == 'FREQ=DAILY;UNTIL=20210110T000000Z;BYDAY=MO'
+        new RRule('FREQ=DAILY;UNTIL=20210110T000000Z;BYDAY=MO').value == 'FREQ=DAILY;UNTIL=20210110T000000Z;BYDAY=MO'
+        copy as String == 'FREQ=DAILY;UNTIL=20300101T000000Z;BYDAY=MO,TU'
+    }
+
+    def 'test parsed recurrences are shared beyond the cache size'() {
+        given: 'more distinct recurrence strings than the cache size'
+        (0..<2000).each { Recur.parse("FREQ=DAILY;COUNT=${it + 1}") }
+
+        expect: 'recently parsed values are shared'
+        Recur.parse('FREQ=WEEKLY;COUNT=7').is(Recur.parse('FREQ=WEEKLY;COUNT=7'))
+    }
 }
@@ -0,0 +1,79 @@
+package net.fortuna.ical4j.model
+
+import net.fortuna.ical4j.model.parameter.Value
+import org.apache.commons.lang3.SerializationUtils
+import spock.lang.Specification
+
+class RecurrenceCursorSpec extends Specification {
+
+    def "test cursor occurrences"() {
+        given: 'a recurrence cursor'
+        Recur recur = [rule]
+        def cursor = recur.cursor(seed)
+
+        and: 'the expected occurrences'
+        def expected = recur.getDates(seed, seed, new DateTime('20160101T000000Z'), seed instanceof DateTime ? Value.DATE_TIME : Value.DATE)
+
+        when: 'occurrences are retrieved from the cursor'
+        def occurrences = []
+        while (cursor.hasNext() && occurrences.size() < expected.size()) {
+            occurrences << cursor.next()
+        }
+
+        then: 'the occurrences match the recurrence dates'
+        occurrences == expected as List
+
+        where:
+        rule                                                | seed
+        'FREQ=DAILY;COUNT=10'                               | new DateTime('20140101T090000Z')
+        'FREQ=WEEKLY;BYDAY=MO,WE,FR;UNTIL=20140301T000000Z' | new DateTime('20140101T090000Z')
+        'FREQ=MONTHLY;BYMONTHDAY=31;COUNT=5'                | new DateTime('20140131T090000Z')
+        'FREQ=MONTHLY;BYDAY=-1FR'                           | new Date('20140131')
+        'FREQ=YEARLY;INTERVAL=2'                            | new DateTime('20140101T090000Z')
+    }
+
+    def "test cursor exhaustion"() {
+        given: 'a cursor for a counted recurrence'
+        def cursor = new Recur('FREQ=DAILY;COUNT=2').cursor(new DateTime('20140101T090000Z'))
+
+        expect: 'the cursor is exhausted after all occurrences'
+        cursor.next() == new DateTime('20140101T090000Z')
+        cursor.next() == new DateTime('20140102T090000Z')
+        !cursor.hasNext()
+    }
+
+    def "test cursor seek"() {
+        given: 'a recurrence cursor'
+        Recur recur = [rule]
+        def seed = new DateTime('20140101T090000Z')
+        def cursor = recur.cursor(seed)
+
+        expect: 'the next occurrence after each date is consistent with Recur.getNextDate()'
+        dates.collect { cursor.nextAfter(new DateTime(it)) } == dates.collect { recur.getNextDate(seed, new DateTime(it)) }
+
+        where:
+        rule                                | dates
+        'FREQ=WEEKLY;BYDAY=TU,TH'           | ['20140101T000000Z', '20140115T090000Z', '20150601T000000Z', '20140301T000000Z']
+        'FREQ=DAILY;COUNT=30'               | ['20140105T090000Z', '20140120T000000Z', '20140110T000000Z', '20140301T000000Z']
+        'FREQ=HOURLY;UNTIL=20140102T000000Z'| ['20140101T123000Z', '20140101T235959Z']
+    }
+
+    def "test cursor serialization"() {
+        given: 'a partially consumed cursor'
+        def cursor = new Recur(rule).cursor(seed)
+        3.times { cursor.next() }
+        cursor.hasNext()
+
+        when: 'the cursor is serialized and deserialized'
+        RecurrenceCursor copy = SerializationUtils.clone(cursor)
+
+        then: 'the copy resumes from the same position'
+        (0..<5).collect { copy.next() } == (0..<5).collect { cursor.next() }
+
+        where:
+        rule                            | seed
+        'FREQ=WEEKLY;BYDAY=MO,WE,FR'    | new DateTime('20140101T090000Z')
+        'FREQ=DAILY;COUNT=20'           | new DateTime('20140101T090000', TimeZoneRegistryFactory.instance.createRegistry().getTimeZone('Europe/Berlin'))
+        'FREQ=MONTHLY'                  | new Date('20140131')
+    }
+}
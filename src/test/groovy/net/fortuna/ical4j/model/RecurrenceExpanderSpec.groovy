@@ -0,0 +1,78 @@
+package net.fortuna.ical4j.model
+
+import net.fortuna.ical4j.model.component.VEvent
+import net.fortuna.ical4j.model.property.RRule
+
+import java.time.Duration
+
+import spock.lang.Specification
+
+class RecurrenceExpanderSpec extends Specification {
+
+    def "test batch expansion is equivalent to individual expansion"() {
+        given: 'events with shared recurrence rules and varying seed dates'
+        def tz = TimeZoneRegistryFactory.instance.createRegistry().getTimeZone('Europe/London')
+        def events = []
+        ['FREQ=WEEKLY;BYDAY=MO,WE,FR', 'FREQ=DAILY', 'FREQ=MONTHLY;BYDAY=-1FR', 'FREQ=YEARLY;BYMONTH=3;BYDAY=-1SU',
+         'FREQ=WEEKLY;BYDAY=TU;UNTIL=20140401T000000Z', 'FREQ=WEEKLY;COUNT=5', 'FREQ=MONTHLY'].each { rule ->
+            (0..<6).each {
+                def start = new DateTime('20131101T090000', tz)
+                start.setTime(start.time + it * 17 * 86400000L)
+                def event = new VEvent(start, Duration.ofHours(it + 1), rule)
+                event.properties << new RRule(rule)
+                events << event
+            }
+        }
+
+        and: 'an all-day event'
+        events << new ContentBuilder().vevent {
+            dtstart('20140101', parameters: parameters() { value('DATE') })
+            rrule 'FREQ=WEEKLY;BYDAY=SA'
+        }
+        events << new ContentBuilder().vevent {
+            dtstart('20140201', parameters: parameters() { value('DATE') })
+            rrule 'FREQ=WEEKLY;BYDAY=SA'
+            exdate('20140215', parameters: parameters() { value('DATE') })
+        }
+
+        and: 'a period'
+        Period period = ['20140301T000000Z/20140501T000000Z']
+
+        when: 'the events are expanded in a batch'
+        def instances = RecurrenceExpander.expandAll(events, period)
+
+        then: 'the result is equivalent to expanding each event'
+        def expected = events.collectMany { it.calculateRecurrenceSet(period) as List }
+                .sort { a, b -> a.start <=> b.start ?: a.end <=> b.end }
+        instances.collect { [it.start.time, it.end.time] } == expected.collect { [it.start.time, it.end.time] }
+
+        and: 'each instance identifies its component'
+        instances.collect { System.identityHashCode(it.component) }.sort() ==
+                expected.collect { System.identityHashCode(it.component) }.sort()
+    }
+
+    def "test batch expansion of yearly rules with seeds in different months"() {
+        given: 'events with a shared recurrence rule seeded in different months'
+        def tz = TimeZoneRegistryFactory.instance.createRegistry().getTimeZone('Europe/London')
+        def events = ['20200315T090000', '20200615T090000', '20200915T090000'].collect {
+            def event = new VEvent(new DateTime(it, tz), Duration.ofHours(1), rule)
+            event.properties << new RRule(rule)
+            event
+        }
+
+        and: 'a period'
+        Period period = ['20200101T000000Z/20240101T000000Z']
+
+        when: 'the events are expanded in a batch'
+        def instances = RecurrenceExpander.expandAll(events, period)
+
+        then: 'the result is equivalent to expanding each event'
+        def expected = events.collectMany { it.calculateRecurrenceSet(period) as List }
+        instances.collect { [it.start.time, events.indexOf(it.component)] }.sort() ==
+                expected.collect { [it.start.time, events.indexOf(it.component)] }.sort()
+
+        where:
+        rule << ['FREQ=YEARLY;BYMONTHDAY=15', 'FREQ=YEARLY;BYMONTH=3,6;BYMONTHDAY=15',
+                 'FREQ=YEARLY;BYMONTHDAY=15;BYDAY=MO,TU,WE,TH,FR', 'FREQ=YEARLY;BYYEARDAY=100']
+    }
+}
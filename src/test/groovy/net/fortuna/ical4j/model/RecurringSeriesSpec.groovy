@@ -0,0 +1,137 @@
+package net.fortuna.ical4j.model
+
+import net.fortuna.ical4j.model.component.VEvent
+import net.fortuna.ical4j.model.parameter.Range
+import net.fortuna.ical4j.model.property.RRule
+import net.fortuna.ical4j.model.property.RecurrenceId
+import net.fortuna.ical4j.model.property.Uid
+import spock.lang.Specification
+
+class RecurringSeriesSpec extends Specification {
+
+    ContentBuilder builder = []
+
+    VEvent master
+
+    def setup() {
+        master = builder.vevent {
+            uid '1'
+            dtstart '20140630T090000Z'
+            dtend '20140630T100000Z'
+            rrule 'FREQ=DAILY;COUNT=6'
+        }
+    }
+
+    def "test override substitution"() {
+        given: 'a series with revisions of a single instance override'
+        def override = builder.vevent {
+            uid '1'
+            recurrenceid '20140701T090000Z'
+            dtstart '20140701T140000Z'
+            dtend '20140701T150000Z'
+        }
+        def revision = builder.vevent {
+            uid '1'
+            sequence '1'
+            recurrenceid '20140701T090000Z'
+            dtstart '20140701T160000Z'
+            dtend '20140701T170000Z'
+        }
+        RecurringSeries<VEvent> series = [[master, revision, override]]
+
+        expect: 'the latest revision of the override is applicable'
+        series.master == master
+        series.getComponent(new DateTime('20140701T090000Z')) == revision
+        series.getComponent(new DateTime('20140702T090000Z')) == master
+
+        and: 'the overridden instance is substituted'
+        series.calculateRecurrenceSet(new Period('20140630T000000Z/20140703T000000Z'))
+                .collect { it.start.toString() } == ['20140630T090000Z', '20140701T160000Z', '20140702T090000Z']
+    }
+
+    def "test override moved outside of the period"() {
+        given: 'a series with an override moved to a later date'
+        def override = builder.vevent {
+            uid '1'
+            recurrenceid '20140701T090000Z'
+            dtstart '20140710T090000Z'
+            dtend '20140710T100000Z'
+        }
+        RecurringSeries<VEvent> series = [[master, override]]
+
+        expect: 'the overridden instance is not included'
+        series.calculateRecurrenceSet(new Period('20140701T000000Z/20140702T000000Z')).isEmpty()
+
+        and: 'the override is included in the period it is moved to'
+        series.calculateRecurrenceSet(new Period('20140710T000000Z/20140711T000000Z'))
+                .collect { it.component } == [override]
+    }
+
+    def "test range override"() {
+        given: 'a series with a range override'
+        def override = builder.vevent {
+            uid '1'
+            recurrenceid('20140702T090000Z', parameters: parameters() { range('THISANDFUTURE') })
+            dtstart '20140702T110000Z'
+            duration 'PT2H'
+        }
+        RecurringSeries<VEvent> series = [[master, override]]
+
+        when: 'instances are calculated'
+        def instances = series.calculateRecurrenceSet(period)
+
+        then: 'subsequent instances are offset and resized'
+        instances.collect { it.start.toString() + '/' + it.end.toString() } == expectedResults
+        instances.every { it.start.before(new DateTime('20140702T000000Z')) ? it.component == master : it.component == override }
+
+        where:
+        period                                                  | expectedResults
+        new Period('20140630T000000Z/20140706T000000Z')         | ['20140630T090000Z/20140630T100000Z',
+                                                                   '20140701T090000Z/20140701T100000Z',
+                                                                   '20140702T110000Z/20140702T130000Z',
+                                                                   '20140703T110000Z/20140703T130000Z',
+                                                                   '20140704T110000Z/20140704T130000Z',
+                                                                   '20140705T110000Z/20140705T130000Z']
+        new Period('20140704T120000Z/20140705T100000Z')         | ['20140704T110000Z/20140704T130000Z']
+    }
+
+    def "test range override with a timezone"() {
+        given: 'a series in a timezone with a range override'
+        def tz = TimeZoneRegistryFactory.instance.createRegistry().getTimeZone('Europe/London')
+        def master = new VEvent(new DateTime('20140630T090000', tz), java.time.Duration.ofHours(1), 'Test')
+        master.properties << new Uid('1') << new RRule('FREQ=DAILY;COUNT=6')
+        def override = new VEvent(new DateTime('20140702T110000', tz), java.time.Duration.ofHours(2), 'Test')
+        override.properties << new Uid('1') << new RecurrenceId(new ParameterList(),
+                new DateTime('20140702T090000', tz))
+        override.getProperty(Property.RECURRENCE_ID).parameters.add(Range.THISANDFUTURE)
+        RecurringSeries<VEvent> series = [[master, override]]
+
+        when: 'instances are calculated'
+        def instances = series.calculateRecurrenceSet(new Period('20140630T000000Z/20140706T000000Z'))
+
+        then: 'offset instances are represented in the timezone of the series'
+        instances.collect { it.start.toString() } == ['20140630T090000', '20140701T090000', '20140702T110000',
+                                                      '20140703T110000', '20140704T110000', '20140705T110000']
+        instances.every { it.start.timeZone == tz }
+    }
+
+    def "test series grouping"() {
+        given: 'components of different series'
+        def other = builder.vevent {
+            uid '2'
+            dtstart '20140630T090000Z'
+        }
+        def override = builder.vevent {
+            uid '1'
+            recurrenceid '20140701T090000Z'
+            dtstart '20140701T140000Z'
+        }
+
+        when: 'components are grouped'
+        def series = RecurringSeries.of([master, other, override])
+
+        then: 'a series is returned for each uid'
+        series.collect { it.master } == [master, other]
+        series[0].overrides.values() as List == [override]
+    }
+}
@@ -7,6 +7,7 @@ import spock.lang.Unroll
 
 import java.time.Duration
 import java.time.LocalDateTime
+import java.time.format.DateTimeParseException
 import java.time.temporal.ChronoUnit
 
 class TemporalAmountAdapterTest extends Specification {
@@ -54,6 +55,57 @@ class TemporalAmountAdapterTest extends Specification {
         "P90M"          | Duration.of(90, ChronoUnit.MINUTES)
     }
 
+    def "verify parsing of rfc5545 values: #stringValue"() {
+        expect: 'the parsed amount is consistent with java.time'
+        TemporalAmountAdapter.parse(stringValue, false).duration == expectedDuration
+
+        where:
+        stringValue     | expectedDuration
+        "PT15M"         | Duration.ofMinutes(15)
+        "-PT10M"        | Duration.ofMinutes(-10)
+        "+PT1H30M"      | Duration.parse("PT1H30M")
+        "PT1H5S"        | Duration.parse("PT1H5S")
+        "-P1DT2H3M4S"   | Duration.parse("-P1DT2H3M4S")
+        "P3W"           | java.time.Period.parse("P3W")
+        "-P1W"          | java.time.Period.parse("-P1W")
+        "P10D"          | java.time.Period.ofDays(10)
+        "P1Y2M3D"       | java.time.Period.of(1, 2, 3)
+        "PT0.5S"        | Duration.ofMillis(500)
+    }
+
+    def "verify invalid values are rejected: #stringValue"() {
+        when:
+        TemporalAmountAdapter.parse(stringValue, false)
+
+        then:
+        thrown(DateTimeParseException)
+
+        where:
+        stringValue << ["P", "PT", "P1DT", "PT1M1H", "PT1W", "P1H", "P1D2W"]
+    }
+
+    def "verify common values are shared"() {
+        expect: 'parsing a common value returns a shared instance'
+        TemporalAmountAdapter.parse('-PT15M').is(TemporalAmountAdapter.parse('-PT15M'))
+        TemporalAmountAdapter.parse('-PT15M').toString() == '-PT15M'
+
+        and: 'other values are not shared'
+        !TemporalAmountAdapter.parse('PT16M').is(TemporalAmountAdapter.parse('PT16M'))
+    }
+
+    def "verify appending string representation"() {
+        given: 'an output'
+        def out = new StringBuilder('TRIGGER:')
+
+        when: 'durations are appended'
+        TemporalAmountAdapter.parse('-P1DT2H').appendTo(out)
+        out.append(',')
+        new TemporalAmountAdapter(java.time.Period.ofMonths(6)).appendTo(out, LocalDateTime.parse("2021-04-01T00:00:00"))
+
+        then: 'the output contains the string representations'
+        out.toString() == 'TRIGGER:-P1DT2H,P26W'
+    }
+
     def 'verify temporalamount creation'() {
         expect:
         TemporalAmountAdapter.from(duration).duration == expectedTemporalAmount
@@ -0,0 +1,113 @@
+package net.fortuna.ical4j.model
+
+import net.fortuna.ical4j.data.CalendarBuilder
+import net.fortuna.ical4j.model.component.VTimeZone
+import net.fortuna.ical4j.util.MapTimeZoneCache
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+class TimeZoneBundleSpec extends Specification {
+
+    @TempDir
+    Path resources
+
+    ContentBuilder builder = []
+
+    VTimeZone parse(String id) {
+        getClass().getResourceAsStream("/zoneinfo/${id}.ics").withCloseable {
+            new CalendarBuilder().build(it).getComponent(Component.VTIMEZONE)
+        }
+    }
+
+    TimeZoneBundle roundTrip(Map<String, VTimeZone> definitions) {
+        def out = new ByteArrayOutputStream()
+        TimeZoneBundle.write(definitions, out)
+        TimeZoneBundle.read(new ByteArrayInputStream(out.toByteArray()))
+    }
+
+    def 'assert bundled definitions are equivalent to parsed definitions'() {
+        given: 'a bundle of parsed definitions'
+        def definitions = ids.collectEntries { [it, parse(it)] }
+        def bundle = roundTrip(definitions)
+
+        expect: 'bundled definitions are equal to the parsed definitions'
+        bundle.ids == definitions.keySet()
+        ids.every {
+            def vTimeZone = bundle.getVTimeZone(it)
+            vTimeZone == definitions[it] && vTimeZone.toString() == definitions[it].toString()
+        }
+
+        and: 'unknown ids are not bundled'
+        !bundle.contains('Invalid/Zone')
+        bundle.getVTimeZone('Invalid/Zone') == null
+
+        where:
+        ids << [['Australia/Melbourne', 'Europe/London', 'America/New_York', 'Asia/Kolkata', 'Pacific/Chatham']]
+    }
+
+    def 'assert bundles are compiled from a directory of resources'() {
+        given: 'a directory of timezone resources'
+        def source = resources.resolve('source')
+        ['Europe/London', 'Asia/Singapore'].each { id ->
+            def resource = source.resolve("${id}.ics")
+            Files.createDirectories(resource.parent)
+            getClass().getResourceAsStream("/zoneinfo/${id}.ics").withCloseable { Files.copy(it, resource) }
+        }
+
+        when: 'a bundle is compiled'
+        def target = resources.resolve('bundle/zoneinfo.bin')
+        TimeZoneBundle.main(source.toString(), target.toString())
+
+        then: 'the bundle contains each resource identified by relative path'
+        def bundle = Files.newInputStream(target).withCloseable { TimeZoneBundle.read(it) }
+        bundle.ids == ['Europe/London', 'Asia/Singapore'] as Set
+        bundle.getVTimeZone('Europe/London') == parse('Europe/London')
+    }
+
+    def 'assert loader prefers bundled definitions and falls back to resources'() {
+        given: 'a bundle and a timezone resource for a custom prefix'
+        def prefix = resources.resolve('bundled')
+        Files.createDirectories(prefix.resolve('Other'))
+        VTimeZone bundled = builder.vtimezone {
+            tzid 'Test/Zone'
+            standard {
+                dtstart '19700101T000000'
+                tzoffsetfrom '+0300'
+                tzoffsetto '+0300'
+            }
+        }
+        Files.newOutputStream(prefix.resolve(TimeZoneBundle.RESOURCE_NAME)).withCloseable {
+            TimeZoneBundle.write(['Test/Zone': bundled], it)
+        }
+        Files.write(prefix.resolve('Other/Zone.ics'), new Calendar(new ComponentList<>([builder.vtimezone {
+            tzid 'Other/Zone'
+            standard {
+                dtstart '19700101T000000'
+                tzoffsetfrom '+0400'
+                tzoffsetto '+0400'
+            }
+        }])).toString().getBytes('UTF-8'))
+
+        and: 'a loader for the custom prefix'
+        def contextClassLoader = Thread.currentThread().contextClassLoader
+        Thread.currentThread().contextClassLoader = new URLClassLoader([resources.toUri().toURL()] as URL[],
+                contextClassLoader)
+        TimeZoneLoader loader = ['bundled/', new MapTimeZoneCache()]
+
+        when: 'timezones are loaded'
+        def bundledTimeZone = loader.loadVTimeZone('Test/Zone')
+        def resourceTimeZone = loader.loadVTimeZone('Other/Zone')
+
+        then: 'the bundled definition is loaded'
+        bundledTimeZone == bundled
+
+        and: 'definitions absent from the bundle are parsed from resources'
+        resourceTimeZone.timeZoneId.value == 'Other/Zone'
+
+        cleanup:
+        Thread.currentThread().contextClassLoader = contextClassLoader
+    }
+}
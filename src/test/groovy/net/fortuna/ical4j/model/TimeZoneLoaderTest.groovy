@@ -1,7 +1,12 @@
 package net.fortuna.ical4j.model
 
+import net.fortuna.ical4j.util.MapTimeZoneCache
+import net.fortuna.ical4j.util.TimeZoneCache
 import spock.lang.Specification
 
+import java.time.Instant
+import java.time.ZoneId
+
 class TimeZoneLoaderTest extends Specification {
 
     def 'assert timezone loads correctly'() {
@@ -35,4 +40,70 @@ class TimeZoneLoaderTest extends Specification {
         where:
         id << ['Australia/Melbourne', 'Europe/London', 'Asia/Singapore']
     }
+
+    def 'assert generated timezone is equivalent to java timezone'() {
+        given: 'a timezone loader without timezone definitions'
+        TimeZoneLoader loader = ['generated/', new MapTimeZoneCache()]
+
+        when: 'a timezone is generated'
+        def vtz = loader.loadVTimeZone(id)
+        def tz = new TimeZone(vtz)
+
+        then: 'recurring transitions are coalesced'
+        def rules = ZoneId.of(id).rules
+        vtz.observances.sum { it.getProperties('RDATE').sum(0) { it.dates.size() } } < rules.transitions.size() / 2
+
+        and: 'offsets match the java timezone'
+        def instants = rules.transitions.findAll { it.instant.isAfter(Instant.parse('1970-01-01T00:00:00Z')) }
+                .collectMany { [it.instant.minusSeconds(3600), it.instant.plusSeconds(3600)] }
+        for (long year = 2030; year < 2060; year++) {
+            instants << Instant.parse("${year}-01-15T00:00:00Z".toString())
+            instants << Instant.parse("${year}-07-15T00:00:00Z".toString())
+        }
+        instants.every { tz.getOffset(it.toEpochMilli()) == Math.max(rules.getOffset(it).totalSeconds * 1000, tz.rawOffset) }
+
+        where:
+        id << ['America/New_York', 'Europe/London', 'Australia/Sydney', 'America/Nuuk']
+    }
+
+    def 'assert loaded timezone is returned where the cached definition is evicted'() {
+        given: 'a cache that reports definitions as already cached but does not retain them'
+        TimeZoneCache cache = Mock() {
+            putIfAbsent(_, _) >> false
+        }
+
+        and: 'a timezone loader instance'
+        TimeZoneLoader loader = ['zoneinfo/', cache]
+
+        when: 'a timezone is loaded'
+        def tz = loader.loadVTimeZone('Europe/London')
+
+        then: 'the loaded definition is returned'
+        tz?.timeZoneId.value == 'Europe/London'
+    }
+
+    def 'assert generated timezone rules spanning months are open-ended'() {
+        given: 'a timezone loader without timezone definitions'
+        TimeZoneLoader loader = ['generated/', new MapTimeZoneCache()]
+
+        when: 'a timezone with a transition rule spanning the end of a month is generated'
+        def vtz = loader.loadVTimeZone(id)
+        def tz = new TimeZone(vtz)
+
+        then: 'transitions are specified by recurrence rules without an end date'
+        def rules = ZoneId.of(id).rules
+        def recurring = vtz.observances.findAll { it.getProperty('RRULE') && !it.getProperty('RRULE').recur.until }
+        recurring.size() == rules.transitionRules.size()
+        recurring.every { !it.getProperty('RDATE') }
+
+        and: 'offsets match the java timezone beyond the range of explicit transitions'
+        def instants = (2150..2160).collectMany { year ->
+            rules.transitionRules.collect { it.createTransition(year) }
+                    .collectMany { [it.instant.minusSeconds(3600), it.instant.plusSeconds(3600)] }
+        }
+        instants.every { tz.getOffset(it.toEpochMilli()) == rules.getOffset(it).totalSeconds * 1000 }
+
+        where:
+        id << ['Africa/Cairo', 'Egypt']
+    }
 }
@@ -0,0 +1,137 @@
+package net.fortuna.ical4j.model
+
+import net.fortuna.ical4j.model.component.VTimeZone
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+import java.util.concurrent.Callable
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.function.Consumer
+
+class TimeZoneRegistryImplSpec extends Specification {
+
+    @TempDir
+    Path resources
+
+    def 'verify concurrent loading of timezones'() {
+        given: 'a registry'
+        TimeZoneRegistry registry = new TimeZoneRegistryImpl()
+
+        and: 'concurrent requests for a number of timezones'
+        def ids = ['Pacific/Chatham', 'America/Argentina/Ushuaia', 'Asia/Ulaanbaatar', 'Africa/Windhoek']
+        def executor = Executors.newFixedThreadPool(16)
+        def start = new CountDownLatch(1)
+        def results = (1..64).collect { i ->
+            def id = ids[i % ids.size()]
+            executor.submit({ start.await(); [id, registry.getTimeZone(id)] } as Callable)
+        }
+
+        when: 'the timezones are loaded'
+        start.countDown()
+        def loaded = results*.get()
+
+        then: 'all requests for a timezone receive the same instance'
+        loaded.groupBy { it[0] }.every { id, zones ->
+            zones.every { it[1] != null && it[1].ID == id && it[1].is(zones[0][1]) }
+        }
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def 'verify preloading of timezones'() {
+        given: 'a registry'
+        TimeZoneRegistry registry = new TimeZoneRegistryImpl()
+
+        and: 'an executor'
+        def executor = Executors.newFixedThreadPool(4)
+
+        when: 'timezones are preloaded'
+        def loadTimes = registry.preload(['Europe/Berlin', 'America/Chicago', 'Invalid/Zone'], executor)
+                .get(30, TimeUnit.SECONDS)
+
+        then: 'the load time of each available timezone is reported'
+        loadTimes.keySet() == ['Europe/Berlin', 'America/Chicago'] as Set
+        loadTimes.values().every { !it.negative }
+
+        and: 'preloaded timezones are served by the registry'
+        registry.getTimeZone('Europe/Berlin').is(registry.getTimeZone('Europe/Berlin'))
+
+        cleanup:
+        executor.shutdown()
+    }
+
+    def 'verify preloading of all timezones'() {
+        given: 'a registry backed by a bundle of timezones'
+        def ids = ['Australia/Melbourne', 'Europe/London', 'Asia/Singapore']
+        def prefix = Files.createDirectories(resources.resolve('preload'))
+        Files.newOutputStream(prefix.resolve(TimeZoneBundle.RESOURCE_NAME)).withCloseable { out ->
+            TimeZoneBundle.write(ids.collectEntries { [it, new TimeZoneRegistryImpl().getTimeZone(it).VTimeZone] },
+                    out)
+        }
+        def contextClassLoader = Thread.currentThread().contextClassLoader
+        Thread.currentThread().contextClassLoader = new URLClassLoader([resources.toUri().toURL()] as URL[],
+                contextClassLoader)
+        TimeZoneRegistry registry = new TimeZoneRegistryImpl('preload/')
+
+        and: 'an executor'
+        def executor = Executors.newFixedThreadPool(4)
+
+        when: 'all timezones are preloaded'
+        def loadTimes = registry.preloadAll(executor).get(30, TimeUnit.SECONDS)
+
+        then: 'all timezones in the bundle are loaded'
+        loadTimes.keySet() == ids as Set
+
+        cleanup:
+        executor.shutdown()
+        Thread.currentThread().contextClassLoader = contextClassLoader
+    }
+
+    def 'verify errors loading a timezone are reported to waiting requests'() {
+        given: 'a registry with a loader that fails with an error'
+        TimeZoneRegistry registry = new TimeZoneRegistryImpl()
+        def loading = new CountDownLatch(1)
+        def failure = new CountDownLatch(1)
+        TimeZoneLoader loader = new TimeZoneLoader('zoneinfo/') {
+            @Override
+            VTimeZone loadVTimeZone(String id, Consumer<VTimeZone> updateListener) {
+                loading.countDown()
+                failure.await()
+                throw new AssertionError('load failed')
+            }
+        }
+        def field = TimeZoneRegistryImpl.getDeclaredField('timeZoneLoader')
+        field.accessible = true
+        field.set(registry, loader)
+
+        and: 'concurrent requests for the timezone'
+        def executor = Executors.newFixedThreadPool(2)
+        def first = executor.submit({ registry.getTimeZone('Test/LoadError') } as Callable)
+        loading.await()
+        def second = executor.submit({ registry.getTimeZone('Test/LoadError') } as Callable)
+
+        when: 'loading fails'
+        Thread.sleep(200)
+        failure.countDown()
+
+        then: 'the error is reported to all requests'
+        [first, second].every {
+            try {
+                it.get(10, TimeUnit.SECONDS)
+                false
+            } catch (ExecutionException e) {
+                e.cause instanceof AssertionError
+            }
+        }
+
+        cleanup:
+        executor.shutdownNow()
+    }
+}
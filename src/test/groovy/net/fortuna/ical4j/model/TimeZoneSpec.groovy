@@ -146,4 +146,70 @@ class TimeZoneSpec extends Specification {
 		'America/Cuiaba'		| -14400000         | -14400000					| Date.from(LocalDate.of(2020, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC))
 		'America/Cuiaba'		| -14400000         | -10800000					| Date.from(LocalDate.of(2018, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC))
     }
+
+	@Unroll
+	def 'verify compiled transitions match applicable observances: #tzid'() {
+		given: 'a timezone'
+		def tz = tzRegistry.getTimeZone(tzid)
+
+		and: 'instants either side of each transition, and at regular intervals'
+		def instants = []
+		def rules = java.time.ZoneId.of(tzid).rules
+		def transition = rules.nextTransition(java.time.Instant.parse('1900-01-01T00:00:00Z'))
+		while (transition != null && transition.instant.isBefore(java.time.Instant.parse('2100-01-01T00:00:00Z'))) {
+			def millis = transition.instant.toEpochMilli()
+			instants.addAll([millis - 1, millis, millis + 1])
+			transition = rules.nextTransition(transition.instant)
+		}
+		for (long instant = -2208988800000L; instant < 4102444800000L; instant += 7 * 86400000L + 3600000L) {
+			instants << instant
+		}
+
+		expect: 'offsets match the applicable observance for each instant'
+		instants.every {
+			def observance = tz.VTimeZone.getApplicableObservance(new DateTime(it))
+			def offset = observance.offsetTo.offset.totalSeconds * 1000
+			tz.getOffset(it) == Math.max(offset, tz.rawOffset) &&
+					tz.inDaylightTime(new java.util.Date(it)) == observance instanceof net.fortuna.ical4j.model.component.Daylight
+		}
+
+		where:
+		tzid << ['Australia/Melbourne', 'America/Los_Angeles', 'Europe/London', 'America/Sao_Paulo', 'Asia/Kolkata']
+	}
+
+	def 'verify offsets beyond the compiled range follow observance rules'() {
+		given: 'a timezone'
+		def tz = tzRegistry.getTimeZone('Europe/London')
+
+		expect: 'offsets in the distant future are derived from recurrence rules'
+		tz.getOffset(LocalDate.of(2250, 7, 1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli()) == 3600000
+		tz.getOffset(LocalDate.of(2250, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli()) == 0
+		tz.inDaylightTime(Date.from(LocalDate.of(2250, 7, 1).atStartOfDay().toInstant(ZoneOffset.UTC)))
+	}
+
+	def 'verify offsets beyond the compiled range follow onsets where no observance recurs'() {
+		given: 'a timezone defined only by RDATE onsets, one far beyond the compiled range'
+		def calendar = new net.fortuna.ical4j.data.CalendarBuilder().build(new StringReader('''BEGIN:VCALENDAR
+BEGIN:VTIMEZONE
+TZID:Test/RDate
+BEGIN:STANDARD
+DTSTART:19700101T000000
+TZOFFSETFROM:+0100
+TZOFFSETTO:+0100
+END:STANDARD
+BEGIN:STANDARD
+DTSTART:22000101T000000
+RDATE:22000101T000000
+TZOFFSETFROM:+0100
+TZOFFSETTO:+0200
+END:STANDARD
+END:VTIMEZONE
+END:VCALENDAR
+'''))
+		def tz = new TimeZone(calendar.getComponent(Component.VTIMEZONE))
+
+		expect: 'offsets change at the distant onset'
+		tz.getOffset(LocalDate.of(2020, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli()) == 3600000
+		tz.getOffset(LocalDate.of(2250, 1, 1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli()) == 7200000
+	}
 }
@@ -0,0 +1,140 @@
+package net.fortuna.ical4j.model
+
+import net.fortuna.ical4j.data.CalendarBuilder
+import net.fortuna.ical4j.data.CalendarOutputter
+import net.fortuna.ical4j.model.component.Observance
+import net.fortuna.ical4j.model.component.VEvent
+import net.fortuna.ical4j.model.component.VTimeZone
+import net.fortuna.ical4j.model.property.DtStart
+import net.fortuna.ical4j.model.property.RRule
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Instant
+
+class TimeZoneTruncatorSpec extends Specification {
+
+    @Shared
+    TimeZoneRegistry registry = new TimeZoneRegistryImpl()
+
+    static long instant(String value) {
+        Instant.parse(value).toEpochMilli()
+    }
+
+    boolean equivalent(VTimeZone truncated, TimeZone original, long start, long end) {
+        def timezone = new TimeZone(truncated)
+        for (long t = start; t <= end; t += 3600000L * 5) {
+            if (timezone.getOffset(t) != original.getOffset(t)) {
+                return false
+            }
+        }
+        true
+    }
+
+    def 'verify truncated timezones are equivalent within the range'() {
+        given: 'a timezone'
+        def timezone = registry.getTimeZone(id)
+
+        when: 'the timezone is truncated to a range'
+        def truncated = TimeZoneTruncator.truncate(timezone.VTimeZone, new java.util.Date(instant(start)),
+                end ? new java.util.Date(instant(end)) : null)
+
+        then: 'the truncated timezone is smaller than the original'
+        truncated.toString().length() < timezone.VTimeZone.toString().length()
+
+        and: 'offsets within the range are equal'
+        equivalent(truncated, timezone, instant(start), end ? instant(end) : instant(start) + 20L * 365 * 86400000)
+
+        and: 'the truncated timezone begins at the start of the range'
+        truncated.observances.collect { it.startDate.date.time }.min() >= instant(start) - 86400000
+
+        where:
+        id                  | start                  | end
+        'America/New_York'  | '2021-01-01T00:00:00Z' | '2023-01-01T00:00:00Z'
+        'America/New_York'  | '2021-07-01T00:00:00Z' | null
+        'Europe/London'     | '1995-01-01T00:00:00Z' | '2010-01-01T00:00:00Z'
+        'Australia/Sydney'  | '2008-06-01T00:00:00Z' | null
+        'Africa/Casablanca' | '2021-03-15T00:00:00Z' | null
+        'Asia/Tokyo'        | '2021-01-01T00:00:00Z' | '2022-01-01T00:00:00Z'
+    }
+
+    def 'verify calendar timezones are truncated to the referenced range'() {
+        given: 'a calendar with an event in a timezone'
+        def timezone = registry.getTimeZone('Europe/Berlin')
+        def calendar = new Calendar()
+        calendar.components << timezone.VTimeZone
+        def event = new VEvent(new DateTime('20210601T090000', timezone), 'Meeting')
+        if (rrule) {
+            event.properties << new RRule(rrule)
+        }
+        calendar.components << event
+
+        when: 'the calendar is truncated'
+        def truncated = TimeZoneTruncator.truncate(calendar)
+        VTimeZone vTimeZone = truncated.getComponent(Component.VTIMEZONE)
+
+        then: 'the timezone is truncated and the original calendar is unchanged'
+        vTimeZone.observances.size() == observances
+        calendar.getComponent(Component.VTIMEZONE).is(timezone.VTimeZone)
+        truncated.getComponent(Component.VEVENT).is(event)
+
+        and: 'the event start is equivalent'
+        equivalent(vTimeZone, timezone, instant('2021-06-01T07:00:00Z'), instant('2021-06-01T07:00:00Z'))
+
+        where:
+        rrule                                | observances
+        null                                 | 1
+        'FREQ=WEEKLY;UNTIL=20220101T000000Z' | 2
+        'FREQ=WEEKLY'                        | 3
+    }
+
+    def 'verify calendar outputter truncates timezones'() {
+        given: 'a calendar with an event in a timezone'
+        def timezone = registry.getTimeZone('America/Los_Angeles')
+        def calendar = new Calendar()
+        calendar.properties << new net.fortuna.ical4j.model.property.ProdId('-//Test//EN')
+        calendar.properties << net.fortuna.ical4j.model.property.Version.VERSION_2_0
+        calendar.components << timezone.VTimeZone
+        def event = new VEvent(new DateTime('20211201T090000', timezone), 'Meeting')
+        event.properties << new net.fortuna.ical4j.model.property.Uid('1')
+        calendar.components << event
+
+        and: 'an outputter that truncates timezones'
+        def outputter = new CalendarOutputter(false)
+        outputter.truncatingTimeZones = true
+
+        when: 'the calendar is output and parsed'
+        def out = new StringWriter()
+        outputter.output(calendar, out)
+        def parsed = new CalendarBuilder().build(new StringReader(out.toString()))
+
+        then: 'the output is smaller than the untruncated calendar'
+        out.toString().length() < calendar.toString().length()
+        parsed.getComponent(Component.VTIMEZONE).observances.size() == 1
+
+        and: 'the event start is unchanged'
+        DtStart start = parsed.getComponent(Component.VEVENT).getProperty(Property.DTSTART)
+        start.date.time == event.startDate.date.time
+    }
+
+    def 'verify RDATE onsets of open-ended observances are retained in UTC and date forms'() {
+        given: 'a timezone with RDATE values in local, UTC and date forms alongside an open-ended rule'
+        def vTimeZone = new CalendarBuilder().build(new StringReader(['BEGIN:VCALENDAR', 'VERSION:2.0',
+                'PRODID:-//Test//EN', 'BEGIN:VTIMEZONE', 'TZID:Test/RDates',
+                'BEGIN:STANDARD', 'DTSTART:20001029T030000', 'TZOFFSETFROM:+0200', 'TZOFFSETTO:+0100',
+                'RRULE:FREQ=YEARLY;BYMONTH=10;BYDAY=-1SU', 'RDATE:20250601T030000', 'RDATE:20250701T030000Z',
+                'RDATE;VALUE=DATE:20250801', 'END:STANDARD',
+                'BEGIN:DAYLIGHT', 'DTSTART:20000326T020000', 'TZOFFSETFROM:+0100', 'TZOFFSETTO:+0200',
+                'RRULE:FREQ=YEARLY;BYMONTH=3;BYDAY=-1SU', 'END:DAYLIGHT',
+                'END:VTIMEZONE', 'END:VCALENDAR', ''].join('\r\n'))).getComponent(Component.VTIMEZONE)
+
+        when: 'the timezone is truncated'
+        def truncated = TimeZoneTruncator.truncate(vTimeZone, new java.util.Date(instant('2021-01-01T00:00:00Z')),
+                null)
+
+        then: 'RDATE onsets are specified as local date-times at the offset before each onset'
+        def standard = truncated.observances.find { it.name == Observance.STANDARD && it.getProperty(Property.RRULE) }
+        standard.getProperties(Property.RDATE).collectMany { it.dates.collect { it.toString() } } ==
+                ['20250601T030000', '20250701T050000', '20250801T000000']
+    }
+}
@@ -0,0 +1,97 @@
+package net.fortuna.ical4j.model
+
+import com.sun.net.httpserver.HttpServer
+import net.fortuna.ical4j.model.component.VTimeZone
+import spock.lang.Specification
+
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+class TimeZoneUpdaterSpec extends Specification {
+
+    HttpServer server
+
+    AtomicInteger requests = new AtomicInteger()
+
+    ContentBuilder builder = []
+
+    def setup() {
+        server = HttpServer.create(new InetSocketAddress('localhost', 0), 0)
+        server.start()
+    }
+
+    def cleanup() {
+        server.stop(0)
+    }
+
+    VTimeZone vTimeZone(String offset) {
+        builder.vtimezone {
+            tzid 'Test/Zone'
+            tzurl "http://localhost:${server.address.port}/zoneinfo/Test/Zone".toString()
+            standard {
+                dtstart '19700101T000000'
+                tzoffsetfrom offset
+                tzoffsetto offset
+            }
+        }
+    }
+
+    void serve(int failures, String body) {
+        server.createContext('/zoneinfo/Test/Zone') { exchange ->
+            if (requests.incrementAndGet() <= failures) {
+                exchange.sendResponseHeaders(503, -1)
+            } else {
+                def bytes = body.getBytes('UTF-8')
+                exchange.sendResponseHeaders(200, bytes.length)
+                exchange.responseBody.write(bytes)
+            }
+            exchange.close()
+        }
+    }
+
+    TimeZoneUpdater updater(int attempts) {
+        new TimeZoneUpdater(attempts, 10) {
+            @Override
+            boolean isEnabled() {
+                true
+            }
+        }
+    }
+
+    def 'verify asynchronous update of a timezone definition'() {
+        given: 'a server providing an updated definition'
+        serve(0, new Calendar([vTimeZone('+0100')] as ComponentList).toString())
+
+        when: 'an update is requested'
+        def original = vTimeZone('+0000')
+        def updated = updater(1).updateDefinitionAsync(original).get(10, TimeUnit.SECONDS)
+
+        then: 'the updated definition is retrieved'
+        updated.observances[0].offsetTo.value == '+0100'
+    }
+
+    def 'verify failed updates are retried'() {
+        given: 'a server that is temporarily unavailable'
+        serve(2, new Calendar([vTimeZone('+0100')] as ComponentList).toString())
+
+        when: 'an update is requested'
+        def updated = updater(3).updateDefinitionAsync(vTimeZone('+0000')).get(10, TimeUnit.SECONDS)
+
+        then: 'the update is retrieved after retrying'
+        requests.get() == 3
+        updated.observances[0].offsetTo.value == '+0100'
+    }
+
+    def 'verify the existing definition is retained when updates fail'() {
+        given: 'a server that is unavailable'
+        serve(Integer.MAX_VALUE, '')
+
+        when: 'an update is requested'
+        def original = vTimeZone('+0000')
+        def updated = updater(2).updateDefinitionAsync(original).get(10, TimeUnit.SECONDS)
+
+        then: 'the existing definition is retained'
+        requests.get() == 2
+        updated.is(original)
+    }
+}
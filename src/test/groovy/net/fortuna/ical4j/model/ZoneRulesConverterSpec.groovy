@@ -0,0 +1,121 @@
+package net.fortuna.ical4j.model
+
+import net.fortuna.ical4j.model.component.VTimeZone
+import spock.lang.Shared
+import spock.lang.Specification
+import spock.lang.Unroll
+
+import java.time.Instant
+import java.time.ZoneOffset
+
+class ZoneRulesConverterSpec extends Specification {
+
+    @Shared TimeZoneRegistry tzRegistry = TimeZoneRegistryFactory.instance.createRegistry()
+
+    @Shared ContentBuilder builder = []
+
+    @Unroll
+    def 'verify converted rules match timezone offsets: #tzid'() {
+        given: 'a timezone'
+        def tz = tzRegistry.getTimeZone(tzid)
+
+        when: 'the timezone is converted to zone rules'
+        def rules = ZoneRulesConverter.toZoneRules(tz.VTimeZone)
+
+        then: 'rules are converted'
+        rules.present
+
+        and: 'offsets match the applicable observance at regular intervals'
+        def instants = []
+        for (long instant = -2208988800000L; instant < 7258118400000L; instant += 5 * 86400000L + 3600000L) {
+            instants << instant
+        }
+        instants.every {
+            def observance = tz.VTimeZone.getApplicableObservance(new DateTime(it))
+            rules.get().getOffset(Instant.ofEpochMilli(it)) == observance.offsetTo.offset
+        }
+
+        where:
+        tzid << ['Europe/London', 'America/New_York', 'Australia/Melbourne', 'Asia/Kolkata', 'Pacific/Auckland',
+                 'America/Sao_Paulo']
+    }
+
+    def 'verify conversion of recurrence rules to transition rules'() {
+        given: 'a custom timezone'
+        VTimeZone vTimeZone = builder.vtimezone {
+            tzid 'Custom/Zone'
+            standard {
+                dtstart '19961027T030000'
+                tzoffsetfrom '+0200'
+                tzoffsetto '+0100'
+                rrule 'FREQ=YEARLY;BYMONTH=10;BYDAY=-1SU'
+            }
+            daylight {
+                dtstart '19810329T020000'
+                tzoffsetfrom '+0100'
+                tzoffsetto '+0200'
+                rrule 'FREQ=YEARLY;BYMONTH=3;BYMONTHDAY=8,9,10,11,12,13,14;BYDAY=SU'
+            }
+        }
+
+        when: 'the timezone is converted to zone rules'
+        def rules = ZoneRulesConverter.toZoneRules(vTimeZone).get()
+
+        then: 'open-ended rules are converted to transition rules'
+        rules.transitionRules.size() == 2
+
+        and: 'offsets in the distant future follow the rules'
+        rules.getOffset(Instant.parse('2200-03-09T00:59:59Z')) == ZoneOffset.ofHours(1)
+        rules.getOffset(Instant.parse('2200-03-09T01:00:00Z')) == ZoneOffset.ofHours(2)
+        rules.getOffset(Instant.parse('2200-10-26T01:00:00Z')) == ZoneOffset.ofHours(1)
+        rules.isDaylightSavings(Instant.parse('2200-07-01T00:00:00Z'))
+    }
+
+    def 'verify unsupported recurrence rules are not converted'() {
+        given: 'a custom timezone with an unsupported recurrence rule'
+        VTimeZone vTimeZone = builder.vtimezone {
+            tzid 'Custom/Zone'
+            standard {
+                dtstart '19961027T030000'
+                tzoffsetfrom '+0200'
+                tzoffsetto '+0100'
+                rrule 'FREQ=YEARLY;BYMONTH=10;BYDAY=SU;BYSETPOS=-1'
+            }
+            daylight {
+                dtstart '19810329T020000'
+                tzoffsetfrom '+0100'
+                tzoffsetto '+0200'
+                rrule 'FREQ=MONTHLY;INTERVAL=6;BYDAY=-1SU'
+            }
+        }
+
+        expect: 'the timezone is not converted'
+        !ZoneRulesConverter.toZoneRules(vTimeZone).present
+
+        and: 'offsets are available via the timezone'
+        new TimeZone(vTimeZone).getOffset(Instant.parse('2200-07-01T00:00:00Z').toEpochMilli()) == 7200000
+    }
+
+    def 'verify zone rules registry'() {
+        given: 'a registry with a custom timezone'
+        ZoneRulesRegistry registry = []
+        registry.register(builder.vtimezone {
+            tzid 'Europe/London'
+            standard {
+                dtstart '19700101T000000'
+                tzoffsetfrom '+0100'
+                tzoffsetto '+0100'
+            }
+        })
+
+        expect: 'registered rules take precedence over the JDK'
+        registry.zoneIds == ['Europe/London'] as Set
+        registry.getRules('Europe/London').get().getOffset(Instant.parse('2020-01-01T00:00:00Z')) == ZoneOffset.ofHours(1)
+
+        and: 'the JDK provides rules for other zones'
+        registry.getRules('Asia/Kolkata').get().getOffset(Instant.parse('2020-01-01T00:00:00Z')) == ZoneOffset.ofHoursMinutes(5, 30)
+
+        and: 'no rules are provided for unknown zones'
+        !registry.getRules('Unknown/Zone').present
+    }
+}
@@ -0,0 +1,147 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model.component
+
+import net.fortuna.ical4j.model.ContentBuilder
+import net.fortuna.ical4j.model.DateTime
+import net.fortuna.ical4j.model.Parameter
+import net.fortuna.ical4j.model.Property
+import net.fortuna.ical4j.model.parameter.FbType
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+
+class FreeBusyCalculatorSpec extends Specification {
+
+    @Shared ContentBuilder builder = []
+
+    @Shared URI userA = URI.create('mailto:a@example.com')
+
+    @Shared URI userB = URI.create('mailto:b@example.com')
+
+    FreeBusyCalculator calculator = [new DateTime('20140701T080000Z'), new DateTime('20140701T180000Z')]
+
+    def setup() {
+        calculator.add(userA, [
+            builder.vevent {
+                uid '1'
+                dtstart '20140701T090000Z'
+                dtend '20140701T100000Z'
+                rrule 'FREQ=HOURLY;INTERVAL=3;COUNT=3'
+            },
+            builder.vevent {
+                uid '1'
+                recurrenceid '20140701T150000Z'
+                dtstart '20140701T170000Z'
+                dtend '20140701T190000Z'
+            },
+            builder.vevent {
+                uid '2'
+                dtstart '20140701T093000Z'
+                dtend '20140701T110000Z'
+                status 'TENTATIVE'
+            },
+            builder.vevent {
+                uid '3'
+                dtstart '20140701T130000Z'
+                dtend '20140701T140000Z'
+                transp 'TRANSPARENT'
+            },
+            builder.vevent {
+                uid '4'
+                dtstart '20140701T140000Z'
+                dtend '20140701T150000Z'
+                status 'CANCELLED'
+            }])
+
+        calculator.add(userB, [
+            builder.vfreebusy {
+                freebusy('20140701T070000Z/PT3H', parameters: parameters { fbtype 'BUSY-UNAVAILABLE' })
+                freebusy('20140701T160000Z/PT1H')
+            }])
+    }
+
+    def 'verify busy time of a user'() {
+        expect: 'busy time is derived from status and transparency, and overrides are applied'
+        calculator.getBusyTime(userA).collect { [it.getParameter(Parameter.FBTYPE), it.value] } == [
+                [FbType.BUSY, '20140701T090000Z/20140701T100000Z,20140701T120000Z/20140701T130000Z,20140701T170000Z/20140701T180000Z'],
+                [FbType.BUSY_TENTATIVE, '20140701T100000Z/20140701T110000Z']]
+
+        and: 'published busy time is limited to the range'
+        calculator.getBusyTime(userB).collect { [it.getParameter(Parameter.FBTYPE), it.value] } == [
+                [FbType.BUSY, '20140701T160000Z/20140701T170000Z'],
+                [FbType.BUSY_UNAVAILABLE, '20140701T080000Z/20140701T100000Z']]
+    }
+
+    def 'verify aggregate busy time'() {
+        expect: 'overlapping busy time is reported by precedence of type'
+        calculator.busyTime.collect { [it.getParameter(Parameter.FBTYPE), it.value] } == [
+                [FbType.BUSY, '20140701T090000Z/20140701T100000Z,20140701T120000Z/20140701T130000Z,20140701T160000Z/20140701T180000Z'],
+                [FbType.BUSY_UNAVAILABLE, '20140701T080000Z/20140701T090000Z'],
+                [FbType.BUSY_TENTATIVE, '20140701T100000Z/20140701T110000Z']]
+    }
+
+    def 'verify free time'() {
+        expect: 'free time of at least the minimum duration is reported'
+        calculator.getFreeTime(Duration.ofMinutes(90)).value == '20140701T130000Z/PT3H'
+        calculator.getFreeTime(userA, Duration.ofMinutes(60)).value ==
+                '20140701T080000Z/PT1H,20140701T110000Z/PT1H,20140701T130000Z/PT4H'
+        calculator.getFreeTime(userB, Duration.ofMinutes(60)).getParameter(Parameter.FBTYPE) == FbType.FREE
+    }
+
+    def 'verify reply to a request'() {
+        given: 'a request for free time'
+        def request = new VFreeBusy(new DateTime('20140701T080000Z'), new DateTime('20140701T180000Z'),
+                Duration.ofHours(2))
+
+        when: 'a reply is calculated from the published busy time of a user'
+        def reply = new FreeBusyCalculator(request).add(userA, [calculator.getReply(userA)]).getReply(userA)
+
+        then: 'the reply describes free time of the requested duration'
+        reply.getProperty(Property.ATTENDEE).value == userA.toString()
+        reply.getProperty(Property.DURATION).value == 'PT2H'
+        reply.getProperties(Property.FREEBUSY)*.value == ['20140701T130000Z/PT4H']
+
+        and: 'the reply is valid'
+        reply.getProperty(Property.DTSTART).value == '20140701T080000Z'
+        reply.getProperty(Property.DTEND).value == '20140701T180000Z'
+    }
+
+    def 'verify unknown users are rejected'() {
+        when:
+        calculator.getBusyTime(URI.create('mailto:c@example.com'))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2012, Ben Fortuna
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions
+ * are met:
+ *
+ *  o Redistributions of source code must retain the above copyright
+ * notice, this list of conditions and the following disclaimer.
+ *
+ *  o Redistributions in binary form must reproduce the above copyright
+ * notice, this list of conditions and the following disclaimer in the
+ * documentation and/or other materials provided with the distribution.
+ *
+ *  o Neither the name of Ben Fortuna nor the names of any other contributors
+ * may be used to endorse or promote products derived from this software
+ * without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT
+ * LIMITED TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR
+ * A PARTICULAR PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package net.fortuna.ical4j.model.component
+
+import net.fortuna.ical4j.model.ContentBuilder
+import net.fortuna.ical4j.model.DateTime
+import spock.lang.Shared
+import spock.lang.Specification
+
+import java.time.Duration
+import java.time.LocalTime
+import java.time.ZoneId
+
+class FreeSlotFinderSpec extends Specification {
+
+    @Shared ContentBuilder builder = []
+
+    @Shared URI attendeeA = URI.create('mailto:a@example.com')
+
+    @Shared URI attendeeB = URI.create('mailto:b@example.com')
+
+    @Shared URI attendeeC = URI.create('mailto:c@example.com')
+
+    FreeBusyCalculator calculator = [new DateTime('20140707T000000Z'), new DateTime('20140709T000000Z')]
+
+    FreeSlotFinder finder
+
+    def setup() {
+        calculator.add(attendeeA, [builder.vevent {
+            dtstart '20140707T070000Z'
+            dtend '20140707T090000Z'
+        }])
+        calculator.add(attendeeB, [builder.vevent {
+            dtstart '20140707T120000Z'
+            dtend '20140707T130000Z'
+        }])
+        calculator.add(attendeeC, [builder.vevent {
+            dtstart '20140707T130000Z'
+            dtend '20140707T143000Z'
+        }])
+
+        finder = new FreeSlotFinder(calculator)
+            .workingHours(attendeeA, ZoneId.of('Europe/Berlin'), LocalTime.of(9, 0), LocalTime.of(17, 0))
+            .workingHours(attendeeB, ZoneId.of('America/New_York'), LocalTime.of(8, 0), LocalTime.of(16, 0))
+    }
+
+    def 'verify slots where all attendees are available in working hours'() {
+        expect: 'the first slots in which all attendees are available are returned'
+        finder.granularity(Duration.ofMinutes(30)).find(Duration.ofHours(1), 3)*.toString() == [
+                '20140708T120000Z/20140708T130000Z', '20140708T123000Z/20140708T133000Z',
+                '20140708T130000Z/20140708T140000Z']
+    }
+
+    def 'verify slots at the default granularity'() {
+        given: 'attendee C is optional'
+        finder.optional(attendeeC)
+
+        expect: 'slots start at a granularity of 15 minutes'
+        finder.find(Duration.ofMinutes(90), 2)*.toString() == [
+                '20140708T120000Z/20140708T133000Z', '20140708T121500Z/20140708T134500Z']
+    }
+
+    def 'verify slots are ranked by optional attendee availability'() {
+        given: 'attendee C is optional'
+        finder.optional(attendeeC).granularity(Duration.ofMinutes(30))
+
+        when: 'slots are found'
+        def slots = finder.find(Duration.ofHours(1), count)
+
+        then: 'slots in which the optional attendee is available are ranked first'
+        slots*.toString() == expectedSlots
+
+        where:
+        count   | expectedSlots
+        2       | ['20140708T120000Z/20140708T130000Z', '20140708T123000Z/20140708T133000Z']
+        8       | ['20140708T120000Z/20140708T130000Z', '20140708T123000Z/20140708T133000Z',
+                   '20140708T130000Z/20140708T140000Z', '20140708T133000Z/20140708T143000Z',
+                   '20140708T140000Z/20140708T150000Z', '20140707T130000Z/20140707T140000Z',
+                   '20140707T133000Z/20140707T143000Z', '20140707T140000Z/20140707T150000Z']
+    }
+
+    def 'verify required attendees without common availability'() {
+        given: 'attendee C is only available when attendee A is not working'
+        finder.workingHours(attendeeC, ZoneId.of('Asia/Tokyo'), LocalTime.of(9, 0), LocalTime.of(12, 0))
+
+        expect: 'no slots are found'
+        finder.find(Duration.ofMinutes(30), 5).isEmpty()
+    }
+
+    def 'verify unknown attendees are rejected'() {
+        when:
+        finder.optional(URI.create('mailto:d@example.com'))
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+}
@@ -0,0 +1,129 @@
+package net.fortuna.ical4j.util
+
+import net.fortuna.ical4j.model.Component
+import net.fortuna.ical4j.model.ContentBuilder
+import net.fortuna.ical4j.model.DateTime
+import net.fortuna.ical4j.model.Period
+import net.fortuna.ical4j.model.Property
+import net.fortuna.ical4j.model.component.VEvent
+import net.fortuna.ical4j.model.property.RRule
+import spock.lang.Specification
+
+class RecurrenceCacheTest extends Specification {
+
+    VEvent event
+
+    def setup() {
+        event = new ContentBuilder().with {
+            vevent {
+                dtstart '20140630T090000Z'
+                dtend '20140630T100000Z'
+                rrule 'FREQ=DAILY'
+                exdate '20140702T090000Z'
+            }
+        }
+    }
+
+    def cleanup() {
+        Component.setRecurrenceCache(null)
+    }
+
+    def 'assert cached recurrence sets match calculated recurrence sets'() {
+        given: 'the expected recurrence set without a cache'
+        def expected = event.calculateRecurrenceSet(period)
+
+        and: 'a recurrence cache'
+        MapRecurrenceCache cache = [10]
+        Component.setRecurrenceCache(cache)
+
+        when: 'the recurrence set is calculated twice'
+        def first = event.calculateRecurrenceSet(period)
+        def second = event.calculateRecurrenceSet(period)
+
+        then: 'the second calculation is served from the cache'
+        first == expected && second == expected
+        cache.missCount == 1 && cache.hitCount == 1
+
+        and: 'a period within the expanded range is also served from the cache'
+        event.calculateRecurrenceSet(new Period('20140705T000000Z/20140706T000000Z')) ==
+                [new Period('20140705T090000Z/PT1H')] as Set
+        cache.hitCount == 2
+
+        where:
+        period << [new Period('20140630T000000Z/20140731T000000Z')]
+    }
+
+    def 'assert cached recurrence sets are invalidated when recurrence properties change'() {
+        given: 'a recurrence cache'
+        MapRecurrenceCache cache = [10]
+        Component.setRecurrenceCache(cache)
+
+        and: 'a cached recurrence set'
+        def period = new Period('20140630T000000Z/20140707T000000Z')
+        event.calculateRecurrenceSet(period)
+
+        when: 'the recurrence rule is modified'
+        event.properties.remove(event.getProperty(Property.RRULE))
+        event.properties.add(new RRule('FREQ=DAILY;INTERVAL=2'))
+
+        then: 'the recurrence set reflects the modified rule'
+        event.calculateRecurrenceSet(period).size() == 3
+        cache.missCount == 2 && cache.hitCount == 0
+    }
+
+    def 'assert cached recurrence sets are invalidated when property values are modified in place'() {
+        given: 'a recurrence cache'
+        MapRecurrenceCache cache = [10]
+        Component.setRecurrenceCache(cache)
+
+        and: 'a cached recurrence set'
+        def period = new Period('20140630T000000Z/20140707T000000Z')
+        event.calculateRecurrenceSet(period)
+
+        when: 'an exception date is modified'
+        event.getProperty(Property.EXDATE).dates[0].time = new DateTime('20140703T090000Z').time
+
+        then: 'the recurrence set reflects the modified exception'
+        event.calculateRecurrenceSet(period)*.start*.toString() == ['20140630T090000Z', '20140701T090000Z',
+                '20140702T090000Z', '20140704T090000Z', '20140705T090000Z', '20140706T090000Z']
+        cache.missCount == 2 && cache.hitCount == 0
+
+        and: 'the unmodified component is served from the cache'
+        event.calculateRecurrenceSet(period).size() == 6
+        cache.hitCount == 1
+    }
+
+    def 'assert adjacent periods are merged'() {
+        given: 'a recurrence cache'
+        MapRecurrenceCache cache = [10]
+        Component.setRecurrenceCache(cache)
+
+        when: 'recurrence sets are calculated for adjacent periods'
+        def july = event.calculateRecurrenceSet(new Period('20140701T000000Z/20140801T000000Z'))
+        def august = event.calculateRecurrenceSet(new Period('20140801T000000Z/20140901T000000Z'))
+
+        then: 'the combined period is served from the cache'
+        event.calculateRecurrenceSet(new Period('20140701T000000Z/20140901T000000Z')) == july.add(august)
+        cache.missCount == 2 && cache.hitCount == 1 && cache.size() == 1
+    }
+
+    def 'assert least recently used recurrence sets are evicted'() {
+        given: 'a recurrence cache with capacity for one component'
+        MapRecurrenceCache cache = [1]
+        Component.setRecurrenceCache(cache)
+
+        and: 'another component'
+        VEvent event2 = new ContentBuilder().vevent {
+            dtstart '20140630T120000Z'
+            rrule 'FREQ=WEEKLY'
+        }
+
+        when: 'recurrence sets are calculated for both components'
+        def period = new Period('20140630T000000Z/20140707T000000Z')
+        event.calculateRecurrenceSet(period)
+        event2.calculateRecurrenceSet(period)
+
+        then: 'the first recurrence set is evicted'
+        cache.size() == 1 && cache.evictionCount == 1
+    }
+}
@@ -1,6 +1,9 @@
 package net.fortuna.ical4j.util
 
+import net.fortuna.ical4j.model.ContentBuilder
+import net.fortuna.ical4j.model.TimeZoneLoader
 import net.fortuna.ical4j.model.TimeZoneRegistryFactory
+import net.fortuna.ical4j.model.component.VTimeZone
 import spock.lang.Specification
 
 class TimeZoneCacheTest extends Specification {
@@ -17,6 +20,111 @@ class TimeZoneCacheTest extends Specification {
         isAdded && cache.getTimezone(tz.timeZoneId.value) == tz
 
         where:
-        cache << [new MapTimeZoneCache(), new JCacheTimeZoneCache()]
+        cache << [new MapTimeZoneCache(), new JCacheTimeZoneCache(), new BoundedTimeZoneCache()]
+    }
+
+    VTimeZone custom(String id, int observances = 1) {
+        new ContentBuilder().vtimezone {
+            tzid id
+            (1..observances).each { i ->
+                standard {
+                    dtstart "19${70 + i}0101T000000".toString()
+                    tzoffsetfrom '+0100'
+                    tzoffsetto '+0100'
+                }
+            }
+        }
+    }
+
+    def 'assert bounded cache evicts least recently used timezones'() {
+        given: 'a bounded cache with a listener'
+        BoundedTimeZoneCache cache = [2, 0, BoundedTimeZoneCache.Eviction.LRU, { false }]
+        def evicted = []
+        cache.addListener(new TimeZoneCacheListener() {
+            void eviction(String id, VTimeZone timeZone) { evicted << id }
+        })
+
+        when: 'timezones are added and accessed'
+        cache.putIfAbsent('Tenant/A', custom('Tenant/A'), 100)
+        cache.putIfAbsent('Tenant/B', custom('Tenant/B'), 200)
+        cache.getTimezone('Tenant/A')
+        cache.putIfAbsent('Tenant/C', custom('Tenant/C'), 300)
+
+        then: 'the least recently used timezone is evicted'
+        evicted == ['Tenant/B']
+        cache.size() == 2
+        cache.getTimezone('Tenant/B') == null
+
+        and: 'statistics are recorded'
+        cache.hitCount == 1
+        cache.missCount == 1
+        cache.evictionCount == 1
+        cache.loadCount == 3
+        cache.totalLoadNanos == 600
+    }
+
+    def 'assert bounded cache evicts least frequently used timezones'() {
+        given: 'a bounded cache'
+        BoundedTimeZoneCache cache = [2, 0, BoundedTimeZoneCache.Eviction.LFU, { false }]
+
+        when: 'timezones are added and accessed'
+        cache.putIfAbsent('Tenant/A', custom('Tenant/A'))
+        cache.putIfAbsent('Tenant/B', custom('Tenant/B'))
+        3.times { cache.getTimezone('Tenant/A') }
+        cache.getTimezone('Tenant/B')
+        cache.getTimezone('Tenant/A')
+        cache.putIfAbsent('Tenant/C', custom('Tenant/C'))
+
+        then: 'the least frequently used timezone is evicted'
+        cache.containsId('Tenant/A')
+        !cache.containsId('Tenant/B')
+        cache.containsId('Tenant/C')
+    }
+
+    def 'assert bounded cache evicts by weight'() {
+        given: 'a weight-bounded cache'
+        BoundedTimeZoneCache cache = [100, 20, BoundedTimeZoneCache.Eviction.LRU, { false }]
+
+        when: 'timezones exceeding the maximum weight are added'
+        cache.putIfAbsent('Tenant/A', custom('Tenant/A', 2))
+        cache.putIfAbsent('Tenant/B', custom('Tenant/B', 2))
+        cache.putIfAbsent('Tenant/C', custom('Tenant/C', 2))
+
+        then: 'timezones are evicted to maintain the maximum weight'
+        cache.weight <= 20
+        !cache.containsId('Tenant/A')
+        cache.containsId('Tenant/C')
+    }
+
+    def 'assert bounded cache retains pinned timezones'() {
+        given: 'a bounded cache with pinned timezones'
+        BoundedTimeZoneCache cache = [2, 0, BoundedTimeZoneCache.Eviction.LRU, { it.startsWith('Europe/') }]
+
+        when: 'custom timezones are added after a pinned timezone'
+        cache.putIfAbsent('Europe/London', custom('Europe/London'))
+        cache.putIfAbsent('Tenant/A', custom('Tenant/A'))
+        cache.putIfAbsent('Tenant/B', custom('Tenant/B'))
+
+        then: 'custom timezones are evicted in preference to the pinned timezone'
+        cache.containsId('Europe/London')
+        !cache.containsId('Tenant/A')
+        cache.containsId('Tenant/B')
+    }
+
+    def 'assert bounded cache records loader activity'() {
+        given: 'a loader backed by a bounded cache'
+        def cache = new BoundedTimeZoneCache()
+        def loader = new TimeZoneLoader('zoneinfo/', cache)
+
+        when: 'a timezone is loaded repeatedly'
+        def tz = loader.loadVTimeZone('Europe/Paris')
+        def tz2 = loader.loadVTimeZone('Europe/Paris')
+
+        then: 'a single load is recorded'
+        tz.is(tz2)
+        cache.loadCount == 1
+        cache.totalLoadNanos > 0
+        cache.missCount == 1
+        cache.hitCount == 1
     }
 }
@@ -31,7 +31,12 @@
  */
 package net.fortuna.ical4j.model.component;
 
+import java.util.ArrayList;
 import java.util.Calendar;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import net.fortuna.ical4j.model.Date;
 import net.fortuna.ical4j.model.property.DtStart;
@@ -76,4 +81,30 @@ public class ObservanceTest extends TestCase {
         }
     }
 
+    /**
+     * Test concurrent access to onsets as the cached range is extended.
+     */
+    public void testGetLatestOnsetConcurrently() throws Exception {
+        final Observance expected = observance.copy();
+        final List<Date> dates = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            Calendar cal = Calendar.getInstance();
+            cal.clear();
+            cal.set(1950 + (i * 7) % 150, i % 12, 1 + i % 28);
+            dates.add(new Date(cal.getTime()));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<java.util.Date>> onsets = new ArrayList<>();
+            for (final Date date : dates) {
+                onsets.add(executor.submit(() -> observance.getLatestOnset(date)));
+            }
+            for (int i = 0; i < dates.size(); i++) {
+                assertEquals(expected.getLatestOnset(dates.get(i)), onsets.get(i).get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
 }